@@ -0,0 +1,404 @@
+package snake;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * @author Logan Karstetter
+ * Date: 10/16/2026
+ */
+public class AllocationCheck
+{
+    /** The number of ticks run before measuring, so the JIT has compiled (and escape analyzed) the code */
+    private static final int TICK_WARMUP_OPS = 200000;
+    /** The number of ticks measured by the tick check */
+    private static final int TICK_OPS = 1000000;
+    /** The number of autopilot ticks run before measuring */
+    private static final int AUTOPILOT_WARMUP_OPS = 20000;
+    /** The number of autopilot ticks measured, each one searches the whole board a few times */
+    private static final int AUTOPILOT_OPS = 50000;
+    /** The number of search rollouts run before measuring */
+    private static final int SEARCH_WARMUP_OPS = 20000;
+    /** The number of search rollouts measured */
+    private static final int SEARCH_OPS = 100000;
+    /** The number of moves made (and unmade) by each search rollout */
+    private static final int SEARCH_DEPTH = 16;
+    /** The number of ticks encoded before measuring */
+    private static final int ENCODE_WARMUP_OPS = 20000;
+    /** The number of ticks encoded (as planes, a crop, and rays) */
+    private static final int ENCODE_OPS = 100000;
+    /** The number of frames rendered before measuring each render check */
+    private static final int RENDER_WARMUP_OPS = 10000;
+    /** The number of frames measured by each render check */
+    private static final int RENDER_OPS = 5000;
+    /** The most bytes a check can allocate per operation before it fails. This is not quite 0 so that
+     * the odd allocation the JVM makes on the thread's behalf (deoptimizing, class loading) doesn't
+     * fail a run, anything allocated every operation is still far above it. */
+    private static final double MAX_BYTES_PER_OP = 0.01;
+    /** The number of times a check is measured before it fails. A recompile in the middle of a measurement
+     * can briefly run code that allocates (before escape analysis catches up again), so a check that
+     * allocates is measured again, anything allocated every operation still fails every time. */
+    private static final int MAX_MEASUREMENTS = 3;
+
+    /** The thread bean used to read the number of bytes allocated by the checking thread */
+    private static com.sun.management.ThreadMXBean allocationBean;
+    /** The number of bytes the allocation bean reports for two back to back reads (its own overhead) */
+    private static long allocationOverhead;
+
+    /** The sum of values produced by the checks, printed at the end so the JIT can't throw away their work */
+    private static long blackhole;
+
+    /**
+     * A steady-state operation of the game loop that is checked for allocations.
+     */
+    private static abstract class Check
+    {
+        /** The name printed in the results */
+        String name;
+
+        Check(String name)
+        {
+            this.name = name;
+        }
+
+        /**
+         * Perform one operation, such as a tick or a rendered frame.
+         * @return A value derived from the operation's result.
+         */
+        abstract long run();
+    }
+
+    /**
+     * The work the game thread does each update: polling the input queue for a turn, stepping the
+     * engine, and recording the update time. The snake is fed a cycle around the board through the
+     * input queue so it never dies and keeps growing, and eating and spawning fruit, for the whole run.
+     */
+    private static class TickCheck extends Check
+    {
+        int[] cycle;
+        GameEngine engine;
+        InputQueue inputQueue;
+        FrameStats frameStats;
+
+        TickCheck(int boardSize)
+        {
+            super("tick board=" + boardSize);
+            cycle = buildCycle(boardSize, boardSize);
+            engine = new GameEngine(boardSize, boardSize);
+            inputQueue = new InputQueue(16);
+            frameStats = new FrameStats();
+        }
+
+        long run()
+        {
+            //Queue the next direction of the cycle as if it was pressed
+            Snake snake = engine.getSnake();
+            inputQueue.offer(cycle[snake.getHeadSquare()], System.nanoTime());
+
+            //Apply it as SnakePanel.gameUpdate() does
+            int direction;
+            while ((direction = inputQueue.poll()) >= 0)
+            {
+                if (snake.isTurn(direction))
+                {
+                    snake.setCurrentDirection(direction);
+                    break;
+                }
+            }
+            long updateStart = System.nanoTime();
+            int status = engine.step();
+            frameStats.recordUpdate(System.nanoTime() - updateStart);
+            return status + snake.getLength();
+        }
+    }
+
+    /**
+     * A game played by the Autopilot: deciding the direction with its searches and stepping the engine,
+     * as SnakePanel.gameUpdate() does with a controller. The board is large enough that the game is still
+     * being played when the check ends.
+     */
+    private static class AutopilotCheck extends Check
+    {
+        GameEngine engine;
+        Autopilot autopilot;
+
+        AutopilotCheck(int boardSize)
+        {
+            super("autopilot board=" + boardSize);
+            engine = new GameEngine(boardSize, boardSize, 42L);
+            autopilot = new Autopilot();
+        }
+
+        long run()
+        {
+            Snake snake = engine.getSnake();
+            int direction = autopilot.nextDirection(engine);
+            if (direction >= 0 && snake.isTurn(direction))
+            {
+                snake.setCurrentDirection(direction);
+            }
+            return engine.step() + snake.getLength();
+        }
+    }
+
+    /**
+     * A search rollout as a tree search bot plays one: the game is copied into the search's own engine,
+     * random moves are made down to a fixed depth, and then every move is unmade. The game being
+     * searched is played by the Autopilot between rollouts so the searches start from new positions.
+     */
+    private static class SearchCheck extends Check
+    {
+        GameEngine engine;
+        GameEngine searchEngine;
+        Autopilot autopilot;
+        GameRandom rng;
+
+        SearchCheck(int boardSize)
+        {
+            super("search board=" + boardSize);
+            engine = new GameEngine(boardSize, boardSize, 42L);
+            searchEngine = new GameEngine(boardSize, boardSize);
+            autopilot = new Autopilot();
+            rng = new GameRandom(42L);
+        }
+
+        long run()
+        {
+            long sum = 0;
+            engine.copyInto(searchEngine);
+            for (int i = 0; i < SEARCH_DEPTH; i++)
+            {
+                sum += searchEngine.makeMove(rng.nextInt(4));
+            }
+            while (searchEngine.getMoveCount() > 0)
+            {
+                searchEngine.unmakeMove();
+            }
+
+            //Move the game on so the next rollout starts somewhere else
+            Snake snake = engine.getSnake();
+            int direction = autopilot.nextDirection(engine);
+            if (direction >= 0 && snake.isTurn(direction))
+            {
+                snake.setCurrentDirection(direction);
+            }
+            return sum + engine.step() + searchEngine.getSnake().getLength();
+        }
+    }
+
+    /**
+     * Encoding each tick of a game whose snake moves along a cycle as float planes, a byte crop, and rays.
+     */
+    private static class EncodeCheck extends Check
+    {
+        int[] cycle;
+        GameEngine engine;
+        ObservationEncoder encoder;
+        float[] planes;
+        byte[] crop;
+        float[] rays;
+
+        EncodeCheck(int boardSize)
+        {
+            super("encode board=" + boardSize);
+            cycle = buildCycle(boardSize, boardSize);
+            engine = new GameEngine(boardSize, boardSize);
+            encoder = new ObservationEncoder(boardSize, boardSize, 5);
+            planes = new float[encoder.getPlanesSize()];
+            crop = new byte[encoder.getCropSize()];
+            rays = new float[encoder.getRaysSize()];
+        }
+
+        long run()
+        {
+            engine.step(cycle[engine.getSnake().getHeadSquare()]);
+            encoder.encodePlanes(engine, planes, 0);
+            encoder.encodeCrop(engine, crop, 0);
+            encoder.encodeRays(engine, rays, 0);
+            return crop[0] + (long) rays[0];
+        }
+    }
+
+    /**
+     * Rendering a frame of a game whose snake moves along a cycle every frame, in full, incrementally,
+     * or interpolated between updates.
+     */
+    private static class RenderCheck extends Check
+    {
+        /** The render modes */
+        static final int FULL = 0;
+        static final int INCREMENTAL = 1;
+        static final int INTERPOLATED = 2;
+
+        int mode;
+        int[] cycle;
+        GameEngine engine;
+        GameRenderer renderer;
+        BufferedImage image;
+        Graphics graphics;
+        /** The pixel read back after each frame, getRGB() would allocate an array for it */
+        int[] pixel = new int[1];
+        int frame = 0;
+
+        RenderCheck(int boardSize, int mode, ImageLoader imageLoader)
+        {
+            super("render " + ((mode == FULL) ? "full" : (mode == INCREMENTAL) ? "incremental" : "interpolated")
+                    + " board=" + boardSize);
+            this.mode = mode;
+            cycle = buildCycle(boardSize, boardSize);
+            engine = new GameEngine(boardSize, boardSize);
+            image = new BufferedImage(boardSize * Grid.SQUARE_WIDTH, boardSize * Grid.SQUARE_HEIGHT,
+                    BufferedImage.TYPE_INT_RGB);
+            graphics = image.getGraphics();
+            renderer = new GameRenderer(engine, imageLoader, image.getWidth(), image.getHeight());
+            renderer.setIncremental(mode == INCREMENTAL);
+        }
+
+        long run()
+        {
+            //Update every fourth frame so the interpolated frames fall between updates
+            if (frame % 4 == 0)
+            {
+                engine.step(cycle[engine.getSnake().getHeadSquare()]);
+            }
+            if (mode == INTERPOLATED)
+            {
+                renderer.render(graphics, frame, (frame % 4) / 4.0);
+            }
+            else
+            {
+                renderer.render(graphics, frame);
+            }
+            frame++;
+            image.getRaster().getDataElements(0, 0, pixel);
+            return pixel[0];
+        }
+    }
+
+    /**
+     * Build a cycle that visits every square of an even height board once and returns to its start.
+     * The cycle runs back and forth along the rows from column 1 and comes back up column 0.
+     * @param width The width of the board in squares.
+     * @param height The height of the board in squares, this must be even.
+     * @return The direction to move from each square (y * width + x) to stay on the cycle.
+     */
+    private static int[] buildCycle(int width, int height)
+    {
+        int[] cycle = new int[width * height];
+        for (int y = 0; y < height; y++)
+        {
+            for (int x = 0; x < width; x++)
+            {
+                int direction;
+                if (x == 0) //Column 0 leads back up to the top left corner
+                {
+                    direction = (y == 0) ? Snake.RIGHT : Snake.UP;
+                }
+                else if (y % 2 == 0) //Even rows run right
+                {
+                    direction = (x < width - 1) ? Snake.RIGHT : Snake.DOWN;
+                }
+                else //Odd rows run left, the last one continues into column 0
+                {
+                    direction = (x > 1 || y == height - 1) ? Snake.LEFT : Snake.DOWN;
+                }
+                cycle[y * width + x] = direction;
+            }
+        }
+        return cycle;
+    }
+
+    /**
+     * Get the number of bytes allocated by the current thread so far.
+     * @return The number of bytes.
+     */
+    private static long allocatedBytes()
+    {
+        return allocationBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    /**
+     * Warm up a check, then measure the bytes it allocates over many operations and print the result. A
+     * check that allocates is measured again, up to MAX_MEASUREMENTS times, and the lowest result is kept.
+     * @param check The check to run.
+     * @param warmupOps The number of operations to run before measuring.
+     * @param ops The number of operations to measure.
+     * @return True if the check allocated no more than MAX_BYTES_PER_OP per operation.
+     */
+    private static boolean runCheck(Check check, int warmupOps, int ops)
+    {
+        for (int i = 0; i < warmupOps; i++)
+        {
+            blackhole += check.run();
+        }
+
+        long bytes = Long.MAX_VALUE;
+        int measurements = 0;
+        while (measurements < MAX_MEASUREMENTS && (double) bytes / ops > MAX_BYTES_PER_OP)
+        {
+            long beforeBytes = allocatedBytes();
+            for (int i = 0; i < ops; i++)
+            {
+                blackhole += check.run();
+            }
+            bytes = Math.min(bytes, Math.max(0L, allocatedBytes() - beforeBytes - allocationOverhead));
+            measurements++;
+        }
+
+        double bytesPerOp = (double) bytes / ops;
+        boolean isPassed = bytesPerOp <= MAX_BYTES_PER_OP;
+        System.out.printf("%-32s %10d ops %12d B %10.4f B/op   %s%s%n", check.name, ops, bytes, bytesPerOp,
+                isPassed ? "PASS" : "FAIL", (measurements > 1) ? " (best of " + measurements + ")" : "");
+        return isPassed;
+    }
+
+    /**
+     * Check that the steady-state tick, autopilot, search, encoding, and render paths don't allocate. A
+     * long headless run of each is measured with the thread's allocated bytes counter, and the process
+     * exits with status 1 if any of them allocates per operation (or 2 if allocations can't be measured).
+     * Maven runs this in the test phase, so a path that starts allocating fails the build.
+     * The F3 overlay is left off since it formats its numbers into Strings every frame.
+     * @param args Not used.
+     */
+    public static void main(String[] args)
+    {
+        //Rendering offscreen doesn't need a display
+        System.setProperty("java.awt.headless", "true");
+
+        //Set up allocation measurement
+        ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        if (!(threadBean instanceof com.sun.management.ThreadMXBean)
+                || !((com.sun.management.ThreadMXBean) threadBean).isThreadAllocatedMemorySupported())
+        {
+            System.out.println("This JVM can't measure thread allocations");
+            System.exit(2);
+        }
+        allocationBean = (com.sun.management.ThreadMXBean) threadBean;
+        allocationBean.setThreadAllocatedMemoryEnabled(true);
+        allocatedBytes(); //Make sure the first read doesn't count its own setup
+        long firstRead = allocatedBytes();
+        allocationOverhead = allocatedBytes() - firstRead;
+
+        //Load the images so the sprites are drawn as they are in the game
+        ImageLoader imageLoader = new ImageLoader();
+        imageLoader.loadImagesFromFile("ImagesConfig.txt");
+
+        //Run every check, even after one fails, so the results show everything that allocates
+        boolean isPassed = runCheck(new TickCheck(100), TICK_WARMUP_OPS, TICK_OPS);
+        isPassed &= runCheck(new AutopilotCheck(100), AUTOPILOT_WARMUP_OPS, AUTOPILOT_OPS);
+        isPassed &= runCheck(new SearchCheck(100), SEARCH_WARMUP_OPS, SEARCH_OPS);
+        isPassed &= runCheck(new EncodeCheck(24), ENCODE_WARMUP_OPS, ENCODE_OPS);
+        isPassed &= runCheck(new RenderCheck(24, RenderCheck.FULL, imageLoader), RENDER_WARMUP_OPS, RENDER_OPS);
+        isPassed &= runCheck(new RenderCheck(24, RenderCheck.INCREMENTAL, imageLoader), RENDER_WARMUP_OPS, RENDER_OPS);
+        isPassed &= runCheck(new RenderCheck(24, RenderCheck.INTERPOLATED, imageLoader), RENDER_WARMUP_OPS, RENDER_OPS);
+        System.out.println("(blackhole " + blackhole + ")");
+
+        if (!isPassed)
+        {
+            System.out.println("The steady-state game loop allocates");
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,435 @@
+package snake;
+
+import java.util.Arrays;
+
+/**
+ * @author Logan Karstetter
+ * Date: 10/16/2026
+ */
+public class Autopilot implements SnakeController
+{
+    /** The searches check the deadline once every 256 squares they take off the queue (256 - 1 masks the count) */
+    private static final int DEADLINE_CHECK_MASK = 255;
+    /** The change in x for each direction (indexed by Snake.UP, RIGHT, DOWN, and LEFT) */
+    private static final int[] DIRECTION_X = {0, 1, 0, -1};
+    /** The change in y for each direction (indexed by Snake.UP, RIGHT, DOWN, and LEFT) */
+    private static final int[] DIRECTION_Y = {-1, 0, 1, 0};
+
+    /** The width of the grid in squares */
+    private int gridWidth;
+    /** The height of the grid in squares */
+    private int gridHeight;
+
+    /** The squares waiting to be visited by a search, in the order they were found */
+    private int[] queue;
+    /** The square each visited square was reached from */
+    private int[] parents;
+    /** The generation of the search that last visited each square, a square is visited if it matches visitGeneration */
+    private int[] visited;
+    /** The generation of the current search, bumping it clears visited without touching the array */
+    private int visitGeneration;
+    /** The generation of the snake each square is part of, a square is part of the snake if it matches obstacleGeneration */
+    private int[] obstacles;
+    /** The generation of the snake being searched around */
+    private int obstacleGeneration;
+    /** The number of ticks until the snake leaves each of its squares */
+    private int[] vacateTimes;
+    /** The number of squares visited by the last search */
+    private int visitedCount;
+    /** The path to the fruit, from the square after the head to the fruit */
+    private int[] path;
+    /** The squares of the snake after it has followed the path to the fruit, from its head to its tail */
+    private int[] virtualBody;
+    /** The time the searches have to stop by (System.nanoTime()) */
+    private long deadline = Long.MAX_VALUE;
+    /** True if the last decision gave up because the deadline passed */
+    private boolean isTimedOut;
+
+    /**
+     * Create a controller that plays Snake by itself. Each tick it finds the shortest path from the head
+     * to the fruit with a breadth first search and then checks the path is safe, that a snake which
+     * followed it and ate the fruit could still reach its own tail. Chasing the tail can always be done
+     * so the snake never traps itself while it can reach it. If the path isn't safe (or there isn't one)
+     * the snake stalls by taking the longest route it can find to its tail, and as a last resort moves
+     * into the largest open area. The searches know when each square of the snake will be left behind by
+     * its tail, so they can pass through the back of the body as it moves out of the way. Every search
+     * reuses the same primitive arrays, a square counts as visited when it is stamped with the search's
+     * generation so nothing has to be cleared between searches, and nothing is allocated per tick unless
+     * the grid changes size.
+     */
+    public Autopilot()
+    {
+        //The arrays are created for the first grid the autopilot plays on
+    }
+
+    /**
+     * Decide the direction the snake should move on the next tick.
+     * @param engine The engine of the game being played.
+     * @return The direction to move, or -1 if every move crashes or the deadline passed.
+     */
+    @Override
+    public int nextDirection(GameEngine engine)
+    {
+        prepare(engine.getGrid());
+        Snake snake = engine.getSnake();
+        Fruit fruit = engine.getFruit();
+        int head = snake.getHeadSquare();
+        int tail = snake.getTailSquare();
+        int fruitSquare = fruit.isPlaced() ? fruit.gridY * gridWidth + fruit.gridX : -1;
+
+        isTimedOut = false;
+        markSnake(snake);
+
+        //Head for the fruit if the snake could still reach its tail after eating it
+        if (fruitSquare >= 0)
+        {
+            int distance = search(head, 0, fruitSquare);
+            if (distance > 0 && isPathSafe(snake, fruitSquare, distance) && !isTimedOut)
+            {
+                return getDirection(head, path[0]);
+            }
+
+            //The safety check marked the snake after eating, mark the snake as it is again
+            markSnake(snake);
+        }
+
+        //Stall by taking the longest route to the tail, or follow right behind it if there's no other way.
+        //Eating the fruit was just found to be unsafe, so the fruit's square is avoided while stalling.
+        int bestDirection = -1;
+        int bestDistance = 0;
+        for (int direction = 0; direction < 4; direction++)
+        {
+            int square = getNeighbor(head, direction);
+            if (square < 0 || square == fruitSquare || isBlocked(square, 1))
+            {
+                continue;
+            }
+            if (square == tail)
+            {
+                if (bestDirection < 0)
+                {
+                    bestDirection = direction;
+                }
+                continue;
+            }
+            int distance = search(square, 1, tail);
+            if (distance > bestDistance)
+            {
+                bestDirection = direction;
+                bestDistance = distance;
+            }
+        }
+        if (bestDirection >= 0)
+        {
+            return bestDirection;
+        }
+
+        //The tail can't be reached, move into the largest open area and hope it opens up
+        int bestArea = 0;
+        for (int direction = 0; direction < 4; direction++)
+        {
+            int square = getNeighbor(head, direction);
+            if (square >= 0 && !isBlocked(square, 1))
+            {
+                search(square, 1, -1);
+                if (visitedCount > bestArea)
+                {
+                    bestDirection = direction;
+                    bestArea = visitedCount;
+                }
+            }
+        }
+        return isTimedOut ? -1 : bestDirection;
+    }
+
+    /**
+     * Set the time the searches have to stop by. A decision still searching at the deadline gives up and
+     * returns -1, so a caller with a time budget isn't held up by a long search on a big grid.
+     * @param deadline The time to stop by (System.nanoTime()), or Long.MAX_VALUE to never stop early.
+     */
+    public void setDeadline(long deadline)
+    {
+        this.deadline = deadline;
+    }
+
+    /**
+     * Determine if the last decision gave up because the deadline passed.
+     * @return True if the last decision ran out of time.
+     */
+    public boolean isTimedOut()
+    {
+        return isTimedOut;
+    }
+
+    /**
+     * Determine if the snake's head can reach its tail, moving through the back of its body as the tail
+     * leaves it. A snake that can reach its tail can always chase it, so it isn't trapped.
+     * @param engine The engine of the game.
+     * @return True if the tail can be reached, false if it can't or the deadline passed first.
+     */
+    public boolean isTailReachable(GameEngine engine)
+    {
+        prepare(engine.getGrid());
+        Snake snake = engine.getSnake();
+        if (snake.getLength() == 1)
+        {
+            return true;
+        }
+        isTimedOut = false;
+        markSnake(snake);
+        return search(snake.getHeadSquare(), 0, snake.getTailSquare()) > 0;
+    }
+
+    /**
+     * Create the search arrays if this is the first grid played on or its size has changed.
+     * @param grid The grid of the game being played.
+     */
+    private void prepare(Grid grid)
+    {
+        if (queue == null || grid.getGridWidth() != gridWidth || grid.getGridHeight() != gridHeight)
+        {
+            gridWidth = grid.getGridWidth();
+            gridHeight = grid.getGridHeight();
+            int squareCount = gridWidth * gridHeight;
+            queue = new int[squareCount];
+            parents = new int[squareCount];
+            visited = new int[squareCount];
+            obstacles = new int[squareCount];
+            vacateTimes = new int[squareCount];
+            path = new int[squareCount];
+            virtualBody = new int[squareCount];
+            visitGeneration = 0;
+            obstacleGeneration = 0;
+        }
+    }
+
+    /**
+     * Mark the snake as it is now, the head can never move back onto its neck so it is kept blocked.
+     * @param snake The snake.
+     */
+    private void markSnake(Snake snake)
+    {
+        nextObstacleGeneration();
+        int length = snake.getLength();
+        for (int i = 0; i < length; i++)
+        {
+            markObstacle(snake.getSquare(i), length - i + snake.getPendingGrowth());
+        }
+        if (length > 1)
+        {
+            vacateTimes[snake.getSquare(1)] = Math.max(vacateTimes[snake.getSquare(1)], 2);
+        }
+    }
+
+    /**
+     * Determine if following the path to the fruit leaves the snake able to reach its tail. The snake is
+     * moved along the path virtually: when it eats the fruit its body is the path (fruit first) followed
+     * by the front of the old body, and it is about to grow. The last search must have been the search
+     * for the path.
+     * @param snake The snake.
+     * @param fruitSquare The square of the fruit.
+     * @param distance The length of the path.
+     * @return True if the path is safe to follow.
+     */
+    private boolean isPathSafe(Snake snake, int fruitSquare, int distance)
+    {
+        //Walk back from the fruit to find the path
+        int square = fruitSquare;
+        for (int i = distance - 1; i >= 0; i--)
+        {
+            path[i] = square;
+            square = parents[square];
+        }
+
+        //Eating the fruit fills the grid and wins
+        int length = snake.getLength() + Math.min(snake.getPendingGrowth(), distance);
+        if (snake.getLength() + snake.getPendingGrowth() + 1 >= gridWidth * gridHeight)
+        {
+            return true;
+        }
+
+        //Build the body of the snake as it eats the fruit, the tail stays put while it grows
+        int virtualLength = 0;
+        for (int i = distance - 1; i >= 0 && virtualLength < length; i--)
+        {
+            virtualBody[virtualLength++] = path[i];
+        }
+        for (int i = 0; virtualLength < length; i++)
+        {
+            virtualBody[virtualLength++] = snake.getSquare(i);
+        }
+        int growth = 1 + Math.max(0, snake.getPendingGrowth() - distance);
+
+        //Mark the virtual snake and search from its head to its tail
+        nextObstacleGeneration();
+        for (int i = 0; i < virtualLength; i++)
+        {
+            markObstacle(virtualBody[i], virtualLength - i + growth);
+        }
+        if (virtualLength > 1)
+        {
+            vacateTimes[virtualBody[1]] = Math.max(vacateTimes[virtualBody[1]], 2);
+        }
+        return search(fruitSquare, 0, virtualBody[virtualLength - 1]) > 0;
+    }
+
+    /**
+     * Search the grid breadth first from a square, moving only onto squares that are open by the time the
+     * search reaches them. The snake's tail can be searched for since it is open once the tail moves on.
+     * @param start The square to search from, it is treated as open.
+     * @param startTime The number of ticks from now the snake would be on the start square.
+     * @param target The square to search for, or -1 to visit every square that can be reached.
+     * @return The number of moves from the start to the target, or -1 if it can't be reached.
+     */
+    private int search(int start, int startTime, int target)
+    {
+        nextVisitGeneration();
+        int generation = visitGeneration;
+        int[] queue = this.queue;
+        int[] visited = this.visited;
+        int[] parents = this.parents;
+
+        int read = 0;
+        int write = 0;
+        int levelEnd = 1;
+        int distance = 0;
+        queue[write++] = start;
+        visited[start] = generation;
+        while (read < write)
+        {
+            //Give up once the deadline passes, checking the clock only every so often since it costs more than a square
+            if ((read & DEADLINE_CHECK_MASK) == 0 && System.nanoTime() >= deadline)
+            {
+                isTimedOut = true;
+                visitedCount = write;
+                return -1;
+            }
+            //Count the moves each time a whole level of the search has been visited
+            if (read == levelEnd)
+            {
+                distance++;
+                levelEnd = write;
+            }
+            int square = queue[read++];
+            int x = square % gridWidth;
+            int y = square / gridWidth;
+            for (int direction = 0; direction < 4; direction++)
+            {
+                int nextX = x + DIRECTION_X[direction];
+                int nextY = y + DIRECTION_Y[direction];
+                if (nextX < 0 || nextX >= gridWidth || nextY < 0 || nextY >= gridHeight)
+                {
+                    continue;
+                }
+                int next = nextY * gridWidth + nextX;
+                if (visited[next] == generation)
+                {
+                    continue;
+                }
+                //A square that is still part of the snake now could be reached by a longer route once it's left
+                if (!isBlocked(next, startTime + distance + 1))
+                {
+                    visited[next] = generation;
+                    parents[next] = square;
+                    if (next == target)
+                    {
+                        visitedCount = write;
+                        return distance + 1;
+                    }
+                    queue[write++] = next;
+                }
+            }
+        }
+        visitedCount = write;
+        return -1;
+    }
+
+    /**
+     * Mark a square as part of the snake being searched around.
+     * @param square The index of the square.
+     * @param vacateTime The number of ticks until the snake leaves the square.
+     */
+    private void markObstacle(int square, int vacateTime)
+    {
+        obstacles[square] = obstacleGeneration;
+        vacateTimes[square] = vacateTime;
+    }
+
+    /**
+     * Determine if the snake's head can't move onto a square at a given time. Walls are handled by the
+     * bounds checks.
+     * @param square The index of the square.
+     * @param time The number of ticks from now the head would move onto the square.
+     * @return True if the snake will still be on the square.
+     */
+    private boolean isBlocked(int square, int time)
+    {
+        return obstacles[square] == obstacleGeneration && vacateTimes[square] > time;
+    }
+
+    /**
+     * Move on to the next search generation, clearing the visited array only when the generation wraps.
+     */
+    private void nextVisitGeneration()
+    {
+        visitGeneration++;
+        if (visitGeneration == 0)
+        {
+            Arrays.fill(visited, 0);
+            visitGeneration = 1;
+        }
+    }
+
+    /**
+     * Move on to the next virtual snake, clearing the obstacles array only when the generation wraps.
+     */
+    private void nextObstacleGeneration()
+    {
+        obstacleGeneration++;
+        if (obstacleGeneration == 0)
+        {
+            Arrays.fill(obstacles, 0);
+            obstacleGeneration = 1;
+        }
+    }
+
+    /**
+     * Get the square next to a square in a direction.
+     * @param square The index of the square.
+     * @param direction The direction (Snake.UP, RIGHT, DOWN, or LEFT).
+     * @return The index of the neighboring square, or -1 if it is off the grid.
+     */
+    private int getNeighbor(int square, int direction)
+    {
+        int x = square % gridWidth + DIRECTION_X[direction];
+        int y = square / gridWidth + DIRECTION_Y[direction];
+        if (x < 0 || x >= gridWidth || y < 0 || y >= gridHeight)
+        {
+            return -1;
+        }
+        return y * gridWidth + x;
+    }
+
+    /**
+     * Get the direction from a square to the square next to it.
+     * @param from The index of the square.
+     * @param to The index of a neighboring square.
+     * @return The direction (Snake.UP, RIGHT, DOWN, or LEFT).
+     */
+    private int getDirection(int from, int to)
+    {
+        if (to == from - gridWidth)
+        {
+            return Snake.UP;
+        }
+        else if (to == from + 1)
+        {
+            return Snake.RIGHT;
+        }
+        else if (to == from + gridWidth)
+        {
+            return Snake.DOWN;
+        }
+        return Snake.LEFT;
+    }
+}
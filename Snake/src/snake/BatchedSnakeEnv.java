@@ -0,0 +1,901 @@
+package snake;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @author Logan Karstetter
+ * Date: 10/16/2026
+ */
+public class BatchedSnakeEnv
+{
+    /** The reward for a step that eats the fruit */
+    public static final float FRUIT_REWARD = 1.0f;
+    /** The reward for a step that crashes */
+    public static final float CRASH_REWARD = -1.0f;
+    /** The number of games a thread claims at a time, so the threads rarely touch the shared counter */
+    private static final int CHUNK_SIZE = 256;
+    /** The change in x for each direction (indexed by Snake.UP, RIGHT, DOWN, and LEFT) */
+    private static final int[] DIRECTION_X = {0, 1, 0, -1};
+    /** The change in y for each direction (indexed by Snake.UP, RIGHT, DOWN, and LEFT) */
+    private static final int[] DIRECTION_Y = {-1, 0, 1, 0};
+
+    /** The number of games played in lockstep */
+    private int envCount;
+    /** The width of each grid in squares */
+    private int gridWidth;
+    /** The height of each grid in squares */
+    private int gridHeight;
+    /** The number of squares on each grid, every per-square array holds envCount blocks of this many */
+    private int squareCount;
+    /** The seed of the first game played by the first environment */
+    private long baseSeed;
+
+    /** The square next to each square in each direction (square * 4 + direction), or -1 for a wall */
+    private int[] neighbors;
+    /** The open squares index of a new game, copied in whenever a game is reset */
+    private int[] newOpenSquares;
+
+    /** The state of every square of every grid (Grid.EMPTY, BODY, or FRUIT) */
+    private byte[] squares;
+    /** The open squares of every grid, the first openCounts[env] of each block are open */
+    private int[] openSquares;
+    /** The position of every square within its grid's open squares, or -1 if it isn't open */
+    private int[] openSquarePositions;
+    /** The number of open squares on each grid */
+    private int[] openCounts;
+    /** The circular buffer of squares occupied by each snake, the head is at headPositions[env] */
+    private int[] bodies;
+    /** The position of each snake's head within its block of the body buffer */
+    private int[] headPositions;
+    /** The number of squares occupied by each snake */
+    private int[] lengths;
+    /** The number of ticks each snake's tail should stay put so it grows */
+    private int[] pendingGrowths;
+    /** The direction each snake moves on its next step, and the direction its head moved on its last */
+    private int[] directions;
+    /** The square of each fruit, or -1 if it couldn't be placed */
+    private int[] fruitSquares;
+    /** The state of each game's random number generator */
+    private long[] rngStates;
+    /** The seed each game started from */
+    private long[] seeds;
+    /** The number of games each environment has finished */
+    private int[] episodes;
+    /** The number of fruits eaten in each game */
+    private int[] fruitsEaten;
+    /** The number of ticks each game has been stepped */
+    private long[] ticks;
+
+    /** The reward each game earned on the last step */
+    private float[] rewards;
+    /** Whether each game ended on the last step (and was reset) */
+    private boolean[] dones;
+    /** How each game ended on the last step (GameEngine.CRASHED or WON), or GameEngine.RUNNING */
+    private int[] outcomes;
+    /** The number of fruits eaten by each game that ended on the last step */
+    private int[] finalFruitsEaten;
+
+    /** The actions of the step being taken */
+    private int[] actions;
+    /** The index of the next game that hasn't been claimed by a thread this step */
+    private AtomicInteger nextEnv;
+    /** The steppers, the first runs on the thread calling stepAll() */
+    private Stepper[] steppers;
+    /** The pool the steppers other than the first run in, or null if there is only one stepper */
+    private ForkJoinPool pool;
+
+    /**
+     * Create a batch of games on one thread.
+     * @param envCount The number of games.
+     * @param gridWidth The width of each grid in squares.
+     * @param gridHeight The height of each grid in squares.
+     * @param baseSeed The seed of the first game, see the other constructor.
+     */
+    public BatchedSnakeEnv(int envCount, int gridWidth, int gridHeight, long baseSeed)
+    {
+        this(envCount, gridWidth, gridHeight, baseSeed, 1);
+    }
+
+    /**
+     * Create a batch of games that are all stepped at once, for training bots on thousands of games in
+     * lockstep. Instead of a Grid, Snake, and Fruit for each game, every part of every game lives in one
+     * primitive array per field (a structure of arrays) with a block of squares for each game, so a step
+     * runs through flat arrays without chasing objects and nothing is allocated after construction. The
+     * games follow the same rules as GameEngine down to the order of the open squares and the random
+     * numbers, so a game here and a GameEngine with the same seed given the same directions play out
+     * exactly the same way. Games are reset as soon as they end. Game e of environment i (counting from 0)
+     * is seeded with baseSeed + i + e * envCount, so the first game of environment i matches
+     * new GameEngine(gridWidth, gridHeight, baseSeed + i) and no two games share a seed.
+     * The games are stepped in chunks by threadCount threads: the thread calling stepAll() and a pool of
+     * threadCount - 1 more, each claiming chunks of games from a shared counter until none are left.
+     * @param envCount The number of games.
+     * @param gridWidth The width of each grid in squares.
+     * @param gridHeight The height of each grid in squares.
+     * @param baseSeed The seed of the first game.
+     * @param threadCount The number of threads to step the games on.
+     */
+    public BatchedSnakeEnv(int envCount, int gridWidth, int gridHeight, long baseSeed, int threadCount)
+    {
+        if (envCount < 1 || gridWidth < 1 || gridHeight < 1 || threadCount < 1)
+        {
+            throw new IllegalArgumentException("Can't create " + envCount + " " + gridWidth + "x" + gridHeight
+                    + " games on " + threadCount + " threads");
+        }
+        if ((long) envCount * gridWidth * gridHeight > Integer.MAX_VALUE)
+        {
+            throw new IllegalArgumentException(envCount + " " + gridWidth + "x" + gridHeight + " games don't fit in an array");
+        }
+        this.envCount = envCount;
+        this.gridWidth = gridWidth;
+        this.gridHeight = gridHeight;
+        this.baseSeed = baseSeed;
+        squareCount = gridWidth * gridHeight;
+
+        //Work out every square's neighbors once so a step never divides to find the head's coordinates
+        neighbors = new int[squareCount * 4];
+        for (int square = 0; square < squareCount; square++)
+        {
+            for (int direction = 0; direction < 4; direction++)
+            {
+                int x = square % gridWidth + DIRECTION_X[direction];
+                int y = square / gridWidth + DIRECTION_Y[direction];
+                boolean isWall = x < 0 || x >= gridWidth || y < 0 || y >= gridHeight;
+                neighbors[square * 4 + direction] = isWall ? -1 : y * gridWidth + x;
+            }
+        }
+        newOpenSquares = new int[squareCount];
+        for (int i = 0; i < squareCount; i++)
+        {
+            newOpenSquares[i] = i;
+        }
+
+        //Create the games
+        int totalSquares = envCount * squareCount;
+        squares = new byte[totalSquares];
+        openSquares = new int[totalSquares];
+        openSquarePositions = new int[totalSquares];
+        openCounts = new int[envCount];
+        bodies = new int[totalSquares];
+        headPositions = new int[envCount];
+        lengths = new int[envCount];
+        pendingGrowths = new int[envCount];
+        directions = new int[envCount];
+        fruitSquares = new int[envCount];
+        rngStates = new long[envCount];
+        seeds = new long[envCount];
+        episodes = new int[envCount];
+        fruitsEaten = new int[envCount];
+        ticks = new long[envCount];
+        rewards = new float[envCount];
+        dones = new boolean[envCount];
+        outcomes = new int[envCount];
+        finalFruitsEaten = new int[envCount];
+        for (int env = 0; env < envCount; env++)
+        {
+            resetGame(env, baseSeed + env);
+        }
+
+        //Create the steppers
+        nextEnv = new AtomicInteger();
+        steppers = new Stepper[threadCount];
+        for (int i = 0; i < threadCount; i++)
+        {
+            steppers[i] = new Stepper();
+        }
+        if (threadCount > 1)
+        {
+            pool = new ForkJoinPool(threadCount - 1);
+        }
+    }
+
+    /**
+     * Step every game by one tick. Each game's snake is turned to its action first, exactly as
+     * GameEngine.step(direction) would, so an action straight back into the snake's neck crashes it.
+     * Afterwards getRewards() holds what each game earned: FRUIT_REWARD for eating the fruit,
+     * CRASH_REWARD for crashing, and 0 otherwise. getDones() marks the games that ended, which have
+     * already been reset to a new game, and getOutcomes() and getFinalFruitsEaten() tell how they ended.
+     * The arrays are reused by every step.
+     * @param actions The direction for each game (Snake.UP, RIGHT, DOWN, or LEFT), or -1 to keep going
+     * the same way.
+     * @return The number of games that ended.
+     */
+    public int stepAll(int[] actions)
+    {
+        if (actions.length < envCount)
+        {
+            throw new IllegalArgumentException(actions.length + " actions for " + envCount + " games");
+        }
+        this.actions = actions;
+        nextEnv.set(0);
+
+        //Hand the other steppers to the pool and step with the first one here, a stepper that starts
+        //after every chunk has been claimed just returns
+        for (int i = 1; i < steppers.length; i++)
+        {
+            steppers[i].reinitialize();
+            pool.execute(steppers[i]);
+        }
+        steppers[0].reinitialize();
+        steppers[0].invoke();
+        int doneCount = steppers[0].doneCount;
+        for (int i = 1; i < steppers.length; i++)
+        {
+            steppers[i].join();
+            doneCount += steppers[i].doneCount;
+        }
+        this.actions = null;
+        return doneCount;
+    }
+
+    /**
+     * Step a range of games by one tick.
+     * @param start The first game to step.
+     * @param end The game after the last game to step.
+     * @return The number of games that ended.
+     */
+    private int stepRange(int start, int end)
+    {
+        int[] actions = this.actions;
+        int doneCount = 0;
+        for (int env = start; env < end; env++)
+        {
+            int action = actions[env];
+            if (action >= 0)
+            {
+                directions[env] = action;
+            }
+            if (stepGame(env))
+            {
+                doneCount++;
+            }
+        }
+        return doneCount;
+    }
+
+    /**
+     * Step a game by one tick the way Snake.update() and GameEngine.step() do: the tail moves off its
+     * square first (unless the snake is growing) so the head can move onto it, then the head moves onto
+     * the next square unless it's a wall or the body. Eating the fruit makes the snake grow and moves the
+     * fruit to a random open square, and if there isn't one the game is won.
+     * @param env The game to step.
+     * @return True if the game ended (it has been reset).
+     */
+    private boolean stepGame(int env)
+    {
+        int base = env * squareCount;
+        int head = bodies[base + headPositions[env]];
+        int next = neighbors[head * 4 + directions[env]];
+        ticks[env]++;
+
+        //Move the tail first
+        if (pendingGrowths[env] > 0)
+        {
+            pendingGrowths[env]--;
+        }
+        else
+        {
+            int tailPosition = headPositions[env] - (lengths[env] - 1);
+            if (tailPosition < 0)
+            {
+                tailPosition += squareCount;
+            }
+            setSquare(env, bodies[base + tailPosition], Grid.EMPTY);
+            lengths[env]--;
+        }
+
+        //Crash into a wall or the body
+        int square = (next < 0) ? Grid.WALL : squares[base + next];
+        if (square == Grid.BODY || square == Grid.WALL)
+        {
+            endGame(env, GameEngine.CRASHED, CRASH_REWARD);
+            return true;
+        }
+
+        //Push the new head onto the front of the body
+        setSquare(env, next, Grid.BODY);
+        int headPosition = headPositions[env] + 1;
+        headPosition = (headPosition == squareCount) ? 0 : headPosition;
+        headPositions[env] = headPosition;
+        bodies[base + headPosition] = next;
+        lengths[env]++;
+        if (square != Grid.FRUIT)
+        {
+            rewards[env] = 0.0f;
+            dones[env] = false;
+            outcomes[env] = GameEngine.RUNNING;
+            return false;
+        }
+
+        //Eat the fruit, the player wins if there's nowhere left to place it
+        fruitsEaten[env]++;
+        pendingGrowths[env]++;
+        if (!placeFruit(env))
+        {
+            endGame(env, GameEngine.WON, FRUIT_REWARD);
+            return true;
+        }
+        rewards[env] = FRUIT_REWARD;
+        dones[env] = false;
+        outcomes[env] = GameEngine.RUNNING;
+        return false;
+    }
+
+    /**
+     * Record how a game ended and reset it to the environment's next game.
+     * @param env The game that ended.
+     * @param outcome GameEngine.CRASHED or WON.
+     * @param reward The reward for the final step.
+     */
+    private void endGame(int env, int outcome, float reward)
+    {
+        rewards[env] = reward;
+        dones[env] = true;
+        outcomes[env] = outcome;
+        finalFruitsEaten[env] = fruitsEaten[env];
+        episodes[env]++;
+        resetGame(env, baseSeed + env + (long) episodes[env] * envCount);
+    }
+
+    /**
+     * Start a new game the way a new GameEngine does: the snake is a single square in the center of the
+     * grid about to grow out of it, moving left, and the fruit is placed with the game's first random number.
+     * @param env The game to reset.
+     * @param seed The seed of the new game.
+     */
+    private void resetGame(int env, long seed)
+    {
+        int base = env * squareCount;
+        Arrays.fill(squares, base, base + squareCount, (byte) Grid.EMPTY);
+        System.arraycopy(newOpenSquares, 0, openSquares, base, squareCount);
+        System.arraycopy(newOpenSquares, 0, openSquarePositions, base, squareCount);
+        openCounts[env] = squareCount;
+
+        int center = (gridHeight / 2) * gridWidth + gridWidth / 2;
+        headPositions[env] = 0;
+        bodies[base] = center;
+        lengths[env] = 1;
+        pendingGrowths[env] = 1;
+        directions[env] = Snake.LEFT;
+        setSquare(env, center, Grid.BODY);
+
+        seeds[env] = seed;
+        rngStates[env] = seed;
+        fruitsEaten[env] = 0;
+        ticks[env] = 0L;
+        placeFruit(env);
+    }
+
+    /**
+     * Place a game's fruit on a random open square, as Fruit.findPosition() does.
+     * @param env The game.
+     * @return True if the fruit was placed, false if there were no open squares.
+     */
+    private boolean placeFruit(int env)
+    {
+        int openCount = openCounts[env];
+        if (openCount == 0)
+        {
+            fruitSquares[env] = -1;
+            return false;
+        }
+        int square = openSquares[env * squareCount + GameRandom.nextInt(rngStates, env, openCount)];
+        setSquare(env, square, Grid.FRUIT);
+        fruitSquares[env] = square;
+        return true;
+    }
+
+    /**
+     * Set the state of a square and keep the game's open squares index up to date, moving squares
+     * around the index exactly as Grid.setSquare() does so the fruit spawns in the same places.
+     * @param env The game.
+     * @param square The index (y * gridWidth + x) of the square.
+     * @param state The new state of the square (Grid.EMPTY, BODY, or FRUIT).
+     */
+    private void setSquare(int env, int square, int state)
+    {
+        int base = env * squareCount;
+        int position = openSquarePositions[base + square];
+        squares[base + square] = (byte) state;
+        if (state != Grid.EMPTY && position >= 0) //The square was open, remove it from the index
+        {
+            int last = openSquares[base + --openCounts[env]];
+            openSquares[base + position] = last;
+            openSquarePositions[base + last] = position;
+            openSquarePositions[base + square] = -1;
+        }
+        else if (state == Grid.EMPTY && position < 0) //The square was not open, add it to the index
+        {
+            openSquares[base + openCounts[env]] = square;
+            openSquarePositions[base + square] = openCounts[env]++;
+        }
+    }
+
+    /**
+     * Get the reward each game earned on the last step.
+     * @return The rewards, indexed by game. The array is reused by every step.
+     */
+    public float[] getRewards()
+    {
+        return rewards;
+    }
+
+    /**
+     * Get which games ended on the last step. Those games have already been reset to a new game.
+     * @return The done flags, indexed by game. The array is reused by every step.
+     */
+    public boolean[] getDones()
+    {
+        return dones;
+    }
+
+    /**
+     * Get how each game ended on the last step.
+     * @return GameEngine.CRASHED or WON for the games that ended and GameEngine.RUNNING for the rest,
+     * indexed by game. The array is reused by every step.
+     */
+    public int[] getOutcomes()
+    {
+        return outcomes;
+    }
+
+    /**
+     * Get the score of each game that ended on the last step.
+     * @return The number of fruits eaten, indexed by game. Only the games that ended on the last step
+     * are up to date. The array is reused by every step.
+     */
+    public int[] getFinalFruitsEaten()
+    {
+        return finalFruitsEaten;
+    }
+
+    /**
+     * Get the state of a square of a game.
+     * @param env The game.
+     * @param x The x coordinate of the square.
+     * @param y The y coordinate of the square.
+     * @return Grid.EMPTY, BODY, FRUIT, or WALL if the square is out of the bounds of the grid.
+     */
+    public int getSquare(int env, int x, int y)
+    {
+        if (x < 0 || x >= gridWidth || y < 0 || y >= gridHeight)
+        {
+            return Grid.WALL;
+        }
+        return squares[env * squareCount + y * gridWidth + x];
+    }
+
+    /**
+     * Get the state of a square of a game.
+     * @param env The game.
+     * @param square The index (y * gridWidth + x) of a square on the grid.
+     * @return Grid.EMPTY, BODY, or FRUIT.
+     */
+    public int getSquare(int env, int square)
+    {
+        return squares[env * squareCount + square];
+    }
+
+    /**
+     * Get the square occupied by a snake's head.
+     * @param env The game.
+     * @return The index (y * gridWidth + x) of the head's square.
+     */
+    public int getHeadSquare(int env)
+    {
+        return bodies[env * squareCount + headPositions[env]];
+    }
+
+    /**
+     * Get the i-th square occupied by a snake.
+     * @param env The game.
+     * @param i The square of the snake, 0 is the head and getLength(env) - 1 is the tail.
+     * @return The index (y * gridWidth + x) of the square.
+     */
+    public int getSnakeSquare(int env, int i)
+    {
+        int position = headPositions[env] - i;
+        return bodies[env * squareCount + ((position < 0) ? position + squareCount : position)];
+    }
+
+    /**
+     * Get the number of squares occupied by a snake.
+     * @param env The game.
+     * @return The length of the snake.
+     */
+    public int getLength(int env)
+    {
+        return lengths[env];
+    }
+
+    /**
+     * Get the number of steps a snake's tail will stay put for while it grows.
+     * @param env The game.
+     * @return The number of squares the snake has left to grow.
+     */
+    public int getPendingGrowth(int env)
+    {
+        return pendingGrowths[env];
+    }
+
+    /**
+     * Get the direction a snake will move if its next action is -1. After a step this is also the
+     * direction its head moved.
+     * @param env The game.
+     * @return Snake.UP, RIGHT, DOWN, or LEFT.
+     */
+    public int getDirection(int env)
+    {
+        return directions[env];
+    }
+
+    /**
+     * Get the square of a game's fruit.
+     * @param env The game.
+     * @return The index (y * gridWidth + x) of the fruit's square, or -1 if there was nowhere to place it.
+     */
+    public int getFruitSquare(int env)
+    {
+        return fruitSquares[env];
+    }
+
+    /**
+     * Get the number of open squares on a game's grid. The fruit's square is not counted as open.
+     * @param env The game.
+     * @return The number of open squares.
+     */
+    public int getOpenSquareCount(int env)
+    {
+        return openCounts[env];
+    }
+
+    /**
+     * Get the number of fruits eaten in a game so far.
+     * @param env The game.
+     * @return The number of fruits eaten.
+     */
+    public int getFruitsEaten(int env)
+    {
+        return fruitsEaten[env];
+    }
+
+    /**
+     * Get the number of ticks a game has been stepped.
+     * @param env The game.
+     * @return The number of ticks.
+     */
+    public long getTicks(int env)
+    {
+        return ticks[env];
+    }
+
+    /**
+     * Get the seed a game started from.
+     * @param env The game.
+     * @return The seed, a GameEngine created with it plays the same game.
+     */
+    public long getSeed(int env)
+    {
+        return seeds[env];
+    }
+
+    /**
+     * Get the number of games an environment has finished.
+     * @param env The environment.
+     * @return The number of games.
+     */
+    public int getEpisodes(int env)
+    {
+        return episodes[env];
+    }
+
+    /**
+     * Get the number of games played in lockstep.
+     * @return The number of games.
+     */
+    public int getEnvCount()
+    {
+        return envCount;
+    }
+
+    /**
+     * Get the width of the grids.
+     * @return The width in squares.
+     */
+    public int getGridWidth()
+    {
+        return gridWidth;
+    }
+
+    /**
+     * Get the height of the grids.
+     * @return The height in squares.
+     */
+    public int getGridHeight()
+    {
+        return gridHeight;
+    }
+
+    /**
+     * Stop the pool's threads. The games can't be stepped on more than one thread afterwards.
+     */
+    public void shutdown()
+    {
+        if (pool != null)
+        {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Steps chunks of games claimed from the shared counter until every game has been claimed. It is
+     * never serialized.
+     */
+    @SuppressWarnings("serial")
+    private class Stepper extends RecursiveAction
+    {
+        /** The number of games this stepper saw end on the last step */
+        int doneCount;
+
+        @Override
+        protected void compute()
+        {
+            doneCount = 0;
+            int start;
+            while ((start = nextEnv.getAndAdd(CHUNK_SIZE)) < envCount)
+            {
+                doneCount += stepRange(start, Math.min(start + CHUNK_SIZE, envCount));
+            }
+        }
+    }
+
+    /**
+     * Check that the batched games play exactly like GameEngine, then measure how many game steps per
+     * second stepAll() runs. For the check every game is shadowed by a GameEngine with the same seed,
+     * half of them steered by an Autopilot so they grow long (and win on small grids) and half by random
+     * turns so they crash often, and everything about the two is compared after every step. The process
+     * exits with status 1 if any game differs. The games measured take random turns, and the GameEngines
+     * they are compared with are reset in place like the batch's games so only stepping is measured.
+     * Usage: BatchedSnakeEnv [-envs=N] [-size=WxH] [-steps=N] [-threads=N], 4096 10x10 games for 1000
+     * steps on every core by default.
+     * @param args The options.
+     */
+    public static void main(String[] args)
+    {
+        int envCount = 4096;
+        int width = 10;
+        int height = 10;
+        int steps = 1000;
+        int threadCount = Runtime.getRuntime().availableProcessors();
+        for (String arg : args)
+        {
+            if (arg.startsWith("-envs="))
+            {
+                envCount = Integer.parseInt(arg.substring("-envs=".length()));
+            }
+            else if (arg.startsWith("-size="))
+            {
+                String[] dimensions = arg.substring("-size=".length()).split("x");
+                width = Integer.parseInt(dimensions[0]);
+                height = Integer.parseInt(dimensions[1]);
+            }
+            else if (arg.startsWith("-steps="))
+            {
+                steps = Integer.parseInt(arg.substring("-steps=".length()));
+            }
+            else if (arg.startsWith("-threads="))
+            {
+                threadCount = Integer.parseInt(arg.substring("-threads=".length()));
+            }
+        }
+
+        //Check the rules match on the grid size being measured and on a grid small enough to win
+        boolean isMatched = check(64, width, height, 5000, threadCount);
+        isMatched &= check(64, 4, 4, 5000, threadCount);
+        if (!isMatched)
+        {
+            System.exit(1);
+        }
+
+        //Measure random turns, each game turns about once every eight steps
+        BatchedSnakeEnv env = new BatchedSnakeEnv(envCount, width, height, 42L, threadCount);
+        GameRandom rng = new GameRandom(7L);
+        int[] actions = new int[envCount];
+        long gamesEnded = 0;
+        long startTime = 0L;
+        int warmupSteps = steps / 5;
+        for (int step = 0; step < warmupSteps + steps; step++)
+        {
+            if (step == warmupSteps)
+            {
+                startTime = System.nanoTime();
+                gamesEnded = 0;
+            }
+            fillRandomActions(rng, actions);
+            gamesEnded += env.stepAll(actions);
+        }
+        long time = System.nanoTime() - startTime;
+        env.shutdown();
+        System.out.printf("%d %dx%d games on %d threads: %d steps in %.2f s, %.1f M game steps/s, %d games ended%n",
+                envCount, width, height, threadCount, steps, time / 1000000000.0,
+                (double) envCount * steps / time * 1000.0, gamesEnded);
+
+        //Measure the same turns on a GameEngine per game on this thread, reset in place like the batch
+        GameEngine[] engines = new GameEngine[envCount];
+        for (int i = 0; i < envCount; i++)
+        {
+            engines[i] = new GameEngine(width, height, 42L + i);
+        }
+        rng = new GameRandom(7L);
+        gamesEnded = 0;
+        for (int step = 0; step < warmupSteps + steps; step++)
+        {
+            if (step == warmupSteps)
+            {
+                startTime = System.nanoTime();
+                gamesEnded = 0;
+            }
+            fillRandomActions(rng, actions);
+            for (int i = 0; i < envCount; i++)
+            {
+                int status = (actions[i] >= 0) ? engines[i].step(actions[i]) : engines[i].step();
+                if (status != GameEngine.RUNNING)
+                {
+                    engines[i].reset(engines[i].getSeed() + envCount);
+                    gamesEnded++;
+                }
+            }
+        }
+        long engineTime = System.nanoTime() - startTime;
+        System.out.printf("%d %dx%d GameEngines on 1 thread: %d steps in %.2f s, %.1f M game steps/s, %d games ended%n",
+                envCount, width, height, steps, engineTime / 1000000000.0,
+                (double) envCount * steps / engineTime * 1000.0, gamesEnded);
+    }
+
+    /**
+     * Pick random actions, a turn (possibly straight back into the neck) about once every eight steps.
+     * @param rng The random number generator.
+     * @param actions The array to fill.
+     */
+    private static void fillRandomActions(GameRandom rng, int[] actions)
+    {
+        for (int i = 0; i < actions.length; i++)
+        {
+            int turn = rng.nextInt(32);
+            actions[i] = (turn < 4) ? turn : -1;
+        }
+    }
+
+    /**
+     * Play a batch of games alongside GameEngines with the same seeds and compare them after every step.
+     * @param envCount The number of games.
+     * @param width The width of the grids.
+     * @param height The height of the grids.
+     * @param steps The number of steps to play.
+     * @param threadCount The number of threads to step the batch on.
+     * @return True if every game matched its engine.
+     */
+    private static boolean check(int envCount, int width, int height, int steps, int threadCount)
+    {
+        BatchedSnakeEnv env = new BatchedSnakeEnv(envCount, width, height, 1234L, threadCount);
+        GameEngine[] engines = new GameEngine[envCount];
+        Autopilot[] autopilots = new Autopilot[envCount];
+        for (int i = 0; i < envCount; i++)
+        {
+            engines[i] = new GameEngine(width, height, env.getSeed(i));
+            autopilots[i] = new Autopilot();
+        }
+
+        GameRandom rng = new GameRandom(99L);
+        int[] actions = new int[envCount];
+        long games = 0;
+        long wins = 0;
+        for (int step = 0; step < steps; step++)
+        {
+            //Steer the even games with the autopilot and turn the odd ones at random, sometimes backwards
+            for (int i = 0; i < envCount; i++)
+            {
+                if (i % 2 == 0)
+                {
+                    actions[i] = autopilots[i].nextDirection(engines[i]);
+                }
+                else
+                {
+                    int turn = rng.nextInt(16);
+                    actions[i] = (turn < 4) ? turn : -1;
+                }
+            }
+            env.stepAll(actions);
+
+            for (int i = 0; i < envCount; i++)
+            {
+                GameEngine engine = engines[i];
+                int fruitsEaten = engine.getFruitsEaten();
+                int status = (actions[i] >= 0) ? engine.step(actions[i]) : engine.step();
+                float reward = (status == GameEngine.CRASHED) ? CRASH_REWARD
+                        : (engine.getFruitsEaten() != fruitsEaten) ? FRUIT_REWARD : 0.0f;
+                String mismatch = null;
+                if (env.getRewards()[i] != reward || env.getDones()[i] != engine.isGameOver()
+                        || env.getOutcomes()[i] != status)
+                {
+                    mismatch = "reward " + env.getRewards()[i] + " status " + env.getOutcomes()[i]
+                            + ", the engine's reward " + reward + " status " + status;
+                }
+                else if (engine.isGameOver())
+                {
+                    games++;
+                    wins += (status == GameEngine.WON) ? 1 : 0;
+                    if (env.getFinalFruitsEaten()[i] != engine.getFruitsEaten())
+                    {
+                        mismatch = "final score " + env.getFinalFruitsEaten()[i] + ", the engine's " + engine.getFruitsEaten();
+                    }
+                    else
+                    {
+                        engine.reset(env.getSeed(i));
+                    }
+                }
+                else
+                {
+                    mismatch = compare(env, i, engine);
+                }
+                if (mismatch != null)
+                {
+                    System.out.printf("%dx%d game %d (seed %d) differs on tick %d: %s%n", width, height, i,
+                            engine.getSeed(), engine.getTicks(), mismatch);
+                    env.shutdown();
+                    return false;
+                }
+            }
+        }
+        env.shutdown();
+        System.out.printf("%dx%d: %d games matched GameEngine over %d steps (%d won)%n", width, height, envCount,
+                steps, wins);
+        return true;
+    }
+
+    /**
+     * Compare a batched game with a GameEngine.
+     * @param env The batch.
+     * @param i The game.
+     * @param engine The engine.
+     * @return A description of the first difference, or null if they match.
+     */
+    private static String compare(BatchedSnakeEnv env, int i, GameEngine engine)
+    {
+        Snake snake = engine.getSnake();
+        Grid grid = engine.getGrid();
+        Fruit fruit = engine.getFruit();
+        int fruitSquare = fruit.isPlaced() ? fruit.gridY * env.gridWidth + fruit.gridX : -1;
+        if (env.getLength(i) != snake.getLength() || env.getPendingGrowth(i) != snake.getPendingGrowth()
+                || env.getDirection(i) != snake.getCurrentDirection() || env.getFruitSquare(i) != fruitSquare
+                || env.getFruitsEaten(i) != engine.getFruitsEaten() || env.getTicks(i) != engine.getTicks()
+                || env.getOpenSquareCount(i) != grid.getOpenSquareCount())
+        {
+            return "the snake, fruit, or score";
+        }
+        for (int k = 0; k < snake.getLength(); k++)
+        {
+            if (env.getSnakeSquare(i, k) != snake.getSquare(k))
+            {
+                return "square " + k + " of the snake";
+            }
+        }
+        for (int square = 0; square < env.squareCount; square++)
+        {
+            if (env.getSquare(i, square) != grid.getSquare(square))
+            {
+                return "the state of square " + square;
+            }
+        }
+        for (int k = 0; k < grid.getOpenSquareCount(); k++)
+        {
+            if (env.openSquares[i * env.squareCount + k] != grid.getOpenSquare(k))
+            {
+                return "the order of the open squares";
+            }
+        }
+        return null;
+    }
+}
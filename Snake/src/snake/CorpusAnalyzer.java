@@ -0,0 +1,143 @@
+package snake;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @author Logan Karstetter
+ * Date: 10/16/2026
+ */
+public class CorpusAnalyzer implements Runnable
+{
+    /** The number of replays a thread claims at a time, so the threads rarely touch the shared counter */
+    private static final int BATCH_SIZE = 256;
+
+    /** The corpus being analyzed */
+    private ReplayCorpus corpus;
+    /** The index of the next replay that hasn't been claimed by a thread */
+    private AtomicInteger nextReplay;
+    /** The statistics of the games analyzed by this thread */
+    private CorpusStats stats;
+
+    /**
+     * Create one of the threads analyzing a corpus. Each thread claims batches of replays until none
+     * are left, re-simulates them on the headless engine, and keeps its own statistics so the threads
+     * never share anything but the counter of the next replay to claim.
+     * @param corpus The corpus being analyzed.
+     * @param nextReplay The index of the next replay that hasn't been claimed, shared by every thread.
+     */
+    public CorpusAnalyzer(ReplayCorpus corpus, AtomicInteger nextReplay)
+    {
+        this.corpus = corpus;
+        this.nextReplay = nextReplay;
+        stats = new CorpusStats();
+    }
+
+    /**
+     * Analyze batches of replays until every replay in the corpus has been claimed.
+     */
+    @Override
+    public void run()
+    {
+        int replayCount = corpus.getReplayCount();
+        int start;
+        while ((start = nextReplay.getAndAdd(BATCH_SIZE)) < replayCount)
+        {
+            int end = (int) Math.min((long) start + BATCH_SIZE, replayCount);
+            for (int i = start; i < end; i++)
+            {
+                try
+                {
+                    stats.analyze(new ReplayPlayer(corpus.getReplay(i)));
+                }
+                catch (IOException | RuntimeException e) //The replay is corrupt
+                {
+                    stats.addFailure();
+                }
+            }
+        }
+    }
+
+    /**
+     * Get the statistics of the games analyzed by this thread.
+     * @return The statistics.
+     */
+    public CorpusStats getStats()
+    {
+        return stats;
+    }
+
+    /**
+     * Analyze every game in a corpus in parallel and print the score distribution, death causes, ticks
+     * per fruit, and head heatmaps. The process exits with status 1 if any replay couldn't be read or
+     * didn't play out the way it was recorded.
+     * Usage: CorpusAnalyzer CORPUS [-threads=N]
+     * @param args The name of the corpus file, then the options.
+     */
+    public static void main(String[] args)
+    {
+        if (args.length == 0)
+        {
+            System.out.println("Usage: CorpusAnalyzer CORPUS [-threads=N]");
+            System.exit(1);
+        }
+        int threadCount = Runtime.getRuntime().availableProcessors();
+        for (int i = 1; i < args.length; i++)
+        {
+            if (args[i].startsWith("-threads="))
+            {
+                threadCount = Integer.parseInt(args[i].substring("-threads=".length()));
+            }
+        }
+
+        ReplayCorpus corpus;
+        try
+        {
+            corpus = new ReplayCorpus(args[0]);
+        }
+        catch (IOException e)
+        {
+            System.out.println("Unable to open the corpus: " + e);
+            System.exit(1);
+            return;
+        }
+
+        //Start a thread per core, each analyzing batches of replays
+        long startTime = System.nanoTime();
+        AtomicInteger nextReplay = new AtomicInteger();
+        CorpusAnalyzer[] analyzers = new CorpusAnalyzer[threadCount];
+        Thread[] threads = new Thread[threadCount];
+        for (int i = 0; i < threadCount; i++)
+        {
+            analyzers[i] = new CorpusAnalyzer(corpus, nextReplay);
+            threads[i] = new Thread(analyzers[i], "Corpus Analyzer " + i);
+            threads[i].start();
+        }
+
+        //Wait for the threads to finish and merge their statistics
+        CorpusStats stats = new CorpusStats();
+        for (int i = 0; i < threadCount; i++)
+        {
+            try
+            {
+                threads[i].join();
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+                System.exit(1);
+            }
+            stats.merge(analyzers[i].getStats());
+        }
+        double seconds = (System.nanoTime() - startTime) / 1000000000.0;
+
+        stats.print(System.out);
+        System.out.printf("%nAnalyzed %d games on %d threads in %.2f s (%.0f games/hour, %.0f ticks/s)%n",
+                stats.getGames(), threadCount, seconds, stats.getGames() / seconds * 3600.0,
+                stats.getTotalTicks() / seconds);
+        if (stats.getBadReplays() != 0)
+        {
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,299 @@
+package snake;
+
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * @author Logan Karstetter
+ * Date: 10/16/2026
+ */
+public class CorpusStats
+{
+    /** The index of the death cause count for games that crashed into a wall */
+    private static final int CAUSE_WALL = 0;
+    /** The index of the death cause count for games that crashed into the body */
+    private static final int CAUSE_BODY = 1;
+    /** The index of the death cause count for games that were won */
+    private static final int CAUSE_WON = 2;
+    /** The index of the death cause count for games that were quit before they ended */
+    private static final int CAUSE_QUIT = 3;
+    /** The names of the death causes, in the order of their counts */
+    private static final String[] CAUSE_NAMES = {"Crashed into a wall", "Crashed into the body", "Won", "Quit"};
+    /** The characters used to draw the heatmap, from the least to the most visited squares */
+    private static final String HEAT_RAMP = " .:-=+*#%@";
+
+    /** The number of games analyzed */
+    private long games;
+    /** The number of games that didn't play out the way they were recorded */
+    private long mismatches;
+    /** The number of replays that couldn't be read */
+    private long failures;
+    /** The number of ticks played across every game */
+    private long totalTicks;
+    /** The number of games that ended each way (indexed by CAUSE_WALL, CAUSE_BODY, CAUSE_WON, and CAUSE_QUIT) */
+    private long[] deathCauses;
+    /** The number of games that ended with each score (indexed by fruits eaten) */
+    private long[] scoreCounts;
+    /** The number of ticks taken to reach each fruit after the one before it */
+    private LatencyHistogram ticksPerFruit;
+    /** The number of ticks each game lasted */
+    private LatencyHistogram gameTicks;
+    /** The number of ticks the head spent on each square, for each grid size (keyed by width << 32 | height) */
+    private HashMap<Long, long[]> heatmaps;
+
+    /** The key of the last heatmap used, most corpora only hold one grid size */
+    private long lastHeatmapKey = -1L;
+    /** The last heatmap used */
+    private long[] lastHeatmap;
+
+    /**
+     * Create an empty set of statistics for a corpus of replays. Each analyzing thread keeps its own
+     * statistics and they are merged once every game has been analyzed, so nothing here is shared.
+     */
+    public CorpusStats()
+    {
+        deathCauses = new long[CAUSE_NAMES.length];
+        scoreCounts = new long[64];
+        ticksPerFruit = new LatencyHistogram();
+        gameTicks = new LatencyHistogram();
+        heatmaps = new HashMap<>();
+    }
+
+    /**
+     * Re-simulate a replay from the start and add it to the statistics. The replay is stepped a tick at
+     * a time so every square the head visits is counted.
+     * @param player The player of the replay, it must be at tick 0.
+     */
+    public void analyze(ReplayPlayer player)
+    {
+        GameEngine engine = player.getEngine();
+        Snake snake = engine.getSnake();
+        long[] heatmap = getHeatmap(player.getGridWidth(), player.getGridHeight());
+
+        //Step through the game, counting the squares visited and the ticks between fruits
+        heatmap[snake.getHeadSquare()]++;
+        long lastFruitTick = 0L;
+        int fruitsEaten = 0;
+        while (player.step())
+        {
+            if (engine.getStatus() != GameEngine.CRASHED) //The head doesn't move when it crashes
+            {
+                heatmap[snake.getHeadSquare()]++;
+            }
+            if (engine.getFruitsEaten() != fruitsEaten)
+            {
+                ticksPerFruit.record(engine.getTicks() - lastFruitTick);
+                lastFruitTick = engine.getTicks();
+                fruitsEaten = engine.getFruitsEaten();
+            }
+        }
+
+        //Count how the game ended
+        games++;
+        totalTicks = totalTicks + engine.getTicks();
+        gameTicks.record(engine.getTicks());
+        if (!player.isVerified(engine))
+        {
+            mismatches++;
+        }
+        if (fruitsEaten >= scoreCounts.length)
+        {
+            scoreCounts = Arrays.copyOf(scoreCounts, Math.max(fruitsEaten + 1, scoreCounts.length * 2));
+        }
+        scoreCounts[fruitsEaten]++;
+        if (engine.getStatus() == GameEngine.WON)
+        {
+            deathCauses[CAUSE_WON]++;
+        }
+        else if (engine.getStatus() == GameEngine.RUNNING)
+        {
+            deathCauses[CAUSE_QUIT]++;
+        }
+        else
+        {
+            deathCauses[(engine.getCrashedInto() == Grid.WALL) ? CAUSE_WALL : CAUSE_BODY]++;
+        }
+    }
+
+    /**
+     * Count a replay that couldn't be read.
+     */
+    public void addFailure()
+    {
+        failures++;
+    }
+
+    /**
+     * Get the heatmap for a grid size, creating it if this is the first game on a grid of that size.
+     * @param gridWidth The width of the grid in squares.
+     * @param gridHeight The height of the grid in squares.
+     * @return The heatmap, indexed by square.
+     */
+    private long[] getHeatmap(int gridWidth, int gridHeight)
+    {
+        long key = ((long) gridWidth << 32) | gridHeight;
+        if (key != lastHeatmapKey)
+        {
+            lastHeatmapKey = key;
+            lastHeatmap = heatmaps.computeIfAbsent(key, k -> new long[gridWidth * gridHeight]);
+        }
+        return lastHeatmap;
+    }
+
+    /**
+     * Add another set of statistics to this one.
+     * @param other The statistics to add, they are not changed.
+     */
+    public void merge(CorpusStats other)
+    {
+        games = games + other.games;
+        mismatches = mismatches + other.mismatches;
+        failures = failures + other.failures;
+        totalTicks = totalTicks + other.totalTicks;
+        for (int i = 0; i < deathCauses.length; i++)
+        {
+            deathCauses[i] = deathCauses[i] + other.deathCauses[i];
+        }
+        if (other.scoreCounts.length > scoreCounts.length)
+        {
+            scoreCounts = Arrays.copyOf(scoreCounts, other.scoreCounts.length);
+        }
+        for (int i = 0; i < other.scoreCounts.length; i++)
+        {
+            scoreCounts[i] = scoreCounts[i] + other.scoreCounts[i];
+        }
+        ticksPerFruit.add(other.ticksPerFruit);
+        gameTicks.add(other.gameTicks);
+        for (Map.Entry<Long, long[]> entry : other.heatmaps.entrySet())
+        {
+            long[] heatmap = heatmaps.computeIfAbsent(entry.getKey(), k -> new long[entry.getValue().length]);
+            for (int i = 0; i < heatmap.length; i++)
+            {
+                heatmap[i] = heatmap[i] + entry.getValue()[i];
+            }
+        }
+    }
+
+    /**
+     * Get the number of games analyzed.
+     * @return The number of games.
+     */
+    public long getGames()
+    {
+        return games;
+    }
+
+    /**
+     * Get the number of ticks played across every game.
+     * @return The number of ticks.
+     */
+    public long getTotalTicks()
+    {
+        return totalTicks;
+    }
+
+    /**
+     * Get the number of games that didn't play out the way they were recorded or couldn't be read.
+     * @return The number of bad replays.
+     */
+    public long getBadReplays()
+    {
+        return mismatches + failures;
+    }
+
+    /**
+     * Print the statistics: the score distribution, how the games ended, the ticks taken per fruit and
+     * per game, and a heatmap of the squares the head visited on each grid size.
+     * @param out The stream to print to.
+     */
+    public void print(PrintStream out)
+    {
+        out.printf("Games: %d (%d mismatched, %d unreadable), %d ticks%n", games, mismatches, failures, totalTicks);
+
+        //Print the score distribution, with scores grouped so it fits in about 20 lines
+        int maxScore = 0;
+        long scoreSum = 0L;
+        for (int i = 0; i < scoreCounts.length; i++)
+        {
+            if (scoreCounts[i] != 0)
+            {
+                maxScore = i;
+                scoreSum = scoreSum + i * scoreCounts[i];
+            }
+        }
+        out.printf("%nScore (fruits eaten): mean %.2f, max %d%n", (games == 0) ? 0.0 : (double) scoreSum / games, maxScore);
+        int groupSize = Math.max(1, (maxScore + 20) / 20);
+        for (int start = 0; start <= maxScore; start = start + groupSize)
+        {
+            long count = 0L;
+            for (int i = start; i < Math.min(start + groupSize, scoreCounts.length); i++)
+            {
+                count = count + scoreCounts[i];
+            }
+            String range = (groupSize == 1) ? Integer.toString(start) : start + "-" + (start + groupSize - 1);
+            out.printf("%10s %10d %6.2f%%%n", range, count, 100.0 * count / Math.max(1L, games));
+        }
+
+        //Print how the games ended
+        out.printf("%nDeath causes%n");
+        for (int i = 0; i < deathCauses.length; i++)
+        {
+            out.printf("%-22s %10d %6.2f%%%n", CAUSE_NAMES[i], deathCauses[i], 100.0 * deathCauses[i] / Math.max(1L, games));
+        }
+
+        //Print the ticks per fruit and per game
+        out.printf("%n%-14s %10s %9s %9s %9s %9s%n", "(ticks)", "mean", "p50", "p90", "p99", "max");
+        printLine(out, "per fruit", ticksPerFruit);
+        printLine(out, "per game", gameTicks);
+
+        //Print the heatmaps, in order of grid size
+        for (Map.Entry<Long, long[]> entry : new TreeMap<>(heatmaps).entrySet())
+        {
+            printHeatmap(out, (int) (entry.getKey() >>> 32), (int) (long) entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * Print a single line of the tick summaries.
+     * @param out The stream to print the line to.
+     * @param name The name of the histogram.
+     * @param histogram The histogram to summarize.
+     */
+    private static void printLine(PrintStream out, String name, LatencyHistogram histogram)
+    {
+        out.printf("%-14s %10.2f %9d %9d %9d %9d%n", name, histogram.getMean(), histogram.getValueAtPercentile(50.0),
+                histogram.getValueAtPercentile(90.0), histogram.getValueAtPercentile(99.0), histogram.getMax());
+    }
+
+    /**
+     * Print a heatmap of the squares the head visited, shaded relative to the most visited square.
+     * @param out The stream to print the heatmap to.
+     * @param gridWidth The width of the grid in squares.
+     * @param gridHeight The height of the grid in squares.
+     * @param heatmap The number of ticks the head spent on each square.
+     */
+    private static void printHeatmap(PrintStream out, int gridWidth, int gridHeight, long[] heatmap)
+    {
+        long max = 1L;
+        for (long count : heatmap)
+        {
+            max = Math.max(max, count);
+        }
+        out.printf("%nHead heatmap %dx%d (max %d ticks on a square)%n", gridWidth, gridHeight, max);
+        StringBuilder line = new StringBuilder(gridWidth + 2);
+        for (int y = 0; y < gridHeight; y++)
+        {
+            line.setLength(0);
+            line.append('|');
+            for (int x = 0; x < gridWidth; x++)
+            {
+                line.append(HEAT_RAMP.charAt((int) (heatmap[y * gridWidth + x] * (HEAT_RAMP.length() - 1) / max)));
+            }
+            line.append('|');
+            out.println(line);
+        }
+    }
+}
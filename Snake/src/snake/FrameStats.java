@@ -0,0 +1,211 @@
+package snake;
+
+import java.awt.*;
+import java.io.PrintStream;
+
+/**
+ * @author Logan Karstetter
+ * Date: 10/16/2026
+ */
+public class FrameStats
+{
+    /** The height of the overlay drawn by draw() (in pixels), it covers whole rows of the grid */
+    public static final int OVERLAY_HEIGHT = 3 * Grid.SQUARE_HEIGHT;
+    /** The width of the overlay drawn by draw() (in pixels) */
+    private static final int OVERLAY_WIDTH = 345;
+    /** The height of a line of text in the overlay (in pixels) */
+    private static final int LINE_HEIGHT = 14;
+
+    /** The time taken by each game update (in nanos) */
+    private LatencyHistogram updateTimes;
+    /** The time taken to render each frame (in nanos) */
+    private LatencyHistogram renderTimes;
+    /** The time taken to paint each frame onto the screen (in nanos) */
+    private LatencyHistogram paintTimes;
+    /** The time the game loop slept past the time it meant to wake up (in nanos) */
+    private LatencyHistogram overSleepTimes;
+    /** The time between key presses and the updates that moved the snake in their direction (in nanos) */
+    private LatencyHistogram inputLatencies;
+    /** The number of frames that were not rendered so the updates could catch up */
+    private long framesSkipped;
+
+    /** The font used to draw the overlay */
+    private Font overlayFont;
+    /** The color drawn behind the overlay's text so it can be read over the game */
+    private Color translucentBlack;
+
+    /**
+     * Create a set of histograms for the time spent in each phase of the game loop. The game loop
+     * records into them every frame, so they are only meant to be used by the game thread.
+     */
+    public FrameStats()
+    {
+        updateTimes = new LatencyHistogram();
+        renderTimes = new LatencyHistogram();
+        paintTimes = new LatencyHistogram();
+        overSleepTimes = new LatencyHistogram();
+        inputLatencies = new LatencyHistogram();
+
+        //Create the overlay's font and background color
+        overlayFont = new Font(Font.MONOSPACED, Font.PLAIN, 13);
+        translucentBlack = new Color(0, 0, 0, 160);
+    }
+
+    /**
+     * Record the time taken by a game update.
+     * @param nanos The time taken (in nanos).
+     */
+    public void recordUpdate(long nanos)
+    {
+        updateTimes.record(nanos);
+    }
+
+    /**
+     * Record the time taken to render a frame.
+     * @param nanos The time taken (in nanos).
+     */
+    public void recordRender(long nanos)
+    {
+        renderTimes.record(nanos);
+    }
+
+    /**
+     * Record the time taken to paint a frame onto the screen.
+     * @param nanos The time taken (in nanos).
+     */
+    public void recordPaint(long nanos)
+    {
+        paintTimes.record(nanos);
+    }
+
+    /**
+     * Record how long the game loop slept past the time it meant to wake up.
+     * @param nanos The time overslept (in nanos).
+     */
+    public void recordOverSleep(long nanos)
+    {
+        overSleepTimes.record(nanos);
+    }
+
+    /**
+     * Record the time between a key press and the update that moved the snake in its direction.
+     * @param nanos The latency (in nanos).
+     */
+    public void recordInput(long nanos)
+    {
+        inputLatencies.record(nanos);
+    }
+
+    /**
+     * Count frames that were not rendered so the updates could catch up.
+     * @param frames The number of frames skipped.
+     */
+    public void addFramesSkipped(int frames)
+    {
+        framesSkipped = framesSkipped + frames;
+    }
+
+    /**
+     * Get the histogram of update times.
+     * @return The update times (in nanos).
+     */
+    public LatencyHistogram getUpdateTimes()
+    {
+        return updateTimes;
+    }
+
+    /**
+     * Get the histogram of render times.
+     * @return The render times (in nanos).
+     */
+    public LatencyHistogram getRenderTimes()
+    {
+        return renderTimes;
+    }
+
+    /**
+     * Get the histogram of paint times.
+     * @return The paint times (in nanos).
+     */
+    public LatencyHistogram getPaintTimes()
+    {
+        return paintTimes;
+    }
+
+    /**
+     * Get the number of frames that were not rendered so the updates could catch up.
+     * @return The number of frames skipped.
+     */
+    public long getFramesSkipped()
+    {
+        return framesSkipped;
+    }
+
+    /**
+     * Draw the overlay of frame times in the top left corner of the screen, below the game stats.
+     * @param dbGraphics The Graphics object used to draw the overlay.
+     */
+    public void draw(Graphics dbGraphics)
+    {
+        int x = 5;
+        int y = Grid.SQUARE_HEIGHT;
+
+        //Darken the area behind the text
+        dbGraphics.setColor(translucentBlack);
+        dbGraphics.fillRect(x, y, OVERLAY_WIDTH, OVERLAY_HEIGHT - 5);
+
+        //Write a line for each phase of the game loop
+        dbGraphics.setFont(overlayFont);
+        dbGraphics.setColor(Color.WHITE);
+        dbGraphics.drawString("ms            p50     p99   p99.9     max", x + 5, y + LINE_HEIGHT);
+        drawLine(dbGraphics, "update", updateTimes, x + 5, y + 2 * LINE_HEIGHT);
+        drawLine(dbGraphics, "render", renderTimes, x + 5, y + 3 * LINE_HEIGHT);
+        drawLine(dbGraphics, "paint", paintTimes, x + 5, y + 4 * LINE_HEIGHT);
+        drawLine(dbGraphics, "oversleep", overSleepTimes, x + 5, y + 5 * LINE_HEIGHT);
+        dbGraphics.drawString("skipped   " + framesSkipped, x + 5, y + 6 * LINE_HEIGHT);
+    }
+
+    /**
+     * Draw a single line of the overlay.
+     * @param dbGraphics The Graphics object used to draw the line.
+     * @param name The name of the histogram.
+     * @param histogram The histogram to summarize.
+     * @param x The x coordinate to draw the line at (in pixels).
+     * @param y The y coordinate to draw the line at (in pixels).
+     */
+    private void drawLine(Graphics dbGraphics, String name, LatencyHistogram histogram, int x, int y)
+    {
+        dbGraphics.drawString(String.format("%-9s %7.2f %7.2f %7.2f %7.2f", name,
+                histogram.getValueAtPercentile(50.0)/1000000.0, histogram.getValueAtPercentile(99.0)/1000000.0,
+                histogram.getValueAtPercentile(99.9)/1000000.0, histogram.getMax()/1000000.0), x, y);
+    }
+
+    /**
+     * Print a summary of every histogram, this is meant to be called once the game ends.
+     * @param out The stream to print the summary to.
+     */
+    public void printSummary(PrintStream out)
+    {
+        out.printf("%-10s %10s %9s %9s %9s %9s %9s%n", "(ms)", "count", "mean", "p50", "p99", "p99.9", "max");
+        printLine(out, "update", updateTimes);
+        printLine(out, "render", renderTimes);
+        printLine(out, "paint", paintTimes);
+        printLine(out, "oversleep", overSleepTimes);
+        printLine(out, "input", inputLatencies);
+        out.printf("Frames skipped: %d%n", framesSkipped);
+    }
+
+    /**
+     * Print a single line of the summary.
+     * @param out The stream to print the line to.
+     * @param name The name of the histogram.
+     * @param histogram The histogram to summarize.
+     */
+    private static void printLine(PrintStream out, String name, LatencyHistogram histogram)
+    {
+        out.printf("%-10s %10d %9.3f %9.3f %9.3f %9.3f %9.3f%n", name, histogram.getCount(),
+                histogram.getMean()/1000000.0, histogram.getValueAtPercentile(50.0)/1000000.0,
+                histogram.getValueAtPercentile(99.0)/1000000.0, histogram.getValueAtPercentile(99.9)/1000000.0,
+                histogram.getMax()/1000000.0);
+    }
+}
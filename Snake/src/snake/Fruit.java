@@ -0,0 +1,179 @@
+package snake;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+/**
+ * @author Logan Karstetter
+ * Date: 01/30/2018
+ */
+public class Fruit
+{
+    /** The grid x position of this fruit */
+    public int gridX;
+    /** The grid y position of this fruit */
+    public int gridY;
+    /** The diameter of the fruit (it's a sphere) */
+    private int diameter = 20; //This is basically just backup if the images don't load
+
+    /** Determines whether the fruit is placed on the grid, it can't be placed once the grid is full */
+    private boolean isPlaced = false;
+
+    /** The image used to display the fruit in the game */
+    private BufferedImage fruitImage;
+    /** The random number generator used to generate locations for the fruit to spawn */
+    private GameRandom rng;
+
+    /** A reference to the grid this fruit is on */
+    private Grid grid;
+
+    /**
+     * Create a fruit to be eaten by a Snake. The fruit does not load its image, call
+     * loadImages() before drawing it if it should be displayed with the apple image.
+     * @param grid The Grid the fruit is on.
+     * @param rng The random number generator used to pick where the fruit spawns.
+     */
+    public Fruit(Grid grid, GameRandom rng)
+    {
+        //Store the grid reference
+        this.grid = grid;
+
+        //Find a random position to place the fruit
+        this.rng = rng;
+        findPosition();
+    }
+
+    /**
+     * Load the image used to draw the fruit.
+     * @param imageLoader The ImageLoader used to load images for this game.
+     */
+    public void loadImages(ImageLoader imageLoader)
+    {
+        //Load the relevant image(s)
+        fruitImage = imageLoader.getImage("Apple");
+    }
+
+    /**
+     * Find an open point on the grid to place the fruit. This is called when the fruit is created
+     * and again each time the snake eats it. The square the fruit was eaten on is left alone since
+     * the snake's head moved onto it. If there are no open points left the fruit is not placed.
+     * @return True if the fruit was placed, false if there were no open points (the player won).
+     */
+    public boolean findPosition()
+    {
+        //Time the spawn if a flight recording is capturing spawns
+        GameEvents.SpawnEvent spawnEvent = null;
+        if (GameEvents.SPAWN.isEnabled())
+        {
+            spawnEvent = new GameEvents.SpawnEvent();
+            spawnEvent.begin();
+        }
+
+        //Get the number of open squares on the grid
+        int openSquareCount = grid.getOpenSquareCount();
+
+        //Check if there are any open squares left
+        if (openSquareCount > 0)
+        {
+            //Pick a random open square
+            int square = grid.getOpenSquare(rng.nextInt(openSquareCount));
+            gridX = grid.getSquareX(square);
+            gridY = grid.getSquareY(square);
+
+            //Put the fruit on the square
+            grid.setSquare(gridX, gridY, Grid.FRUIT);
+            isPlaced = true;
+
+            //System.out.println("Placed at " + gridX + ", " + gridY);
+        }
+        else //The player won wow
+        {
+            isPlaced = false;
+        }
+
+        if (spawnEvent != null)
+        {
+            spawnEvent.end();
+            spawnEvent.openSquares = openSquareCount;
+            spawnEvent.placed = isPlaced;
+            spawnEvent.commit();
+        }
+        return isPlaced;
+    }
+
+    /**
+     * Save the fruit's position into a snapshot.
+     * @param snapshot The snapshot to save into.
+     */
+    public void saveState(GameSnapshot snapshot)
+    {
+        snapshot.fruitX = gridX;
+        snapshot.fruitY = gridY;
+        snapshot.isFruitPlaced = isPlaced;
+    }
+
+    /**
+     * Load the fruit's position from a snapshot. The grid's squares are loaded separately by the Grid.
+     * @param snapshot The snapshot to load.
+     */
+    public void loadState(GameSnapshot snapshot)
+    {
+        gridX = snapshot.fruitX;
+        gridY = snapshot.fruitY;
+        isPlaced = snapshot.isFruitPlaced;
+    }
+
+    /**
+     * Copy the fruit's position into another fruit. The grid's squares are copied separately by the Grid.
+     * @param other The fruit to copy into.
+     */
+    public void copyInto(Fruit other)
+    {
+        other.gridX = gridX;
+        other.gridY = gridY;
+        other.isPlaced = isPlaced;
+    }
+
+    /**
+     * Set the fruit's position directly, used to take back a move that ate the fruit.
+     * @param gridX The grid x position of the fruit.
+     * @param gridY The grid y position of the fruit.
+     * @param isPlaced True if the fruit is on the grid.
+     */
+    void setPosition(int gridX, int gridY, boolean isPlaced)
+    {
+        this.gridX = gridX;
+        this.gridY = gridY;
+        this.isPlaced = isPlaced;
+    }
+
+    /**
+     * Determine if the fruit is placed on the grid. The fruit can't be placed once the snake
+     * fills every open square on the grid.
+     * @return True if the fruit is on the grid, false if there was nowhere to place it.
+     */
+    public boolean isPlaced()
+    {
+        return isPlaced;
+    }
+
+    /**
+     * Draw the fruit on the grid.
+     * @param dbGraphics The Graphics object used to draw the fruit.
+     */
+    public void draw(Graphics dbGraphics)
+    {
+        //Draw the fruit
+        if (fruitImage != null)
+        {
+            dbGraphics.drawImage(fruitImage, Grid.SQUARE_WIDTH * gridX,
+                    Grid.SQUARE_HEIGHT * gridY, null);
+        }
+        else //If the fruitImage is null
+        {
+            dbGraphics.setColor(Color.RED);
+            dbGraphics.fillOval(Grid.SQUARE_WIDTH * gridX + (diameter/4),
+                    Grid.SQUARE_HEIGHT * gridY + (diameter/4), diameter, diameter);
+        }
+    }
+}
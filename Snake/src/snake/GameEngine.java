@@ -0,0 +1,457 @@
+package snake;
+
+import java.util.Arrays;
+
+/**
+ * @author Logan Karstetter
+ * Date: 10/16/2026
+ */
+public class GameEngine
+{
+    /** The status value for a game that is still being played */
+    public static final int RUNNING = 0;
+    /** The status value for a game that ended because the snake ran into something */
+    public static final int CRASHED = 1;
+    /** The status value for a game that ended because the snake filled the grid */
+    public static final int WON = 2;
+    /** The number of ints saved for each move made with makeMove(), the snake's part comes first */
+    private static final int MOVE_SIZE = Snake.MOVE_SIZE + 7;
+
+    /** The grid the game is played on */
+    private Grid grid;
+    /** The snake used to play this game of Snake */
+    private Snake snake;
+    /** The fruit used in this game of Snake */
+    private Fruit fruit;
+    /** The seed the game's random number generator started from */
+    private long seed;
+    /** The random number generator that decides where the fruit spawns */
+    private GameRandom rng;
+    /** The recorder the snake's turns are written to, or null if the game isn't being recorded */
+    private ReplayRecorder recorder;
+    /** The exporter each tick's observation is written to, or null if the game isn't being exported */
+    private ObservationExporter exporter;
+
+    /** The current status of the game (RUNNING, CRASHED, or WON) */
+    private int status = RUNNING;
+    /** The number of fruits eaten by the snake (score) */
+    private int fruitsEaten = 0;
+    /** The number of ticks (updates) the game has been stepped */
+    private long ticks = 0L;
+    /** The state of the square the snake crashed into (Grid.BODY or Grid.WALL), or Grid.EMPTY if it hasn't crashed */
+    private int crashedInto = Grid.EMPTY;
+
+    /** The state saved before each move made with makeMove() that hasn't been undone, MOVE_SIZE ints each */
+    private int[] moves;
+    /** The ticks and random number generator state saved before each move, two longs each */
+    private long[] moveLongs;
+    /** The number of moves that can be undone */
+    private int moveCount;
+
+    /**
+     * Create a new headless game of Snake with a seed picked from the clock.
+     * @param gridWidth The width of the grid in squares.
+     * @param gridHeight The height of the grid in squares.
+     */
+    public GameEngine(int gridWidth, int gridHeight)
+    {
+        this(gridWidth, gridHeight, System.nanoTime());
+    }
+
+    /**
+     * Create a new headless game of Snake. The engine owns the grid, snake, and fruit and advances
+     * the game one tick at a time through its step methods. It does not render, create threads, or
+     * sleep, so it can be stepped as fast as the caller wants without a display. The game is
+     * deterministic, two engines with the same size and seed that are stepped with the same
+     * directions play out exactly the same way.
+     * @param gridWidth The width of the grid in squares.
+     * @param gridHeight The height of the grid in squares.
+     * @param seed The seed for the random number generator that decides where the fruit spawns.
+     */
+    public GameEngine(int gridWidth, int gridHeight, long seed)
+    {
+        //Create the random number generator
+        this.seed = seed;
+        rng = new GameRandom(seed);
+
+        //Create the Grid (the grid works in pixels so convert the square dimensions)
+        grid = new Grid(gridWidth * Grid.SQUARE_WIDTH, gridHeight * Grid.SQUARE_HEIGHT);
+
+        //Create the Snake
+        snake = new Snake(grid);
+
+        //Create the Fruit
+        fruit = new Fruit(grid, rng);
+
+        //Create room to save moves, it grows if a search goes deeper than this
+        moves = new int[64 * MOVE_SIZE];
+        moveLongs = new long[64 * 2];
+    }
+
+    /**
+     * Start a new game on this engine, exactly like a new GameEngine with the same grid size and the
+     * given seed but without allocating anything. The grid, snake, and fruit objects are kept, so a
+     * GameRenderer can keep drawing them. Moves made before the reset can no longer be unmade, and the
+     * recorder and exporter are left alone.
+     * @param seed The seed for the new game's random number generator.
+     */
+    public void reset(long seed)
+    {
+        this.seed = seed;
+        rng.setState(seed);
+        status = RUNNING;
+        fruitsEaten = 0;
+        ticks = 0L;
+        crashedInto = Grid.EMPTY;
+        moveCount = 0;
+        grid.clear();
+        snake.reset();
+        fruit.findPosition();
+    }
+
+    /**
+     * Set the snake's direction and advance the game by a single tick.
+     * @param direction The direction the snake should move (Snake.UP, RIGHT, DOWN, or LEFT).
+     * @return The status of the game after the tick.
+     */
+    public int step(int direction)
+    {
+        snake.setCurrentDirection(direction);
+        return step();
+    }
+
+    /**
+     * Advance the game by a single tick using the snake's current direction. If the snake eats the
+     * fruit it is told to grow, which leaves its tail in place on the next tick, and the fruit is moved
+     * to a new open square straight away. Nothing happens once the game is over.
+     * @return The status of the game after the tick.
+     */
+    public int step()
+    {
+        //Don't update a game that is already over
+        if (status != RUNNING)
+        {
+            return status;
+        }
+
+        //Record the direction the snake moves this tick
+        if (recorder != null)
+        {
+            recorder.record(ticks, snake.getCurrentDirection());
+        }
+
+        //Time the tick if a flight recording is capturing ticks
+        GameEvents.TickEvent tickEvent = null;
+        if (GameEvents.TICK.isEnabled())
+        {
+            tickEvent = new GameEvents.TickEvent();
+            tickEvent.begin();
+        }
+
+        //Move the snake and see what its head moved onto
+        int square = snake.update();
+        if (square == Grid.FRUIT) //The snake ate the fruit
+        {
+            fruitsEaten++;
+            snake.grow();
+
+            //If the fruit couldn't be placed there are no open squares left, the player won
+            if (!fruit.findPosition())
+            {
+                status = WON;
+            }
+        }
+        else if (square != Grid.EMPTY) //The snake ran into a wall or its own body
+        {
+            status = CRASHED;
+            crashedInto = square;
+        }
+
+        if (tickEvent != null)
+        {
+            tickEvent.end();
+            tickEvent.tick = ticks;
+            tickEvent.length = snake.getLength();
+            tickEvent.square = square;
+            tickEvent.commit();
+        }
+        ticks++;
+
+        //Share the tick with the reader of the exporter's file
+        if (exporter != null)
+        {
+            exporter.publish(this);
+        }
+
+        //Record how the game ended
+        if (status != RUNNING && GameEvents.GAME_OVER.isEnabled())
+        {
+            GameEvents.GameOverEvent gameOverEvent = new GameEvents.GameOverEvent();
+            gameOverEvent.cause = getDeathCause();
+            gameOverEvent.fruitsEaten = fruitsEaten;
+            gameOverEvent.length = snake.getLength();
+            gameOverEvent.ticks = ticks;
+            gameOverEvent.commit();
+        }
+        return status;
+    }
+
+    /**
+     * Make a move that can be taken back with unmakeMove(), for searches that try moves and then return
+     * to where they started. The move is the same as step(direction), but everything it changes is
+     * saved first: a few ints for the snake, fruit, and score, and the squares it changes (at most four)
+     * in the grid's undo log. Nothing is allocated once the saved moves have grown to the depth of the
+     * search, so this is much cheaper than copying the game for each move. Moves can be made after the
+     * game is over, they change nothing and unmaking them does nothing.
+     * @param direction The direction the snake should move (Snake.UP, RIGHT, DOWN, or LEFT).
+     * @return The status of the game after the move.
+     */
+    public int makeMove(int direction)
+    {
+        if ((moveCount + 1) * MOVE_SIZE > moves.length)
+        {
+            moves = Arrays.copyOf(moves, moves.length * 2);
+            moveLongs = Arrays.copyOf(moveLongs, moveLongs.length * 2);
+        }
+
+        //Save the state the move can change
+        int offset = moveCount * MOVE_SIZE;
+        snake.saveMove(moves, offset);
+        offset = offset + Snake.MOVE_SIZE;
+        moves[offset] = fruitsEaten;
+        moves[offset + 1] = status;
+        moves[offset + 2] = crashedInto;
+        moves[offset + 3] = fruit.gridX;
+        moves[offset + 4] = fruit.gridY;
+        moves[offset + 5] = fruit.isPlaced() ? 1 : 0;
+        moves[offset + 6] = grid.getUndoMark();
+        moveLongs[moveCount * 2] = ticks;
+        moveLongs[moveCount * 2 + 1] = rng.getState();
+        moveCount++;
+
+        //Step the game, logging every square it changes
+        grid.setLogging(true);
+        step(direction);
+        grid.setLogging(false);
+        return status;
+    }
+
+    /**
+     * Take back the last move made with makeMove(). The game is left exactly as it was before the move,
+     * down to the order of the open squares and the state of the random number generator, so the same
+     * moves made again play out the same way.
+     */
+    public void unmakeMove()
+    {
+        if (moveCount == 0)
+        {
+            throw new IllegalStateException("There is no move to unmake");
+        }
+        moveCount--;
+        int offset = moveCount * MOVE_SIZE;
+        snake.undoMove(moves, offset);
+        offset = offset + Snake.MOVE_SIZE;
+        fruitsEaten = moves[offset];
+        status = moves[offset + 1];
+        crashedInto = moves[offset + 2];
+        fruit.setPosition(moves[offset + 3], moves[offset + 4], moves[offset + 5] != 0);
+        grid.undoTo(moves[offset + 6]);
+        ticks = moveLongs[moveCount * 2];
+        rng.setState(moveLongs[moveCount * 2 + 1]);
+    }
+
+    /**
+     * Get the number of moves made with makeMove() that can still be unmade.
+     * @return The number of moves.
+     */
+    public int getMoveCount()
+    {
+        return moveCount;
+    }
+
+    /**
+     * Copy the entire state of the game into another engine with the same grid size, so a search can
+     * play on from this game without changing it. The state is copied array to array without going
+     * through a snapshot, and only the used part of the snake and open squares is copied. The other
+     * engine's moves can no longer be unmade, and its recorder and exporter are left alone (they should
+     * be null).
+     * @param other The engine to copy into.
+     */
+    public void copyInto(GameEngine other)
+    {
+        if (other.grid.getGridWidth() != grid.getGridWidth() || other.grid.getGridHeight() != grid.getGridHeight())
+        {
+            throw new IllegalArgumentException("Can't copy a " + grid.getGridWidth() + "x" + grid.getGridHeight()
+                    + " game into a " + other.grid.getGridWidth() + "x" + other.grid.getGridHeight() + " game");
+        }
+        other.seed = seed;
+        other.rng.setState(rng.getState());
+        other.status = status;
+        other.fruitsEaten = fruitsEaten;
+        other.ticks = ticks;
+        other.crashedInto = crashedInto;
+        other.moveCount = 0;
+        grid.copyInto(other.grid);
+        snake.copyInto(other.snake);
+        fruit.copyInto(other.fruit);
+    }
+
+    /**
+     * Determine if the game is over.
+     * @return True if the snake crashed or won, false if the game is still running.
+     */
+    public boolean isGameOver()
+    {
+        return status != RUNNING;
+    }
+
+    /**
+     * Get the current status of the game.
+     * @return RUNNING, CRASHED, or WON.
+     */
+    public int getStatus()
+    {
+        return status;
+    }
+
+    /**
+     * Save the entire state of the game into a snapshot.
+     * @param snapshot The snapshot to save into, sized for this game's grid.
+     */
+    public void saveState(GameSnapshot snapshot)
+    {
+        snapshot.ticks = ticks;
+        snapshot.fruitsEaten = fruitsEaten;
+        snapshot.status = status;
+        snapshot.crashedInto = crashedInto;
+        snapshot.rngState = rng.getState();
+        grid.saveState(snapshot);
+        snake.saveState(snapshot);
+        fruit.saveState(snapshot);
+    }
+
+    /**
+     * Load the entire state of the game from a snapshot. The game carries on from the snapshot exactly
+     * as the game it was saved from did. The grid, snake, and fruit objects are kept (only their state
+     * changes), so anything holding on to them such as a GameRenderer can keep using them.
+     * @param snapshot The snapshot to load, saved from a game with the same grid size.
+     */
+    public void loadState(GameSnapshot snapshot)
+    {
+        if (snapshot.gridWidth != grid.getGridWidth() || snapshot.gridHeight != grid.getGridHeight())
+        {
+            throw new IllegalArgumentException("The snapshot is for a " + snapshot.gridWidth + "x"
+                    + snapshot.gridHeight + " grid, not " + grid.getGridWidth() + "x" + grid.getGridHeight());
+        }
+        ticks = snapshot.ticks;
+        fruitsEaten = snapshot.fruitsEaten;
+        status = snapshot.status;
+        crashedInto = snapshot.crashedInto;
+        rng.setState(snapshot.rngState);
+        grid.loadState(snapshot);
+        snake.loadState(snapshot);
+        fruit.loadState(snapshot);
+    }
+
+    /**
+     * Record the snake's turns from the next tick on.
+     * @param recorder The recorder to write the turns to, or null to stop recording.
+     */
+    public void setRecorder(ReplayRecorder recorder)
+    {
+        this.recorder = recorder;
+    }
+
+    /**
+     * Write an observation of the game to an exporter now and after every tick from now on.
+     * @param exporter The exporter, sized for this game's grid, or null to stop exporting.
+     */
+    public void setExporter(ObservationExporter exporter)
+    {
+        this.exporter = exporter;
+        if (exporter != null)
+        {
+            exporter.publish(this);
+        }
+    }
+
+    /**
+     * Get the seed the game's random number generator started from.
+     * @return The seed.
+     */
+    public long getSeed()
+    {
+        return seed;
+    }
+
+    /**
+     * Get the state of the square the snake crashed into.
+     * @return Grid.BODY or Grid.WALL, or Grid.EMPTY if the snake hasn't crashed.
+     */
+    public int getCrashedInto()
+    {
+        return crashedInto;
+    }
+
+    /**
+     * Get a description of what ended the game.
+     * @return "Crashed into a wall", "Crashed into the body", "Won", or "Running" if the game isn't over.
+     */
+    public String getDeathCause()
+    {
+        if (status == WON)
+        {
+            return "Won";
+        }
+        else if (status == CRASHED)
+        {
+            return (crashedInto == Grid.WALL) ? "Crashed into a wall" : "Crashed into the body";
+        }
+        return "Running";
+    }
+
+    /**
+     * Get the number of fruits eaten by the snake (the score).
+     * @return The number of fruits eaten.
+     */
+    public int getFruitsEaten()
+    {
+        return fruitsEaten;
+    }
+
+    /**
+     * Get the number of ticks the game has been stepped.
+     * @return The number of ticks.
+     */
+    public long getTicks()
+    {
+        return ticks;
+    }
+
+    /**
+     * Get the grid the game is played on.
+     * @return The Grid.
+     */
+    public Grid getGrid()
+    {
+        return grid;
+    }
+
+    /**
+     * Get the snake used in this game.
+     * @return The Snake.
+     */
+    public Snake getSnake()
+    {
+        return snake;
+    }
+
+    /**
+     * Get the fruit used in this game.
+     * @return The Fruit.
+     */
+    public Fruit getFruit()
+    {
+        return fruit;
+    }
+}
@@ -0,0 +1,130 @@
+package snake;
+
+import jdk.jfr.*;
+
+/**
+ * @author Logan Karstetter
+ * Date: 10/16/2026
+ */
+public class GameEvents
+{
+    /** The type of the TickEvent, used to check whether ticks are being recorded before creating an event */
+    public static final EventType TICK = EventType.getEventType(TickEvent.class);
+    /** The type of the SpawnEvent, used to check whether spawns are being recorded before creating an event */
+    public static final EventType SPAWN = EventType.getEventType(SpawnEvent.class);
+    /** The type of the RenderEvent, used to check whether renders are being recorded before creating an event */
+    public static final EventType RENDER = EventType.getEventType(RenderEvent.class);
+    /** The type of the PresentEvent, used to check whether presents are being recorded before creating an event */
+    public static final EventType PRESENT = EventType.getEventType(PresentEvent.class);
+    /** The type of the GameOverEvent, used to check whether game overs are being recorded before creating an event */
+    public static final EventType GAME_OVER = EventType.getEventType(GameOverEvent.class);
+
+    /**
+     * The GameEvents class only holds the Java Flight Recorder events emitted by the game. Every event is
+     * disabled by default, and the code emitting them checks the event's type is enabled before creating
+     * one, so nothing is allocated or timed unless a recording turns them on. Enable them with the snake.jfc
+     * settings file, or on JDK 17 and later with a recording setting such as snake.Tick#enabled=true.
+     */
+    private GameEvents()
+    {
+        //Do nothing
+    }
+
+    /**
+     * A single game update, from moving the snake to placing a new fruit if it ate one.
+     */
+    @Name("snake.Tick")
+    @Label("Tick")
+    @Category("Snake")
+    @Description("A single update of the game")
+    @Enabled(false)
+    @StackTrace(false)
+    public static class TickEvent extends Event
+    {
+        /** The number of ticks the game had been stepped before this one */
+        @Label("Tick")
+        public long tick;
+        /** The length of the snake after the tick */
+        @Label("Length")
+        public int length;
+        /** The state of the square the head moved onto (Grid.EMPTY, BODY, FRUIT, or WALL) */
+        @Label("Square")
+        public int square;
+    }
+
+    /**
+     * The fruit being placed on a random open square.
+     */
+    @Name("snake.Spawn")
+    @Label("Spawn")
+    @Category("Snake")
+    @Description("The fruit being placed on an open square")
+    @Enabled(false)
+    @StackTrace(false)
+    public static class SpawnEvent extends Event
+    {
+        /** The number of open squares the fruit could be placed on */
+        @Label("Open Squares")
+        public int openSquares;
+        /** Whether the fruit was placed, it isn't if there are no open squares left */
+        @Label("Placed")
+        public boolean placed;
+    }
+
+    /**
+     * A frame being rendered into the offscreen image.
+     */
+    @Name("snake.Render")
+    @Label("Render")
+    @Category("Snake")
+    @Description("A frame being rendered offscreen")
+    @Enabled(false)
+    @StackTrace(false)
+    public static class RenderEvent extends Event
+    {
+        /** Whether the frame was rendered part of the way between two updates */
+        @Label("Interpolated")
+        public boolean interpolated;
+    }
+
+    /**
+     * A rendered frame being drawn or flipped onto the screen.
+     */
+    @Name("snake.Present")
+    @Label("Present")
+    @Category("Snake")
+    @Description("A rendered frame being shown on the screen")
+    @Enabled(false)
+    @StackTrace(false)
+    public static class PresentEvent extends Event
+    {
+        /** The way the frame was presented (SnakePanel.PRESENT_IMAGE, PRESENT_VOLATILE, or PRESENT_BUFFER_STRATEGY) */
+        @Label("Present Mode")
+        public int presentMode;
+    }
+
+    /**
+     * The end of a game.
+     */
+    @Name("snake.GameOver")
+    @Label("Game Over")
+    @Category("Snake")
+    @Description("The end of a game and what ended it")
+    @Enabled(false)
+    @StackTrace(false)
+    public static class GameOverEvent extends Event
+    {
+        /** What ended the game (Crashed into a wall, Crashed into the body, or Won) */
+        @Label("Cause")
+        public String cause;
+        /** The number of fruits eaten */
+        @Label("Fruits Eaten")
+        public int fruitsEaten;
+        /** The length of the snake */
+        @Label("Length")
+        public int length;
+        /** The number of ticks the game lasted */
+        @Label("Ticks")
+        public long ticks;
+    }
+}
@@ -0,0 +1,90 @@
+package snake;
+
+/**
+ * @author Logan Karstetter
+ * Date: 10/16/2026
+ */
+public class GameRandom
+{
+    /** The amount the state advances by for each number generated (the golden ratio in 64 bits) */
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    /** The entire state of the generator */
+    private long state;
+
+    /**
+     * Create a random number generator for the game (SplitMix64). Unlike java.util.Random its whole state
+     * is a single long that can be read and restored, so a game can be saved and resumed or replayed and
+     * the same fruits will spawn in the same places.
+     * @param seed The seed, two generators with the same seed generate the same numbers.
+     */
+    public GameRandom(long seed)
+    {
+        state = seed;
+    }
+
+    /**
+     * Generate the next random long.
+     * @return A random long, every value is equally likely.
+     */
+    public long nextLong()
+    {
+        return mix(state += GOLDEN_GAMMA);
+    }
+
+    /**
+     * Generate a random int from 0 (inclusive) to bound (exclusive). The top 32 bits of the next long are
+     * scaled into the range with a multiply instead of a division, the bias this leaves is at most
+     * bound / 2^32 which is far too small to matter for picking squares.
+     * @param bound The upper bound (exclusive), this must be greater than 0.
+     * @return A random int from 0 to bound - 1.
+     */
+    public int nextInt(int bound)
+    {
+        return (int) (((nextLong() >>> 32) * bound) >>> 32);
+    }
+
+    /**
+     * Generate a random int from 0 (inclusive) to bound (exclusive) from one of many generators whose
+     * states are kept in an array, for batches of games stored in primitive arrays rather than objects.
+     * The numbers are the same as a GameRandom with the same state would generate.
+     * @param states The states of the generators, the state used is advanced.
+     * @param index The index of the generator's state in the array.
+     * @param bound The upper bound (exclusive), this must be greater than 0.
+     * @return A random int from 0 to bound - 1.
+     */
+    public static int nextInt(long[] states, int index, int bound)
+    {
+        return (int) (((mix(states[index] += GOLDEN_GAMMA) >>> 32) * bound) >>> 32);
+    }
+
+    /**
+     * Scramble a state into a random long.
+     * @param z The state after it has been advanced.
+     * @return A random long, every value is equally likely.
+     */
+    private static long mix(long z)
+    {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Get the state of the generator.
+     * @return The state, passing it to setState() makes the generator repeat the numbers that follow.
+     */
+    public long getState()
+    {
+        return state;
+    }
+
+    /**
+     * Set the state of the generator.
+     * @param state A state returned by getState(), or a seed.
+     */
+    public void setState(long state)
+    {
+        this.state = state;
+    }
+}
@@ -0,0 +1,399 @@
+package snake;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+/**
+ * @author Logan Karstetter
+ * Date: 10/16/2026
+ */
+public class GameRenderer
+{
+    /** The width of the area the game is rendered into (in pixels) */
+    private int width;
+    /** The height of the area the game is rendered into (in pixels) */
+    private int height;
+
+    /** The engine whose grid, snake, and fruit are rendered */
+    private GameEngine engine;
+
+    /** The background image painted on the screen */
+    private BufferedImage backgroundImage;
+    /** The background image with the grid drawn over it. Neither changes while the game is played,
+     * so they are composited once into this image and drawn with a single drawImage each frame. */
+    private BufferedImage backgroundLayer;
+    /** The grid width (in squares) the backgroundLayer was built for */
+    private int layerGridWidth;
+    /** The grid height (in squares) the backgroundLayer was built for */
+    private int layerGridHeight;
+
+    /** The font used to display messages to the user */
+    private Font snakeFont;
+    /** The images of the digits 0-9 drawn in the snakeFont, numbers are drawn from these rather than
+     * building a new String every frame. They are created the first time the stats are printed. */
+    private BufferedImage[] digitImages;
+    /** The image of the "Fruits eaten - " label drawn in the snakeFont */
+    private BufferedImage scoreLabel;
+    /** The image of the "Game time - " label drawn in the snakeFont */
+    private BufferedImage timeLabel;
+    /** The distance from the top of the text images to the baseline of the text (in pixels) */
+    private int textAscent;
+    /** The digits of the number being drawn, from least to most significant */
+    private int[] digitBuffer;
+
+    /** The height of the strip along the top of the screen where the game stats are printed (in pixels) */
+    private static final int STATS_HEIGHT = Grid.SQUARE_HEIGHT;
+
+    /** Determines whether only the squares that changed are repainted onto the previous frame */
+    private boolean isIncremental = false;
+    /** Determines whether the Graphics being rendered to still holds the last frame drawn by this renderer */
+    private boolean isFrameValid = false;
+
+    /** The frame times drawn over the game, or null if the overlay is hidden */
+    private FrameStats overlay;
+
+    /**
+     * Create a GameRenderer that draws a game of Snake onto any Graphics context. The renderer does not
+     * depend on a component being displayed, so it can draw into an offscreen BufferedImage as well as
+     * into the SnakePanel's double buffer.
+     * @param engine The GameEngine to render.
+     * @param imageLoader The ImageLoader holding the game images.
+     * @param width The width of the area the game is rendered into (in pixels).
+     * @param height The height of the area the game is rendered into (in pixels).
+     */
+    public GameRenderer(GameEngine engine, ImageLoader imageLoader, int width, int height)
+    {
+        //Store the engine and dimensions
+        this.engine = engine;
+        this.width = width;
+        this.height = height;
+
+        //Load the background and give the snake and fruit their images
+        backgroundImage = imageLoader.getImage("Snake Background"); //690x690 image
+        engine.getSnake().loadImages(imageLoader);
+        engine.getFruit().loadImages(imageLoader);
+
+        //Create the font
+        snakeFont = new Font("", Font.PLAIN, 20);
+        digitBuffer = new int[20]; //Enough for any long
+    }
+
+    /**
+     * Render the background, grid, fruit, snake, and game stats. In incremental mode only the squares
+     * the grid marked as dirty and the stats strip are repainted, the rest of the last frame is left as it
+     * was. A full frame is still drawn the first time, after invalidate(), and once the game is over.
+     * @param dbGraphics The Graphics object used to draw the game.
+     * @param timeSpentInGame The amount of time spent playing the game (in secs).
+     */
+    public void render(Graphics dbGraphics, int timeSpentInGame)
+    {
+        Grid grid = engine.getGrid();
+        BufferedImage layer = getBackgroundLayer(); //This invalidates the last frame if the layer is rebuilt
+        if (isIncremental && isFrameValid && !engine.isGameOver())
+        {
+            //Repaint the squares that changed since the last frame
+            for (int i = 0; i < grid.getDirtyCount(); i++)
+            {
+                repaintSquare(dbGraphics, layer, grid.getDirtySquare(i));
+            }
+
+            //Repaint the stats strip (and the overlay under it) along with the squares underneath it
+            int stripHeight = (overlay != null) ? STATS_HEIGHT + FrameStats.OVERLAY_HEIGHT : STATS_HEIGHT;
+            dbGraphics.drawImage(layer, 0, 0, width, stripHeight, 0, 0, width, stripHeight, null);
+            int stripSquares = Math.min(stripHeight/Grid.SQUARE_HEIGHT, grid.getGridHeight()) * grid.getGridWidth();
+            for (int square = 0; square < stripSquares; square++) //The top rows' indices come first
+            {
+                if (grid.getSquare(square) != Grid.EMPTY)
+                {
+                    repaintSquare(dbGraphics, layer, square);
+                }
+            }
+        }
+        else
+        {
+            //Draw the background and grid
+            dbGraphics.drawImage(layer, 0, 0, null);
+
+            //Draw the snake and fruit
+            engine.getFruit().draw(dbGraphics);
+            engine.getSnake().draw(dbGraphics); //So the snake appears to 'eat' the fruit
+            isFrameValid = true;
+        }
+        grid.clearDirty();
+
+        //Print the game stats
+        printStats(dbGraphics, timeSpentInGame);
+    }
+
+    /**
+     * Render a full frame with the snake drawn part of the way between its last and current positions.
+     * This is used when frames are rendered more often than the game is updated, so it never repaints
+     * incrementally. The snake is drawn where it is once the game is over.
+     * @param dbGraphics The Graphics object used to draw the game.
+     * @param timeSpentInGame The amount of time spent playing the game (in secs).
+     * @param alpha The fraction of the way from the last update to the next one (0 to 1).
+     */
+    public void render(Graphics dbGraphics, int timeSpentInGame, double alpha)
+    {
+        if (engine.isGameOver())
+        {
+            render(dbGraphics, timeSpentInGame);
+            return;
+        }
+
+        //Draw the background, grid, fruit, and the gliding snake
+        dbGraphics.drawImage(getBackgroundLayer(), 0, 0, null);
+        engine.getFruit().draw(dbGraphics);
+        engine.getSnake().draw(dbGraphics, alpha);
+
+        //The frame doesn't match the snake's squares so the next incremental render can't build on it
+        isFrameValid = false;
+        engine.getGrid().clearDirty();
+
+        //Print the game stats
+        printStats(dbGraphics, timeSpentInGame);
+    }
+
+    /**
+     * Repaint a single square by restoring the background behind it and drawing whatever occupies it.
+     * @param dbGraphics The Graphics object used to draw the square.
+     * @param layer The background layer to restore the square from.
+     * @param square The index (y * gridWidth + x) of the square.
+     */
+    private void repaintSquare(Graphics dbGraphics, BufferedImage layer, int square)
+    {
+        Grid grid = engine.getGrid();
+        int x = Grid.SQUARE_WIDTH * grid.getSquareX(square);
+        int y = Grid.SQUARE_HEIGHT * grid.getSquareY(square);
+        dbGraphics.drawImage(layer, x, y, x + Grid.SQUARE_WIDTH, y + Grid.SQUARE_HEIGHT,
+                x, y, x + Grid.SQUARE_WIDTH, y + Grid.SQUARE_HEIGHT, null);
+
+        int state = grid.getSquare(square);
+        if (state == Grid.FRUIT)
+        {
+            engine.getFruit().draw(dbGraphics);
+        }
+        else if (state == Grid.BODY)
+        {
+            engine.getSnake().drawPart(dbGraphics, square);
+        }
+    }
+
+    /**
+     * Show or hide the overlay of frame times drawn below the game stats.
+     * @param overlay The frame times to draw, or null to hide the overlay.
+     */
+    public void setOverlay(FrameStats overlay)
+    {
+        this.overlay = overlay;
+        isFrameValid = false; //The area under the overlay needs to be drawn again once it is hidden
+    }
+
+    /**
+     * Set whether only the squares that changed are repainted each frame. Incremental rendering needs
+     * the Graphics passed to render() to hold the previous frame, so it can only be used with a
+     * persistent back buffer.
+     * @param isIncremental True to repaint only the changed squares, false to draw every frame in full.
+     */
+    public void setIncremental(boolean isIncremental)
+    {
+        this.isIncremental = isIncremental;
+        isFrameValid = false;
+    }
+
+    /**
+     * Force the next frame to be drawn in full. This must be called if the back buffer is recreated or
+     * its contents are lost, since incremental rendering relies on it holding the last frame.
+     */
+    public void invalidate()
+    {
+        isFrameValid = false;
+    }
+
+    /**
+     * Set the image drawn behind the grid. The background layer is rebuilt the next time it is drawn.
+     * @param backgroundImage The new background image, or null to draw a black background.
+     */
+    public void setBackgroundImage(BufferedImage backgroundImage)
+    {
+        this.backgroundImage = backgroundImage;
+        backgroundLayer = null;
+        isFrameValid = false;
+    }
+
+    /**
+     * Get the background layer, building it first if it does not exist yet or if the grid has changed
+     * size since it was built. The layer is created as a compatible image with the screen (when there is
+     * one) so that it can be kept in video memory as a managed image.
+     * @return The background image with the grid drawn over it.
+     */
+    private BufferedImage getBackgroundLayer()
+    {
+        Grid grid = engine.getGrid();
+        if (backgroundLayer == null || layerGridWidth != grid.getGridWidth() || layerGridHeight != grid.getGridHeight())
+        {
+            //Create an opaque image the size of the rendered area
+            if (GraphicsEnvironment.isHeadless()) //Headless environments don't have a screen device
+            {
+                backgroundLayer = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            }
+            else
+            {
+                backgroundLayer = GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice()
+                        .getDefaultConfiguration().createCompatibleImage(width, height, Transparency.OPAQUE);
+            }
+            layerGridWidth = grid.getGridWidth();
+            layerGridHeight = grid.getGridHeight();
+            isFrameValid = false;
+
+            Graphics layerGraphics = backgroundLayer.createGraphics();
+
+            //Draw a black background, it shows if the image hasn't been loaded or doesn't cover the grid
+            layerGraphics.setColor(Color.BLACK);
+            layerGraphics.fillRect(0, 0, width, height);
+            if (backgroundImage != null)
+            {
+                //Draw the background image to the layer
+                layerGraphics.drawImage(backgroundImage, 0, 0, null);
+            }
+
+            //Draw the grid
+            grid.draw(layerGraphics);
+            layerGraphics.dispose();
+        }
+        return backgroundLayer;
+    }
+
+    /**
+     * Print the game statistics onto the screen.
+     * @param dbGraphics The Graphics object used to draw the stats.
+     * @param timeSpentInGame The amount of time spent playing the game (in secs).
+     */
+    private void printStats(Graphics dbGraphics, int timeSpentInGame)
+    {
+        //Create the images of the labels and digits
+        if (digitImages == null)
+        {
+            createTextImages();
+        }
+
+        //Set the font and color to white
+        dbGraphics.setFont(snakeFont);
+        dbGraphics.setColor(Color.WHITE);
+
+        //Write the score
+        int x = drawText(dbGraphics, scoreLabel, width - 180, 20);
+        drawNumber(dbGraphics, engine.getFruitsEaten(), x, 20);
+
+        //Write the time playing as long as the game isn't over
+        if (!engine.isGameOver())
+        {
+            //Write out the time spent in game
+            x = drawText(dbGraphics, timeLabel, 5, 20);
+            drawNumber(dbGraphics, timeSpentInGame, x, 20);
+        }
+        else
+        {
+            //Print the final game time
+            dbGraphics.drawString("GameTime - " + timeSpentInGame, 5, 20);
+
+            //Write the game over message to the screen
+            FontMetrics fontMetrics = dbGraphics.getFontMetrics(snakeFont);
+            int msgX = (width - fontMetrics.stringWidth("Game Over!"))/2;
+            int msgY = (height - fontMetrics.getHeight())/2;
+            dbGraphics.drawString("Game Over!", msgX, msgY);
+
+            //Write the created by message to the screen
+            msgX = (width - fontMetrics.stringWidth("Code and Graphics by: Logan Karstetter"))/2;
+            dbGraphics.drawString("Code and Graphics by: Logan Karstetter", msgX, msgY + fontMetrics.getHeight());
+        }
+
+        //Draw the frame times under the stats
+        if (overlay != null)
+        {
+            overlay.draw(dbGraphics);
+        }
+    }
+
+    /**
+     * Create the images of the stats labels and the digits 0-9. The stats change every frame, so drawing
+     * them with drawString would mean building a new String each frame. Instead each piece of text is
+     * drawn once into its own image, and the stats are put together from those images.
+     */
+    private void createTextImages()
+    {
+        //Get the metrics of the font from a throwaway image
+        BufferedImage scratch = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB);
+        Graphics scratchGraphics = scratch.getGraphics();
+        FontMetrics fontMetrics = scratchGraphics.getFontMetrics(snakeFont);
+        scratchGraphics.dispose();
+        textAscent = fontMetrics.getAscent();
+
+        //Draw the labels and digits
+        scoreLabel = createTextImage("Fruits eaten - ", fontMetrics);
+        timeLabel = createTextImage("Game time - ", fontMetrics);
+        digitImages = new BufferedImage[10];
+        for (int i = 0; i < 10; i++)
+        {
+            digitImages[i] = createTextImage(String.valueOf(i), fontMetrics);
+        }
+    }
+
+    /**
+     * Draw a piece of text in white into a transparent image as wide as the text's advance, so the images
+     * can be placed one after another exactly as drawString would place the characters.
+     * @param text The text to draw.
+     * @param fontMetrics The metrics of the snakeFont.
+     * @return The image of the text.
+     */
+    private BufferedImage createTextImage(String text, FontMetrics fontMetrics)
+    {
+        BufferedImage image = new BufferedImage(fontMetrics.stringWidth(text), fontMetrics.getHeight(),
+                BufferedImage.TYPE_INT_ARGB);
+        Graphics imageGraphics = image.getGraphics();
+        imageGraphics.setFont(snakeFont);
+        imageGraphics.setColor(Color.WHITE);
+        imageGraphics.drawString(text, 0, textAscent);
+        imageGraphics.dispose();
+        return image;
+    }
+
+    /**
+     * Draw an image of text with its baseline at the given position.
+     * @param dbGraphics The Graphics object used to draw the text.
+     * @param textImage The image of the text.
+     * @param x The x coordinate of the start of the text (in pixels).
+     * @param y The y coordinate of the text's baseline (in pixels).
+     * @return The x coordinate just after the text, where the next piece of text starts.
+     */
+    private int drawText(Graphics dbGraphics, BufferedImage textImage, int x, int y)
+    {
+        dbGraphics.drawImage(textImage, x, y - textAscent, null);
+        return x + textImage.getWidth();
+    }
+
+    /**
+     * Draw a non-negative number from the digit images with its baseline at the given position.
+     * @param dbGraphics The Graphics object used to draw the number.
+     * @param number The number to draw.
+     * @param x The x coordinate of the start of the number (in pixels).
+     * @param y The y coordinate of the number's baseline (in pixels).
+     */
+    private void drawNumber(Graphics dbGraphics, long number, int x, int y)
+    {
+        //Split the number into its digits, least significant first
+        int digitCount = 0;
+        do
+        {
+            digitBuffer[digitCount++] = (int) (number % 10);
+            number = number / 10;
+        }
+        while (number > 0);
+
+        //Draw the digits most significant first
+        for (int i = digitCount - 1; i >= 0; i--)
+        {
+            x = drawText(dbGraphics, digitImages[digitBuffer[i]], x, y);
+        }
+    }
+}
@@ -0,0 +1,258 @@
+package snake;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * @author Logan Karstetter
+ * Date: 10/16/2026
+ */
+public class GameSnapshot
+{
+    /** The width of the grid the snapshot was sized for (in squares) */
+    int gridWidth;
+    /** The height of the grid the snapshot was sized for (in squares) */
+    int gridHeight;
+
+    /** The number of ticks the game had been stepped */
+    long ticks;
+    /** The number of fruits eaten */
+    int fruitsEaten;
+    /** The status of the game (GameEngine.RUNNING, CRASHED, or WON) */
+    int status;
+    /** The state of the square the snake crashed into, or Grid.EMPTY */
+    int crashedInto;
+    /** The state of the game's random number generator */
+    long rngState;
+
+    /** The bitset of blocked squares */
+    long[] blocked;
+    /** The bitset of special squares */
+    long[] special;
+    /** The open squares in the order the grid holds them, the order decides where the next fruit spawns */
+    int[] openSquares;
+    /** The number of open squares */
+    int openSquareCount;
+
+    /** The squares occupied by the snake from its tail to its head */
+    int[] snakeSquares;
+    /** The direction the snake was moving when its head entered each of the snakeSquares */
+    byte[] snakeDirections;
+    /** The number of squares occupied by the snake */
+    int snakeLength;
+    /** The number of ticks the tail should stay put so the snake grows */
+    int pendingGrowth;
+    /** The direction the snake will move on its next update */
+    int currentDirection;
+    /** The square the tail left on the last update, or -1 */
+    int lastTailSquare;
+
+    /** The grid x position of the fruit */
+    int fruitX;
+    /** The grid y position of the fruit */
+    int fruitY;
+    /** Determines whether the fruit is placed on the grid */
+    boolean isFruitPlaced;
+
+    /**
+     * Create an empty snapshot large enough to hold the state of any game on a grid of the given size.
+     * A snapshot is filled by GameEngine.saveState() and can be loaded back into any engine with the
+     * same grid size with GameEngine.loadState(). The engine's state is kept in flat arrays so saving
+     * and loading are plain array copies, and a snapshot can be reused without allocating.
+     * @param gridWidth The width of the grid in squares.
+     * @param gridHeight The height of the grid in squares.
+     */
+    public GameSnapshot(int gridWidth, int gridHeight)
+    {
+        this.gridWidth = gridWidth;
+        this.gridHeight = gridHeight;
+        int squareCount = gridWidth * gridHeight;
+        blocked = new long[(squareCount + 63) >>> 6];
+        special = new long[(squareCount + 63) >>> 6];
+        openSquares = new int[squareCount];
+        snakeSquares = new int[squareCount];
+        snakeDirections = new byte[squareCount];
+    }
+
+    /**
+     * Copy the snapshot into another snapshot sized for the same grid, so a saved state can be kept
+     * while this one is reused. Only the used part of each array is copied.
+     * @param other The snapshot to copy into.
+     */
+    public void copyInto(GameSnapshot other)
+    {
+        if (other.gridWidth != gridWidth || other.gridHeight != gridHeight)
+        {
+            throw new IllegalArgumentException("Can't copy a " + gridWidth + "x" + gridHeight
+                    + " snapshot into a " + other.gridWidth + "x" + other.gridHeight + " snapshot");
+        }
+        other.ticks = ticks;
+        other.fruitsEaten = fruitsEaten;
+        other.status = status;
+        other.crashedInto = crashedInto;
+        other.rngState = rngState;
+
+        System.arraycopy(blocked, 0, other.blocked, 0, blocked.length);
+        System.arraycopy(special, 0, other.special, 0, special.length);
+        System.arraycopy(openSquares, 0, other.openSquares, 0, openSquareCount);
+        other.openSquareCount = openSquareCount;
+
+        System.arraycopy(snakeSquares, 0, other.snakeSquares, 0, snakeLength);
+        System.arraycopy(snakeDirections, 0, other.snakeDirections, 0, snakeLength);
+        other.snakeLength = snakeLength;
+        other.pendingGrowth = pendingGrowth;
+        other.currentDirection = currentDirection;
+        other.lastTailSquare = lastTailSquare;
+
+        other.fruitX = fruitX;
+        other.fruitY = fruitY;
+        other.isFruitPlaced = isFruitPlaced;
+    }
+
+    /**
+     * Get the number of ticks the game had been stepped when the snapshot was saved.
+     * @return The number of ticks.
+     */
+    public long getTicks()
+    {
+        return ticks;
+    }
+
+    /**
+     * Write the snapshot to a stream. Only the used part of each array is written.
+     * @param out The stream to write to.
+     * @throws IOException If the stream could not be written.
+     */
+    public void write(DataOutputStream out) throws IOException
+    {
+        out.writeLong(ticks);
+        out.writeInt(fruitsEaten);
+        out.writeByte(status);
+        out.writeByte(crashedInto);
+        out.writeLong(rngState);
+
+        for (int i = 0; i < blocked.length; i++)
+        {
+            out.writeLong(blocked[i]);
+            out.writeLong(special[i]);
+        }
+        out.writeInt(openSquareCount);
+        for (int i = 0; i < openSquareCount; i++)
+        {
+            out.writeInt(openSquares[i]);
+        }
+
+        out.writeInt(snakeLength);
+        for (int i = 0; i < snakeLength; i++)
+        {
+            out.writeInt(snakeSquares[i]);
+            out.writeByte(snakeDirections[i]);
+        }
+        out.writeInt(pendingGrowth);
+        out.writeByte(currentDirection);
+        out.writeInt(lastTailSquare);
+
+        out.writeInt(fruitX);
+        out.writeInt(fruitY);
+        out.writeBoolean(isFruitPlaced);
+    }
+
+    /**
+     * Read a snapshot written by write() into this snapshot. It must have been sized for the same grid.
+     * The counts, squares, and directions read are checked against the grid, so a corrupt snapshot can't
+     * be loaded into an engine.
+     * @param in The stream to read from.
+     * @throws IOException If the stream could not be read or holds a corrupt snapshot.
+     */
+    public void read(DataInputStream in) throws IOException
+    {
+        ticks = in.readLong();
+        fruitsEaten = in.readInt();
+        status = in.readByte();
+        crashedInto = in.readByte();
+        rngState = in.readLong();
+
+        for (int i = 0; i < blocked.length; i++)
+        {
+            blocked[i] = in.readLong();
+            special[i] = in.readLong();
+        }
+        openSquareCount = readCount(in, openSquares.length);
+        for (int i = 0; i < openSquareCount; i++)
+        {
+            openSquares[i] = readSquare(in);
+        }
+
+        snakeLength = readCount(in, snakeSquares.length);
+        for (int i = 0; i < snakeLength; i++)
+        {
+            snakeSquares[i] = readSquare(in);
+            snakeDirections[i] = (byte) readDirection(in);
+        }
+        pendingGrowth = in.readInt();
+        currentDirection = readDirection(in);
+        lastTailSquare = in.readInt();
+        if (lastTailSquare < -1 || lastTailSquare >= gridWidth * gridHeight)
+        {
+            throw new IOException("Corrupt snapshot, the last tail square is " + lastTailSquare);
+        }
+
+        fruitX = in.readInt();
+        fruitY = in.readInt();
+        isFruitPlaced = in.readBoolean();
+        if (isFruitPlaced && (fruitX < 0 || fruitX >= gridWidth || fruitY < 0 || fruitY >= gridHeight))
+        {
+            throw new IOException("Corrupt snapshot, the fruit is at (" + fruitX + ", " + fruitY + ")");
+        }
+    }
+
+    /**
+     * Read a count of squares and check it fits in the snapshot.
+     * @param in The stream to read from.
+     * @param max The largest count the snapshot holds.
+     * @return The count.
+     * @throws IOException If the stream could not be read or the count is out of range.
+     */
+    private static int readCount(DataInputStream in, int max) throws IOException
+    {
+        int count = in.readInt();
+        if (count < 0 || count > max)
+        {
+            throw new IOException("Corrupt snapshot, a count of " + count + " squares");
+        }
+        return count;
+    }
+
+    /**
+     * Read a square (y * gridWidth + x) and check it is on the grid.
+     * @param in The stream to read from.
+     * @return The square.
+     * @throws IOException If the stream could not be read or the square is off the grid.
+     */
+    private int readSquare(DataInputStream in) throws IOException
+    {
+        int square = in.readInt();
+        if (square < 0 || square >= gridWidth * gridHeight)
+        {
+            throw new IOException("Corrupt snapshot, square " + square + " is off the grid");
+        }
+        return square;
+    }
+
+    /**
+     * Read a direction and check it is one of Snake.UP, RIGHT, DOWN, or LEFT.
+     * @param in The stream to read from.
+     * @return The direction.
+     * @throws IOException If the stream could not be read or the direction is unknown.
+     */
+    private static int readDirection(DataInputStream in) throws IOException
+    {
+        int direction = in.readByte();
+        if (direction < 0 || direction > 3)
+        {
+            throw new IOException("Corrupt snapshot, unknown direction " + direction);
+        }
+        return direction;
+    }
+}
@@ -0,0 +1,517 @@
+package snake;
+
+import java.awt.*;
+import java.util.Arrays;
+
+/**
+ * @author Logan Karstetter
+ * Date: 01/30/2018
+ */
+public class Grid
+{
+    /** The pixel width of a single square on the grid */
+    public static final int SQUARE_WIDTH = 30;
+    /** The pixel height of a single square on the grid */
+    public static final int SQUARE_HEIGHT = 30;
+
+    /** The state of a square that is open */
+    public static final int EMPTY = 0;
+    /** The state of a square occupied by the snake's body */
+    public static final int BODY = 1;
+    /** The state of a square occupied by the fruit */
+    public static final int FRUIT = 2;
+    /** The state of a square the snake can never move onto, squares outside of the grid are walls */
+    public static final int WALL = 3;
+
+    /** The height of the grid in squares */
+    private int gridWidth;
+    /** The width of the grid in squares */
+    private int gridHeight;
+
+    /** The bitset of squares the snake can't move onto (BODY or WALL). Each square is stored as a
+     * single bit at its index (y * gridWidth + x), so the rows are packed one after another. */
+    private long[] blocked;
+    /** The bitset of squares holding something other than the snake (FRUIT or WALL). Together with
+     * the blocked bitset this encodes the state of every square in two bits, blocked | special << 1. */
+    private long[] special;
+
+    /** The dense array of open squares, the first openSquareCount entries are the indices
+     * (y * gridWidth + x) of every square that is currently open in no particular order. */
+    private int[] openSquares;
+    /** The position of each square within the openSquares array, or -1 if the square is not open */
+    private int[] openSquarePositions;
+    /** The number of open squares on the grid */
+    private int openSquareCount;
+
+    /** The squares that have changed since the dirty squares were last cleared, in no particular order.
+     * The renderer uses these to repaint only the squares that changed. */
+    private int[] dirtySquares;
+    /** The bitset of squares in the dirtySquares array, so a square is only stored once */
+    private long[] dirtyBits;
+    /** The number of dirty squares */
+    private int dirtyCount;
+
+    /** The changes made to squares while logging, three ints each: the square, its previous state, and
+     * its previous position in the openSquares array (or -1). Undoing them in reverse restores the exact
+     * order of the open squares, so the fruit spawns where it would have. */
+    private int[] undoLog;
+    /** The number of ints used in the undo log */
+    private int undoLogSize;
+    /** Determines whether changes to squares are written to the undo log */
+    private boolean isLogging;
+
+    /** The color used to draw the grid on the screen */
+    private Color translucentGray;
+
+    /**
+     * Create a grid of squares from the given width and height. The dimensions of each square are
+     * calculated based on the Grid class static values SQUARE_WIDTH and SQUARE_HEIGHT. Thus if the
+     * inputted with and height are not cleanly divisible by those values there may be extra unused
+     * space in the display. Each square starts EMPTY.
+     * @param width The width in pixels of the area in which the grid can be drawn.
+     * @param height The height in pixels of the area in which the grid can be drawn.
+     */
+    public Grid(int width, int height)
+    {
+        //Calculate the width and height of the grid (in squares)
+        gridWidth = width/SQUARE_WIDTH;
+        gridHeight = height/SQUARE_HEIGHT;
+
+        //Create the bitsets, every bit is set to 0 (EMPTY) by default
+        int squareCount = gridWidth * gridHeight;
+        blocked = new long[(squareCount + 63) >>> 6];
+        special = new long[(squareCount + 63) >>> 6];
+
+        //Create the open squares index, every square starts open
+        openSquares = new int[squareCount];
+        openSquarePositions = new int[squareCount];
+        openSquareCount = squareCount;
+        for (int i = 0; i < openSquareCount; i++)
+        {
+            openSquares[i] = i;
+            openSquarePositions[i] = i;
+        }
+
+        //Create the dirty squares list, nothing has changed yet
+        dirtySquares = new int[squareCount];
+        dirtyBits = new long[(squareCount + 63) >>> 6];
+
+        //Create the undo log, it grows if a search goes deeper than this
+        undoLog = new int[3 * 64];
+
+        //Create the translucent gray color
+        translucentGray = new Color(69, 69, 69, 25);
+    }
+
+    /**
+     * Determine if the square on the grid located at the x and y grid coordinates is occupied
+     * or open (not occupied). The fruit's square is not occupied since the snake is allowed to move
+     * onto it to eat the fruit. If the square is out of the bounds of the grid then the snake has
+     * hit a wall and the square is considered occupied.
+     * @param x The x coordinate of the square on the grid.
+     * @param y The y coordinate of the square on the grid.
+     * @return True if the square is occupied, false if it is not (open).
+     */
+    public boolean isOccupied(int x, int y)
+    {
+        //The square is out of bounds, game over
+        if (x < 0 || x >= gridWidth || y < 0 || y >= gridHeight)
+        {
+            return true;
+        }
+        int square = y * gridWidth + x;
+        return (blocked[square >>> 6] & (1L << square)) != 0;
+    }
+
+    /**
+     * Get the state of the square on the grid located at the x and y grid coordinates.
+     * @param x The x coordinate of the square on the grid.
+     * @param y The y coordinate of the square on the grid.
+     * @return EMPTY, BODY, FRUIT, or WALL if the square is out of the bounds of the grid.
+     */
+    public int getSquare(int x, int y)
+    {
+        if (x < 0 || x >= gridWidth || y < 0 || y >= gridHeight)
+        {
+            return WALL;
+        }
+        return getSquare(y * gridWidth + x);
+    }
+
+    /**
+     * Get the state of the square with the given index.
+     * @param square The index (y * gridWidth + x) of a square on the grid.
+     * @return EMPTY, BODY, FRUIT, or WALL.
+     */
+    public int getSquare(int square)
+    {
+        int word = square >>> 6;
+        return (int) ((blocked[word] >>> square) & 1L) | (int) (((special[word] >>> square) & 1L) << 1);
+    }
+
+    /**
+     * Get 64 squares' worth of the bitset marking which squares are blocked by the snake's body.
+     * @param word The index of the word, square y * gridWidth + x is bit (square % 64) of word (square / 64).
+     * @return The bits of the word.
+     */
+    public long getBlockedBits(int word)
+    {
+        return blocked[word];
+    }
+
+    /**
+     * Get 64 squares' worth of the bitset marking which square holds the fruit.
+     * @param word The index of the word, square y * gridWidth + x is bit (square % 64) of word (square / 64).
+     * @return The bits of the word.
+     */
+    public long getSpecialBits(int word)
+    {
+        return special[word];
+    }
+
+    /**
+     * Get the number of open squares on the grid. The fruit's square is not counted as open.
+     * @return The number of open squares.
+     */
+    public int getOpenSquareCount()
+    {
+        return openSquareCount;
+    }
+
+    /**
+     * Get one of the open squares on the grid. The order of the open squares is arbitrary and
+     * changes as squares are opened and closed, so this is meant for picking a random open square.
+     * @param i A value from 0 (inclusive) to getOpenSquareCount() (exclusive).
+     * @return The index (y * gridWidth + x) of the open square.
+     */
+    public int getOpenSquare(int i)
+    {
+        return openSquares[i];
+    }
+
+    /**
+     * Get the x coordinate of the square with the given index.
+     * @param square The index (y * gridWidth + x) of the square.
+     * @return The x coordinate of the square on the grid.
+     */
+    public int getSquareX(int square)
+    {
+        return square % gridWidth;
+    }
+
+    /**
+     * Get the y coordinate of the square with the given index.
+     * @param square The index (y * gridWidth + x) of the square.
+     * @return The y coordinate of the square on the grid.
+     */
+    public int getSquareY(int square)
+    {
+        return square / gridWidth;
+    }
+
+    /**
+     * Set the state of the square on the grid located at x, y.
+     * @param x The x coordinate of the square on the grid.
+     * @param y The y coordinate of the square on the grid.
+     * @param state The new state of the square (EMPTY, BODY, FRUIT, or WALL).
+     */
+    public void setSquare(int x, int y, int state)
+    {
+        setSquare(y * gridWidth + x, state);
+    }
+
+    /**
+     * Set the state of the square with the given index. The open squares index is kept up
+     * to date here so that finding an open square never requires scanning the grid.
+     * @param square The index (y * gridWidth + x) of a square on the grid.
+     * @param state The new state of the square (EMPTY, BODY, FRUIT, or WALL).
+     */
+    public void setSquare(int square, int state)
+    {
+        //Log the square's previous state so the change can be undone
+        int position = openSquarePositions[square];
+        if (isLogging)
+        {
+            if (undoLogSize == undoLog.length)
+            {
+                undoLog = Arrays.copyOf(undoLog, undoLog.length * 2);
+            }
+            undoLog[undoLogSize++] = square;
+            undoLog[undoLogSize++] = getSquare(square);
+            undoLog[undoLogSize++] = position;
+        }
+
+        //Update the two bits storing the square's state
+        int word = square >>> 6;
+        long bit = 1L << square;
+        blocked[word] = ((state & 1) != 0) ? (blocked[word] | bit) : (blocked[word] & ~bit);
+        special[word] = ((state & 2) != 0) ? (special[word] | bit) : (special[word] & ~bit);
+
+        markDirty(square);
+
+        if (state != EMPTY && position >= 0) //The square was open, remove it from the index
+        {
+            //Move the last open square into the removed square's position
+            int last = openSquares[--openSquareCount];
+            openSquares[position] = last;
+            openSquarePositions[last] = position;
+            openSquarePositions[square] = -1;
+        }
+        else if (state == EMPTY && position < 0) //The square was not open, add it to the index
+        {
+            openSquares[openSquareCount] = square;
+            openSquarePositions[square] = openSquareCount++;
+        }
+    }
+
+    /**
+     * Start or stop writing changes to squares to the undo log. Stopping doesn't clear the log, changes
+     * already logged can still be undone.
+     * @param isLogging True to log changes, false to stop.
+     */
+    public void setLogging(boolean isLogging)
+    {
+        this.isLogging = isLogging;
+    }
+
+    /**
+     * Get the current position in the undo log, to undo every change made after it with undoTo().
+     * @return The position in the undo log.
+     */
+    public int getUndoMark()
+    {
+        return undoLogSize;
+    }
+
+    /**
+     * Undo every logged change made since the undo log was at a position, most recent first. Each change
+     * is reversed exactly: a square removed from the open squares goes back to the position it was
+     * removed from, and the square that was moved into its place goes back to the end.
+     * @param mark A position returned by getUndoMark(), changes before it are kept.
+     */
+    public void undoTo(int mark)
+    {
+        while (undoLogSize > mark)
+        {
+            int position = undoLog[--undoLogSize];
+            int state = undoLog[--undoLogSize];
+            int square = undoLog[--undoLogSize];
+
+            int word = square >>> 6;
+            long bit = 1L << square;
+            blocked[word] = ((state & 1) != 0) ? (blocked[word] | bit) : (blocked[word] & ~bit);
+            special[word] = ((state & 2) != 0) ? (special[word] | bit) : (special[word] & ~bit);
+            markDirty(square);
+
+            if (position >= 0 && openSquarePositions[square] < 0) //The square was removed, put it back
+            {
+                //Move the square that took its place back to the end, where it was moved from (unless it was last)
+                if (position < openSquareCount)
+                {
+                    int moved = openSquares[position];
+                    openSquares[openSquareCount] = moved;
+                    openSquarePositions[moved] = openSquareCount;
+                }
+                openSquareCount++;
+                openSquares[position] = square;
+                openSquarePositions[square] = position;
+            }
+            else if (position < 0 && openSquarePositions[square] >= 0) //The square was added, it's still last
+            {
+                openSquarePositions[square] = -1;
+                openSquareCount--;
+            }
+        }
+    }
+
+    /**
+     * Mark the square with the given index as dirty (it needs to be repainted). Squares are marked dirty
+     * whenever their state is set, this is only needed for changes to how an occupied square is drawn.
+     * @param square The index (y * gridWidth + x) of a square on the grid.
+     */
+    public void markDirty(int square)
+    {
+        int word = square >>> 6;
+        long bit = 1L << square;
+        if ((dirtyBits[word] & bit) == 0)
+        {
+            dirtyBits[word] |= bit;
+            dirtySquares[dirtyCount++] = square;
+        }
+    }
+
+    /**
+     * Get the number of dirty squares.
+     * @return The number of squares that changed since clearDirty() was last called.
+     */
+    public int getDirtyCount()
+    {
+        return dirtyCount;
+    }
+
+    /**
+     * Get one of the dirty squares.
+     * @param i A value from 0 (inclusive) to getDirtyCount() (exclusive).
+     * @return The index (y * gridWidth + x) of the dirty square.
+     */
+    public int getDirtySquare(int i)
+    {
+        return dirtySquares[i];
+    }
+
+    /**
+     * Clear the dirty squares once they have been repainted.
+     */
+    public void clearDirty()
+    {
+        for (int i = 0; i < dirtyCount; i++)
+        {
+            int square = dirtySquares[i];
+            dirtyBits[square >>> 6] &= ~(1L << square);
+        }
+        dirtyCount = 0;
+    }
+
+    /**
+     * Empty every square and put the open squares back in the order a new grid has them, so a new game
+     * can be started on this grid and spawn its fruit where a new grid would. Every square is marked
+     * dirty and the undo log is cleared.
+     */
+    public void clear()
+    {
+        Arrays.fill(blocked, 0L);
+        Arrays.fill(special, 0L);
+        openSquareCount = openSquares.length;
+        for (int i = 0; i < openSquareCount; i++)
+        {
+            openSquares[i] = i;
+            openSquarePositions[i] = i;
+        }
+        undoLogSize = 0;
+
+        //Everything needs to be repainted
+        clearDirty();
+        for (int square = 0; square < openSquareCount; square++)
+        {
+            markDirty(square);
+        }
+    }
+
+    /**
+     * Save the state of every square, and the order of the open squares, into a snapshot.
+     * @param snapshot The snapshot to save into, sized for this grid.
+     */
+    public void saveState(GameSnapshot snapshot)
+    {
+        System.arraycopy(blocked, 0, snapshot.blocked, 0, blocked.length);
+        System.arraycopy(special, 0, snapshot.special, 0, special.length);
+        System.arraycopy(openSquares, 0, snapshot.openSquares, 0, openSquareCount);
+        snapshot.openSquareCount = openSquareCount;
+    }
+
+    /**
+     * Load the state of every square from a snapshot. The open squares are restored in the same order
+     * they were saved in, so the fruit spawns in the same places it would have. Every square is
+     * marked dirty since any of them may have changed.
+     * @param snapshot The snapshot to load, saved from a grid of the same size.
+     */
+    public void loadState(GameSnapshot snapshot)
+    {
+        System.arraycopy(snapshot.blocked, 0, blocked, 0, blocked.length);
+        System.arraycopy(snapshot.special, 0, special, 0, special.length);
+        openSquareCount = snapshot.openSquareCount;
+        System.arraycopy(snapshot.openSquares, 0, openSquares, 0, openSquareCount);
+
+        //Rebuild the position of each square in the open squares index
+        Arrays.fill(openSquarePositions, -1);
+        for (int i = 0; i < openSquareCount; i++)
+        {
+            openSquarePositions[openSquares[i]] = i;
+        }
+
+        //Everything needs to be repainted
+        clearDirty();
+        for (int square = 0; square < openSquarePositions.length; square++)
+        {
+            markDirty(square);
+        }
+    }
+
+    /**
+     * Copy the state of every square, and the order of the open squares, into another grid of the same
+     * size. Unlike saving and loading a snapshot the position index is copied rather than rebuilt. Every
+     * square of the other grid is marked dirty and its undo log is cleared.
+     * @param other The grid to copy into.
+     */
+    public void copyInto(Grid other)
+    {
+        System.arraycopy(blocked, 0, other.blocked, 0, blocked.length);
+        System.arraycopy(special, 0, other.special, 0, special.length);
+        System.arraycopy(openSquares, 0, other.openSquares, 0, openSquareCount);
+        System.arraycopy(openSquarePositions, 0, other.openSquarePositions, 0, openSquarePositions.length);
+        other.openSquareCount = openSquareCount;
+        other.undoLogSize = 0;
+
+        //Everything needs to be repainted
+        int squareCount = openSquarePositions.length;
+        for (int square = 0; square < squareCount; square++)
+        {
+            other.dirtySquares[square] = square;
+        }
+        Arrays.fill(other.dirtyBits, -1L);
+        other.dirtyCount = squareCount;
+    }
+
+    /**
+     * Get the width of the grid in squares.
+     * @return The width of the grid in squares.
+     */
+    public int getGridWidth()
+    {
+        return gridWidth;
+    }
+
+    /**
+     * Get the height of the grid in squares.
+     * @return The height of the grid in squares.
+     */
+    public int getGridHeight()
+    {
+        return gridHeight;
+    }
+
+    /**
+     * Get the x grid coordinate of the center square (or close to it).
+     * @return The x coordinate of the center square.
+     */
+    public int getCenterX()
+    {
+        return gridWidth/2;
+    }
+
+    /**
+     * Get the y grid coordinate of the center square (or close to it).
+     * @return The y coordinate of the center square.
+     */
+    public int getCenterY()
+    {
+        return gridHeight/2;
+    }
+
+    /**
+     * Draw the grid.
+     * @param dbGraphics The Graphics object used to draw the grid.
+     */
+    public void draw(Graphics dbGraphics)
+    {
+        dbGraphics.setColor(translucentGray);
+        for (int i = 0; i < gridWidth; i++)
+        {
+            for (int j = 0; j < gridHeight; j++)
+            {
+                dbGraphics.drawRect(SQUARE_WIDTH * i,
+                        SQUARE_HEIGHT * j, SQUARE_WIDTH, SQUARE_HEIGHT);
+            }
+        }
+    }
+}
@@ -0,0 +1,359 @@
+package snake;
+
+/**
+ * @author Logan Karstetter
+ * Date: 10/16/2026
+ */
+public class HamiltonianSolver implements SnakeController
+{
+    /** The fraction of the cycle the snake can fill before it stops taking shortcuts and only follows the cycle */
+    private static final double SHORTCUT_FILL = 0.5;
+    /** The number of free squares kept between the head and the tail after a shortcut, on top of the room
+     * left for the snake to grow while its tail catches up */
+    private static final int SHORTCUT_MARGIN = 3;
+
+    /** The width of the grid in squares */
+    private int gridWidth;
+    /** The height of the grid in squares */
+    private int gridHeight;
+    /** The squares of the cycle in the order they are visited */
+    private int[] cycle;
+    /** The number of squares on the cycle */
+    private int cycleLength;
+    /** The position of each square on the cycle */
+    private int[] order;
+    /** Determines whether the top left corner is left off the cycle and shares its position with (1, 1) */
+    private boolean isCornerTwinned;
+
+    /** The number of fruits eaten when the solver last saw the score change */
+    private int lastFruitsEaten;
+    /** The tick the solver last saw the score change on */
+    private long lastFruitTick;
+    /** Determines whether the solver has given up on the game, see isStalled() */
+    private boolean isStalled;
+
+    /**
+     * Create a controller that fills the grid by following a Hamiltonian cycle, a loop that visits every
+     * square once. A snake that only follows the cycle can never crash, since its body always lies along
+     * the cycle behind its head, so it is guaranteed to fill the grid. While the snake is short it takes
+     * shortcuts towards the fruit, but only onto squares further along the cycle and well short of its
+     * tail, so the body stays in cycle order and following the cycle stays safe. The cycle is built once
+     * for each grid size and every decision only looks at the head's four neighbors, so a tick takes the
+     * same time however large the grid is.
+     * A grid with an odd width and height has no Hamiltonian cycle, and can't be filled for certain: the
+     * last two fruits have to be eaten on back to back ticks, which needs the body to form a cycle through
+     * every square. On those grids the cycle covers every square but the top left corner, and the corner
+     * is treated as a second copy of the square the cycle passes through next to it, so the snake moves
+     * through the corner instead of that square when the fruit is in the corner, and it refuses a fruit
+     * it couldn't carry on from. The snake fills every square but one, then the solver gives up (see
+     * isStalled()) instead of crashing into the last gap or following the cycle forever.
+     */
+    public HamiltonianSolver()
+    {
+        //The cycle is built for the first grid the solver plays on
+    }
+
+    /**
+     * Decide the direction the snake should move on the next tick.
+     * @param engine The engine of the game being played.
+     * @return The direction to move, or -1 if the snake has no safe move.
+     */
+    @Override
+    public int nextDirection(GameEngine engine)
+    {
+        Grid grid = engine.getGrid();
+        prepare(grid);
+
+        //Following the cycle passes every square within a lap, so a lap without eating means the solver is
+        //refusing a fruit it can't carry on from and would circle forever (a new game starts the count again)
+        if (engine.getFruitsEaten() != lastFruitsEaten || engine.getTicks() < lastFruitTick)
+        {
+            lastFruitsEaten = engine.getFruitsEaten();
+            lastFruitTick = engine.getTicks();
+            isStalled = false;
+        }
+        else if (engine.getTicks() - lastFruitTick > cycleLength + 1)
+        {
+            isStalled = true;
+            return -1;
+        }
+
+        Snake snake = engine.getSnake();
+        Fruit fruit = engine.getFruit();
+        int head = snake.getHeadSquare();
+        int tail = snake.getTailSquare();
+        int headOrder = order[head];
+        int fruitSquare = fruit.isPlaced() ? fruit.gridY * gridWidth + fruit.gridX : -1;
+
+        //Work out how far along the cycle the head can jump without getting too close to the tail. The squares
+        //jumped over only open up ahead of the head once the tail has passed them, which takes as many ticks
+        //as the snake is long, so room is left ahead for a fruit eaten on every one of those ticks
+        int maxJump = 1;
+        if (snake.getLength() < cycleLength * SHORTCUT_FILL)
+        {
+            int room = getDistance(headOrder, order[tail]) - snake.getLength() - snake.getPendingGrowth();
+            maxJump = Math.max(1, room - SHORTCUT_MARGIN);
+            if (fruitSquare >= 0)
+            {
+                //Don't jump past the fruit. The corner left off an odd grid's cycle can only be reached from the
+                //square before its twin, so don't jump onto the twin when the fruit is in the corner
+                int fruitDistance = getDistance(headOrder, order[fruitSquare]);
+                if (isCornerTwinned && fruitSquare == 0)
+                {
+                    fruitDistance--;
+                }
+                maxJump = Math.min(maxJump, Math.max(1, fruitDistance));
+            }
+        }
+
+        //Move to the neighbor furthest along the cycle that can be jumped to, or the next square on the cycle
+        int headX = grid.getSquareX(head);
+        int headY = grid.getSquareY(head);
+        int bestDirection = -1;
+        int bestJump = 0;
+        boolean isBestFruit = false;
+        for (int direction = 0; direction < 4; direction++)
+        {
+            int x = headX + ((direction == Snake.RIGHT) ? 1 : (direction == Snake.LEFT) ? -1 : 0);
+            int y = headY + ((direction == Snake.DOWN) ? 1 : (direction == Snake.UP) ? -1 : 0);
+            if (x < 0 || x >= gridWidth || y < 0 || y >= gridHeight)
+            {
+                continue;
+            }
+            int square = y * gridWidth + x;
+            int jump = getDistance(headOrder, order[square]);
+            if (jump == 0 || jump > maxJump)
+            {
+                continue;
+            }
+
+            //The next square on the cycle can be the tail as it moves off, a shortcut must be open
+            boolean isOpen = !grid.isOccupied(x, y);
+            if (!isOpen && !(jump == 1 && square == tail && snake.getPendingGrowth() == 0 && snake.getLength() > 2))
+            {
+                continue;
+            }
+
+            //Only eat the fruit if the snake can keep following the cycle while it grows (or it wins)
+            boolean isFruit = square == fruitSquare;
+            if (isFruit && !isSafeToEat(grid, snake, square))
+            {
+                continue;
+            }
+
+            //Prefer the furthest jump, and the fruit between the corner and its twin
+            if (jump > bestJump || (jump == bestJump && isFruit && !isBestFruit))
+            {
+                bestDirection = direction;
+                bestJump = jump;
+                isBestFruit = isFruit;
+            }
+        }
+
+        //Every move off the cycle could crash, so give up rather than carry on into the wall or the body
+        isStalled = bestDirection < 0;
+        return bestDirection;
+    }
+
+    /**
+     * Determine if the solver has given up on the game. This only happens on a grid with no Hamiltonian
+     * cycle (see the constructor), once the snake has no move that keeps it on the cycle or has followed
+     * the cycle for a whole lap without being able to eat.
+     * @return True if the solver can't make any more progress.
+     */
+    @Override
+    public boolean isStalled()
+    {
+        return isStalled;
+    }
+
+    /**
+     * Determine if the snake can eat the fruit and carry on along the cycle. The tail stays put for a tick
+     * after the snake eats, so the square after the fruit on the cycle has to be open by then. Eating the
+     * last fruit while the snake is still growing fills the grid, which is always safe.
+     * @param grid The grid of the game being played.
+     * @param snake The snake.
+     * @param fruitSquare The square of the fruit.
+     * @return True if the fruit can be eaten.
+     */
+    private boolean isSafeToEat(Grid grid, Snake snake, int fruitSquare)
+    {
+        if (grid.getOpenSquareCount() == 0 && snake.getPendingGrowth() > 0)
+        {
+            return true;
+        }
+        int next = cycle[(order[fruitSquare] + 1) % cycleLength];
+        return grid.getSquare(next) != Grid.BODY || (next == snake.getTailSquare() && snake.getPendingGrowth() == 0);
+    }
+
+    /**
+     * Build the cycle if this is the first grid played on or its size has changed.
+     * @param grid The grid of the game being played.
+     */
+    private void prepare(Grid grid)
+    {
+        if (cycle == null || grid.getGridWidth() != gridWidth || grid.getGridHeight() != gridHeight)
+        {
+            gridWidth = grid.getGridWidth();
+            gridHeight = grid.getGridHeight();
+            buildCycle();
+        }
+    }
+
+    /**
+     * Build a Hamiltonian cycle for the grid. With an even height the cycle runs back and forth along
+     * the rows from column 1 and comes back up column 0, with an even width it does the same along the
+     * columns. With an odd width and height the top left corner is left out (see the constructor).
+     */
+    private void buildCycle()
+    {
+        int squareCount = gridWidth * gridHeight;
+        cycle = new int[squareCount];
+        order = new int[squareCount];
+        cycleLength = 0;
+        isCornerTwinned = false;
+
+        if (gridWidth == 1 || gridHeight == 1)
+        {
+            //A single row or column has no cycle, the snake can only run along it once
+            for (int i = 0; i < squareCount; i++)
+            {
+                addToCycle(i % gridWidth, i / gridWidth);
+            }
+        }
+        else if (gridHeight % 2 == 0)
+        {
+            addToCycle(0, 0);
+            for (int y = 0; y < gridHeight; y++)
+            {
+                for (int i = 1; i < gridWidth; i++)
+                {
+                    addToCycle((y % 2 == 0) ? i : gridWidth - i, y);
+                }
+            }
+            for (int y = gridHeight - 1; y > 0; y--)
+            {
+                addToCycle(0, y);
+            }
+        }
+        else if (gridWidth % 2 == 0)
+        {
+            addToCycle(0, 0);
+            for (int x = 0; x < gridWidth; x++)
+            {
+                for (int i = 1; i < gridHeight; i++)
+                {
+                    addToCycle(x, (x % 2 == 0) ? i : gridHeight - i);
+                }
+            }
+            for (int x = gridWidth - 1; x > 0; x--)
+            {
+                addToCycle(x, 0);
+            }
+        }
+        else
+        {
+            //Go round the corner through (1, 1), down column 0, and back and forth along rows 2 and below
+            addToCycle(1, 0);
+            addToCycle(1, 1);
+            addToCycle(0, 1);
+            for (int y = 2; y < gridHeight; y++)
+            {
+                addToCycle(0, y);
+            }
+            for (int y = gridHeight - 1; y >= 2; y--)
+            {
+                for (int i = 1; i < gridWidth; i++)
+                {
+                    addToCycle(((gridHeight - 1 - y) % 2 == 0) ? i : gridWidth - i, y);
+                }
+            }
+
+            //Then back and forth along the columns of rows 0 and 1 to the start
+            for (int x = gridWidth - 1; x >= 2; x--)
+            {
+                addToCycle(x, ((gridWidth - 1 - x) % 2 == 0) ? 1 : 0);
+                addToCycle(x, ((gridWidth - 1 - x) % 2 == 0) ? 0 : 1);
+            }
+
+            //The corner shares its position with (1, 1), the square the cycle passes through beside it
+            order[0] = order[gridWidth + 1];
+            isCornerTwinned = true;
+        }
+    }
+
+    /**
+     * Add a square to the end of the cycle.
+     * @param x The x coordinate of the square.
+     * @param y The y coordinate of the square.
+     */
+    private void addToCycle(int x, int y)
+    {
+        int square = y * gridWidth + x;
+        order[square] = cycleLength;
+        cycle[cycleLength++] = square;
+    }
+
+    /**
+     * Get the number of steps along the cycle from one position to another.
+     * @param from The position on the cycle to start from.
+     * @param to The position on the cycle to end at.
+     * @return The number of steps forward along the cycle (0 to cycleLength - 1).
+     */
+    private int getDistance(int from, int to)
+    {
+        int distance = to - from;
+        return (distance < 0) ? distance + cycleLength : distance;
+    }
+
+    /**
+     * Play complete games with the solver as fast as possible, to exercise the end of the game where the
+     * grid fills up and the fruit has nowhere left to spawn. Each grid size given is played once and the
+     * ticks, fruits eaten, and time are printed. The process exits with status 1 if a game wasn't won,
+     * which happens on odd by odd grids when the solver stalls (see the constructor).
+     * Usage: HamiltonianSolver [WIDTHxHEIGHT...], 24x24, 64x64, and 100x100 by default.
+     * @param args The grid sizes to play.
+     */
+    public static void main(String[] args)
+    {
+        if (args.length == 0)
+        {
+            args = new String[] {"24x24", "64x64", "100x100"};
+        }
+
+        boolean isWon = true;
+        for (String size : args)
+        {
+            String[] dimensions = size.split("x");
+            GameEngine engine = new GameEngine(Integer.parseInt(dimensions[0]), Integer.parseInt(dimensions[1]), 42L);
+            HamiltonianSolver solver = new HamiltonianSolver();
+            Snake snake = engine.getSnake();
+
+            long startTime = System.nanoTime();
+            while (!engine.isGameOver())
+            {
+                int direction = solver.nextDirection(engine);
+                if (solver.isStalled())
+                {
+                    break;
+                }
+                if (direction >= 0 && snake.isTurn(direction))
+                {
+                    snake.setCurrentDirection(direction);
+                }
+                engine.step();
+            }
+            long time = System.nanoTime() - startTime;
+
+            isWon &= engine.getStatus() == GameEngine.WON;
+            System.out.printf("%s: %s with %d fruits eaten in %d ticks, %.2f s (%.1f ns/tick)%n", size,
+                    solver.isStalled() ? "Stalled" : engine.getDeathCause(), engine.getFruitsEaten(),
+                    engine.getTicks(), time/1000000000.0, (double) time / engine.getTicks());
+        }
+
+        if (!isWon)
+        {
+            System.exit(1);
+        }
+    }
+}
@@ -1,3 +1,5 @@
+package snake;
+
 import javax.imageio.ImageIO;
 import java.awt.*;
 import java.awt.image.BufferedImage;
@@ -19,7 +21,8 @@ public class ImageLoader
      */
     private HashMap imagesMap;
 
-    /** The graphics configuration describing the characteristics of the user's display */
+    /** The graphics configuration describing the characteristics of the user's display,
+     * this is null when running headless (there is no display) */
     private GraphicsConfiguration graphicsConfiguration;
 
     /**
@@ -29,8 +32,11 @@ public class ImageLoader
     {
         //Create the imagesMap and get the graphicsConfiguration
         imagesMap = new HashMap();
-        GraphicsEnvironment graphicsEnvironment = GraphicsEnvironment.getLocalGraphicsEnvironment();
-        graphicsConfiguration = graphicsEnvironment.getDefaultScreenDevice().getDefaultConfiguration();
+        if (!GraphicsEnvironment.isHeadless()) //Headless environments don't have a screen device
+        {
+            GraphicsEnvironment graphicsEnvironment = GraphicsEnvironment.getLocalGraphicsEnvironment();
+            graphicsConfiguration = graphicsEnvironment.getDefaultScreenDevice().getDefaultConfiguration();
+        }
     }
     /**
      * Create an ImageLoader for loading images from a file located in some directory.
@@ -116,8 +122,17 @@ public class ImageLoader
 
             //Create a new copy of the image to ensure it becomes a managed image
             int transparency = readImage.getColorModel().getTransparency();
-            BufferedImage copy = graphicsConfiguration.createCompatibleImage(readImage.getWidth(),
-                    readImage.getHeight(), transparency);
+            BufferedImage copy;
+            if (graphicsConfiguration != null)
+            {
+                copy = graphicsConfiguration.createCompatibleImage(readImage.getWidth(),
+                        readImage.getHeight(), transparency);
+            }
+            else //There is no display to be compatible with, use a plain RGB or ARGB image
+            {
+                copy = new BufferedImage(readImage.getWidth(), readImage.getHeight(),
+                        (transparency == Transparency.OPAQUE) ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB);
+            }
             //Create a graphics context to draw the image onto
             Graphics2D g2d = copy.createGraphics();
             g2d.drawImage(readImage, 0, 0, null);
@@ -0,0 +1,127 @@
+package snake;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * @author Logan Karstetter
+ * Date: 10/16/2026
+ */
+public class InputQueue
+{
+    /** The directions of the queued input events, stored in a ring indexed by sequence & mask */
+    private final int[] directions;
+    /** The times the queued input events happened (in nanos, as returned by System.nanoTime()) */
+    private final long[] timestamps;
+    /** The mask used to wrap a sequence number into the ring (capacity - 1) */
+    private final int mask;
+
+    /** The sequence number of the next event the producer will write. It is only written by the
+     * producer and is published with lazySet so the event is visible before the index moves. */
+    private final AtomicLong tail = new AtomicLong();
+    /** The sequence number of the next event the consumer will read. It is only written by the consumer. */
+    private final AtomicLong head = new AtomicLong();
+
+    /** The producer's copy of head, so it only reads the consumer's index when the ring looks full */
+    private long headCache;
+    /** The consumer's copy of tail, so it only reads the producer's index when the ring looks empty */
+    private long tailCache;
+
+    /** The time of the event returned by the last call to poll() (in nanos) */
+    private long lastTimestamp;
+    /** The number of events dropped because the queue was full */
+    private volatile long dropped;
+
+    /**
+     * Create a bounded queue of input events passed from a single producer thread (the AWT event thread)
+     * to a single consumer thread (the game thread). Neither side ever blocks or takes a lock, and
+     * offering or polling an event does not allocate.
+     * @param capacity The max number of events that can be queued, rounded up to a power of two.
+     */
+    public InputQueue(int capacity)
+    {
+        int size = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+        directions = new int[size];
+        timestamps = new long[size];
+        mask = size - 1;
+    }
+
+    /**
+     * Add an input event to the queue. This must only be called by the producer thread.
+     * @param direction The direction that was pressed (Snake.UP, RIGHT, DOWN, or LEFT).
+     * @param timestamp The time the input happened (in nanos, as returned by System.nanoTime()).
+     * @return True if the event was queued, false if the queue was full and the event was dropped.
+     */
+    public boolean offer(int direction, long timestamp)
+    {
+        long sequence = tail.get(); //Only this thread writes tail, so this is always current
+        if (sequence - headCache > mask)
+        {
+            //The ring looks full, see how far the consumer has actually read
+            headCache = head.get();
+            if (sequence - headCache > mask)
+            {
+                dropped++; //Only this thread writes dropped
+                return false;
+            }
+        }
+
+        //Write the event, then publish it by moving the tail past it
+        int position = (int) sequence & mask;
+        directions[position] = direction;
+        timestamps[position] = timestamp;
+        tail.lazySet(sequence + 1);
+        return true;
+    }
+
+    /**
+     * Remove the oldest input event from the queue. This must only be called by the consumer thread.
+     * @return The direction of the event, or -1 if the queue is empty.
+     */
+    public int poll()
+    {
+        long sequence = head.get(); //Only this thread writes head, so this is always current
+        if (sequence >= tailCache)
+        {
+            //The ring looks empty, see how far the producer has actually written
+            tailCache = tail.get();
+            if (sequence >= tailCache)
+            {
+                return -1;
+            }
+        }
+
+        //Read the event, then free its slot by moving the head past it
+        int position = (int) sequence & mask;
+        int direction = directions[position];
+        lastTimestamp = timestamps[position];
+        head.lazySet(sequence + 1);
+        return direction;
+    }
+
+    /**
+     * Get the time of the event returned by the last call to poll(). This must only be called by the
+     * consumer thread.
+     * @return The time the event happened (in nanos, as returned by System.nanoTime()).
+     */
+    public long getLastTimestamp()
+    {
+        return lastTimestamp;
+    }
+
+    /**
+     * Remove every queued event. This must only be called by the consumer thread.
+     */
+    public void clear()
+    {
+        head.lazySet(tail.get());
+    }
+
+    /**
+     * Get the number of events that were dropped because the queue was full.
+     * @return The number of dropped events.
+     */
+    public long getDropped()
+    {
+        return dropped;
+    }
+}
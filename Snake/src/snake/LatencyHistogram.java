@@ -0,0 +1,184 @@
+package snake;
+
+import java.util.Arrays;
+
+/**
+ * @author Logan Karstetter
+ * Date: 10/16/2026
+ */
+public class LatencyHistogram
+{
+    /** The number of bits of each value kept when it is bucketed, values keep 1 part in 2^(SUB_BUCKET_BITS - 1) precision */
+    private static final int SUB_BUCKET_BITS = 5;
+    /** The number of values below which every value gets its own bucket */
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    /** The number of buckets each power of two above SUB_BUCKET_COUNT is split into */
+    private static final int HALF_SUB_BUCKET_COUNT = SUB_BUCKET_COUNT >> 1;
+    /** The number of buckets needed to hold any non-negative long */
+    private static final int BUCKET_COUNT = SUB_BUCKET_COUNT + (63 - SUB_BUCKET_BITS) * HALF_SUB_BUCKET_COUNT;
+
+    /** The number of values recorded in each bucket */
+    private long[] counts;
+    /** The number of values recorded */
+    private long totalCount;
+    /** The sum of the values recorded */
+    private long totalValue;
+    /** The smallest value recorded */
+    private long min;
+    /** The largest value recorded */
+    private long max;
+
+    /**
+     * Create a histogram of latencies (or any other non-negative values). The buckets are linear up to
+     * SUB_BUCKET_COUNT and then split each power of two into HALF_SUB_BUCKET_COUNT linear buckets, so
+     * every value is kept to within about 6% no matter how large it is. All of the memory is allocated
+     * here, recording a value is a few shifts and an array increment and never allocates.
+     */
+    public LatencyHistogram()
+    {
+        counts = new long[BUCKET_COUNT];
+        reset();
+    }
+
+    /**
+     * Record a value. Negative values are recorded as 0.
+     * @param value The value to record (usually in nanos).
+     */
+    public void record(long value)
+    {
+        if (value < 0)
+        {
+            value = 0;
+        }
+        counts[getBucket(value)]++;
+        totalCount++;
+        totalValue = totalValue + value;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    /**
+     * Get the bucket a value is counted in.
+     * @param value A non-negative value.
+     * @return The index of the value's bucket.
+     */
+    private static int getBucket(long value)
+    {
+        if (value < SUB_BUCKET_COUNT)
+        {
+            return (int) value;
+        }
+
+        //Keep the top SUB_BUCKET_BITS bits of the value, the top bit is always set so it isn't stored
+        int shift = (63 - Long.numberOfLeadingZeros(value)) - SUB_BUCKET_BITS + 1;
+        int subBucket = (int) (value >>> shift) - HALF_SUB_BUCKET_COUNT;
+        return SUB_BUCKET_COUNT + (shift - 1) * HALF_SUB_BUCKET_COUNT + subBucket;
+    }
+
+    /**
+     * Get the largest value that is counted in a bucket.
+     * @param bucket The index of the bucket.
+     * @return The largest value that falls in the bucket.
+     */
+    private static long getBucketMax(int bucket)
+    {
+        if (bucket < SUB_BUCKET_COUNT)
+        {
+            return bucket;
+        }
+        int shift = (bucket - SUB_BUCKET_COUNT) / HALF_SUB_BUCKET_COUNT + 1;
+        long subBucket = (bucket - SUB_BUCKET_COUNT) % HALF_SUB_BUCKET_COUNT + HALF_SUB_BUCKET_COUNT;
+        return ((subBucket + 1) << shift) - 1;
+    }
+
+    /**
+     * Get the value at a percentile of the recorded values. The value is the top of the bucket the
+     * percentile falls in (but never more than the max), so it is never lower than the exact value.
+     * @param percentile The percentile (0 to 100).
+     * @return The value at the percentile, or 0 if nothing has been recorded.
+     */
+    public long getValueAtPercentile(double percentile)
+    {
+        if (totalCount == 0)
+        {
+            return 0L;
+        }
+
+        //Find the bucket holding the value at the percentile's rank
+        long rank = Math.max(1L, (long) Math.ceil(percentile / 100.0 * totalCount));
+        long count = 0L;
+        for (int i = 0; i < BUCKET_COUNT; i++)
+        {
+            count = count + counts[i];
+            if (count >= rank)
+            {
+                return Math.min(getBucketMax(i), max);
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Get the number of values recorded.
+     * @return The number of values.
+     */
+    public long getCount()
+    {
+        return totalCount;
+    }
+
+    /**
+     * Get the mean of the recorded values.
+     * @return The mean, or 0 if nothing has been recorded.
+     */
+    public double getMean()
+    {
+        return (totalCount == 0) ? 0.0 : (double) totalValue / totalCount;
+    }
+
+    /**
+     * Get the smallest recorded value.
+     * @return The min, or 0 if nothing has been recorded.
+     */
+    public long getMin()
+    {
+        return (totalCount == 0) ? 0L : min;
+    }
+
+    /**
+     * Get the largest recorded value.
+     * @return The max, or 0 if nothing has been recorded.
+     */
+    public long getMax()
+    {
+        return max;
+    }
+
+    /**
+     * Add every value recorded in another histogram to this one.
+     * @param other The histogram to add, it is not changed.
+     */
+    public void add(LatencyHistogram other)
+    {
+        for (int i = 0; i < BUCKET_COUNT; i++)
+        {
+            counts[i] = counts[i] + other.counts[i];
+        }
+        totalCount = totalCount + other.totalCount;
+        totalValue = totalValue + other.totalValue;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    /**
+     * Remove every recorded value.
+     */
+    public void reset()
+    {
+        Arrays.fill(counts, 0L);
+        totalCount = 0L;
+        totalValue = 0L;
+        min = Long.MAX_VALUE;
+        max = 0L;
+    }
+}
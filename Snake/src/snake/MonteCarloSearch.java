@@ -0,0 +1,600 @@
+package snake;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * @author Logan Karstetter
+ * Date: 10/16/2026
+ */
+public class MonteCarloSearch implements SnakeController
+{
+    /** The number of nodes each worker's tree can hold, a tree stops growing once it is full */
+    private static final int MAX_NODES = 1 << 15;
+    /** The exploration constant of the UCT formula, higher values try the less promising moves more often */
+    private static final double EXPLORATION = 0.3;
+    /** The factor a fruit's worth shrinks by for each tick it takes to eat, so eating sooner scores higher */
+    private static final double FRUIT_DISCOUNT = 0.95;
+    /** The chance (in percent) that a rollout move is picked at random instead of by the autopilot */
+    private static final int ROLLOUT_RANDOMNESS = 10;
+    /** The time budget used until one is set (in nanos), half an update at the default 6 FPS */
+    private static final long DEFAULT_TIME_BUDGET = 1000000000L / 12;
+    /** The most time kept back from the budget for handing the search to the pool and merging the results (in nanos) */
+    private static final long BUDGET_MARGIN = 2000000L;
+    /** The score of a rollout that ends with the snake unable to reach its tail, it has trapped itself and will crash */
+    private static final double TRAPPED_SCORE = 0.1;
+
+    /** The pool the workers other than the first search in, or null if there is only one worker */
+    private ForkJoinPool pool;
+    /** The workers, each searches its own tree on its own copy of the game */
+    private Worker[] workers;
+    /** The controller asked before every search, its move is played unless the search finds a better one */
+    private Autopilot fallback;
+    /** The time each decision may take (in nanos) */
+    private volatile long timeBudget = DEFAULT_TIME_BUDGET;
+    /** The number of decisions made, mixed into each worker's seed so every search rolls out differently */
+    private long decisionCount;
+    /** The number of rollouts the workers finished for the last decision */
+    private long lastRolloutCount;
+    /** True if the last decision ran out of time before every direction was tried, so the autopilot's move was played */
+    private boolean isLastSearchSkipped;
+
+    /**
+     * Create a controller that picks each move with a Monte Carlo tree search on every core.
+     * @see #MonteCarloSearch(int)
+     */
+    public MonteCarloSearch()
+    {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Create a controller that picks each move with a Monte Carlo tree search. The search is root
+     * parallel: every worker grows its own tree from the current position on its own copy of the game,
+     * so the workers share nothing while they search, and their results for the four directions are
+     * combined at the end. Each iteration walks down the tree with UCT, makes the moves on the worker's
+     * engine, plays a rollout where the Autopilot picks most of the moves (and the rest are random so
+     * rollouts differ), scores it, and unmakes every move, so the game is only copied once per decision.
+     * The engine's fruit spawns are deterministic, so the search sees the fruit that will spawn as the
+     * real game will, and every rollout is a line of play the snake could really follow. A node is
+     * therefore scored by the best rollout through it rather than the mean, and a rollout that ends
+     * with the snake unable to reach its tail scores as trapped. The Autopilot's move is played unless
+     * the best rollout from any worker in another direction beats it, and the first rollout of each
+     * move from the root follows the Autopilot exactly, so the search only changes its move to get out
+     * of trouble or eat sooner. Workers stop at the time budget, checking it before every rollout move
+     * and inside the Autopilot's searches, so a decision never takes much longer than it is allowed to.
+     * The first worker searches on the thread asking for the move, so waking the pool's threads never
+     * delays it.
+     * @param threadCount The number of workers (at least 1), one less thread than this is started for the pool.
+     */
+    public MonteCarloSearch(int threadCount)
+    {
+        if (threadCount < 1)
+        {
+            throw new IllegalArgumentException("Can't search on " + threadCount + " threads");
+        }
+        if (threadCount > 1)
+        {
+            pool = new ForkJoinPool(threadCount - 1);
+        }
+        workers = new Worker[threadCount];
+        for (int i = 0; i < threadCount; i++)
+        {
+            workers[i] = new Worker();
+        }
+        fallback = new Autopilot();
+    }
+
+    /**
+     * Set how long each decision may take.
+     * @param nanos The time the next decision may take (in nanos).
+     */
+    @Override
+    public void setTimeBudget(long nanos)
+    {
+        timeBudget = nanos;
+    }
+
+    /**
+     * Decide the direction the snake should move on the next tick by searching until the time budget
+     * runs out. The margin kept back shrinks with the budget, so even a short budget leaves time to search.
+     * @param engine The engine of the game being played.
+     * @return The direction with the best rollout, or the Autopilot's direction if it is as good or there
+     * was no time to try every direction.
+     */
+    @Override
+    public int nextDirection(GameEngine engine)
+    {
+        long budget = timeBudget;
+        long deadline = System.nanoTime() + budget - Math.min(BUDGET_MARGIN, budget / 4);
+        decisionCount++;
+        lastRolloutCount = 0;
+
+        //Ask the autopilot first, the search has to beat its move to change it
+        fallback.setDeadline(deadline);
+        int autopilotDirection = fallback.nextDirection(engine);
+
+        //Search on every worker, the engine isn't changed until the search returns so they can all copy it
+        for (int i = 0; i < workers.length; i++)
+        {
+            workers[i].reinitialize();
+            workers[i].prepare(engine, deadline, decisionCount * 0x9E3779B97F4A7C15L + i);
+        }
+        if (deadline > System.nanoTime())
+        {
+            //Hand the other workers to the pool and search with the first one here, a worker that
+            //starts after the deadline returns straight away
+            for (int i = 1; i < workers.length; i++)
+            {
+                pool.execute(workers[i]);
+            }
+            workers[0].invoke();
+            for (int i = 1; i < workers.length; i++)
+            {
+                workers[i].join();
+            }
+        }
+
+        //Find the direction with the best rollout from any worker, preferring the most visited on a tie
+        Snake snake = engine.getSnake();
+        int bestDirection = -1;
+        long bestVisits = 0;
+        double bestScore = 0.0;
+        double autopilotScore = -1.0;
+        int untriedCount = 0;
+        for (int direction = 0; direction < 4; direction++)
+        {
+            long visits = 0;
+            double score = 0.0;
+            for (Worker worker : workers)
+            {
+                int child = worker.children[direction];
+                if (worker.nodeCount > 0 && child > 0 && worker.visits[child] > 0)
+                {
+                    visits = visits + worker.visits[child];
+                    score = Math.max(score, worker.bestScores[child]);
+                }
+            }
+            if (visits == 0)
+            {
+                //Straight back is never tried, anything else means the search ran out of time
+                if (snake.getLength() == 1 || direction != ((snake.getHeadDirection() + 2) & 3))
+                {
+                    untriedCount++;
+                }
+            }
+            else
+            {
+                if (direction == autopilotDirection)
+                {
+                    autopilotScore = score;
+                }
+                if (bestDirection < 0 || score > bestScore || (score == bestScore && visits > bestVisits))
+                {
+                    bestDirection = direction;
+                    bestVisits = visits;
+                    bestScore = score;
+                }
+            }
+        }
+        for (Worker worker : workers)
+        {
+            lastRolloutCount = lastRolloutCount + worker.rolloutCount;
+        }
+
+        //Without a rollout for every direction the best one may not have been seen, so the autopilot picks.
+        //Its move is also kept when nothing does better, the search only steers it out of trouble it can't see.
+        isLastSearchSkipped = (untriedCount > 0);
+        return (isLastSearchSkipped || autopilotScore >= bestScore) ? autopilotDirection : bestDirection;
+    }
+
+    /**
+     * Get the number of rollouts finished by all of the workers for the last decision.
+     * @return The number of rollouts.
+     */
+    public long getLastRolloutCount()
+    {
+        return lastRolloutCount;
+    }
+
+    /**
+     * Determine if the last decision ran out of time before trying every direction, so the Autopilot's
+     * move was played without being searched.
+     * @return True if the last search was skipped.
+     */
+    public boolean isLastSearchSkipped()
+    {
+        return isLastSearchSkipped;
+    }
+
+    /**
+     * Play games with the search as fast as it decides and print how each game ended, how long the
+     * decisions took, and how many rollouts they ran. Every decision is given the same budget and the
+     * number of decisions that took longer is printed (the thread being descheduled can cause a few).
+     * Usage: MonteCarloSearch [-games=N] [-size=WxH] [-budget=MS] [-threads=N], by default 3 games on a
+     * 10x10 grid with 5 ms per move on every core.
+     * @param args The options.
+     */
+    public static void main(String[] args)
+    {
+        int gameCount = 3;
+        int gridWidth = 10;
+        int gridHeight = 10;
+        long budget = 5000000L;
+        int threadCount = Runtime.getRuntime().availableProcessors();
+        for (String arg : args)
+        {
+            if (arg.startsWith("-games="))
+            {
+                gameCount = Integer.parseInt(arg.substring("-games=".length()));
+            }
+            else if (arg.startsWith("-size="))
+            {
+                String[] dimensions = arg.substring("-size=".length()).split("x");
+                gridWidth = Integer.parseInt(dimensions[0]);
+                gridHeight = Integer.parseInt(dimensions[1]);
+            }
+            else if (arg.startsWith("-budget="))
+            {
+                budget = (long) (Double.parseDouble(arg.substring("-budget=".length())) * 1000000.0);
+            }
+            else if (arg.startsWith("-threads="))
+            {
+                threadCount = Integer.parseInt(arg.substring("-threads=".length()));
+            }
+        }
+
+        MonteCarloSearch search = new MonteCarloSearch(threadCount);
+        LatencyHistogram decisionTimes = new LatencyHistogram();
+        long rolloutCount = 0L;
+        long overrunCount = 0L;
+        long skippedCount = 0L;
+        long totalFruitsEaten = 0L;
+        for (int game = 0; game < gameCount; game++)
+        {
+            //Stop a game that goes on far longer than filling the grid should take
+            GameEngine engine = new GameEngine(gridWidth, gridHeight, game);
+            Snake snake = engine.getSnake();
+            long maxTicks = 100L * gridWidth * gridHeight;
+            while (!engine.isGameOver() && engine.getTicks() < maxTicks)
+            {
+                search.setTimeBudget(budget);
+                long startTime = System.nanoTime();
+                int direction = search.nextDirection(engine);
+                long time = System.nanoTime() - startTime;
+                decisionTimes.record(time);
+                rolloutCount = rolloutCount + search.getLastRolloutCount();
+                if (time > budget)
+                {
+                    overrunCount++;
+                }
+                if (search.isLastSearchSkipped())
+                {
+                    skippedCount++;
+                }
+
+                if (direction >= 0 && snake.isTurn(direction))
+                {
+                    snake.setCurrentDirection(direction);
+                }
+                engine.step();
+            }
+            totalFruitsEaten = totalFruitsEaten + engine.getFruitsEaten();
+            System.out.printf("Game %d: %s with %d fruits eaten in %d ticks%n", game, engine.getDeathCause(),
+                    engine.getFruitsEaten(), engine.getTicks());
+        }
+
+        System.out.printf("%nMean fruits eaten %.1f on %dx%d with %d threads%n", (double) totalFruitsEaten / gameCount,
+                gridWidth, gridHeight, threadCount);
+        System.out.printf("Decision time (budget %.2f ms): p50 %.2f ms, p99 %.2f ms, max %.2f ms, %d over budget%n",
+                budget/1000000.0, decisionTimes.getValueAtPercentile(50.0)/1000000.0,
+                decisionTimes.getValueAtPercentile(99.0)/1000000.0, decisionTimes.getMax()/1000000.0, overrunCount);
+        System.out.printf("Rollouts per decision: %.0f, %d decisions played the autopilot's move without a search%n",
+                (double) rolloutCount / decisionTimes.getCount(), skippedCount);
+    }
+
+    /**
+     * One of the searches run in parallel. A worker keeps its engine, autopilot, and tree between
+     * decisions, so nothing is allocated per decision unless the grid changes size. It is never serialized.
+     */
+    @SuppressWarnings("serial")
+    private static class Worker extends RecursiveAction
+    {
+        /** The worker's copy of the game, moves are made and unmade on it */
+        GameEngine engine;
+        /** The autopilot that picks most rollout moves */
+        Autopilot autopilot = new Autopilot();
+        /** The random number generator for choosing untried moves and random rollout moves */
+        GameRandom rng = new GameRandom(0L);
+
+        /** The child of each node in each direction (4 per node), 0 if it hasn't been tried */
+        int[] children = new int[MAX_NODES * 4];
+        /** The number of rollouts that went through each node */
+        int[] visits = new int[MAX_NODES];
+        /** The best score of the rollouts that went through each node */
+        double[] bestScores = new double[MAX_NODES];
+        /** The number of nodes in the tree, the root is node 0 */
+        int nodeCount;
+        /** The nodes visited by the current iteration, from the root down */
+        int[] path = new int[MAX_NODES];
+
+        /** The game being decided for, copied at the start of the search */
+        GameEngine source;
+        /** The time the search has to stop by (System.nanoTime()) */
+        long deadline;
+        /** The worth of the fruits eaten since the root in the current iteration, each discounted by when it was eaten */
+        double fruitWorth;
+        /** The worth of a fruit eaten on the next move of the current iteration */
+        double nextFruitWorth;
+        /** The number of ticks each rollout plays after leaving the tree, long enough to reach the fruit and
+         * for the whole snake to move on so a rollout that has trapped itself crashes before it ends */
+        int rolloutTicks;
+        /** The number of rollouts finished this decision */
+        long rolloutCount;
+
+        /**
+         * Set up the worker for the next decision.
+         * @param source The game being decided for.
+         * @param deadline The time the search has to stop by.
+         * @param seed The seed for this search's random choices.
+         */
+        void prepare(GameEngine source, long deadline, long seed)
+        {
+            this.source = source;
+            this.deadline = deadline;
+            autopilot.setDeadline(deadline);
+            rng.setState(seed);
+            nodeCount = 0;
+            rolloutCount = 0;
+        }
+
+        /**
+         * Copy the game and run iterations until the deadline.
+         */
+        @Override
+        protected void compute()
+        {
+            Grid grid = source.getGrid();
+            if (engine == null || engine.getGrid().getGridWidth() != grid.getGridWidth()
+                    || engine.getGrid().getGridHeight() != grid.getGridHeight())
+            {
+                engine = new GameEngine(grid.getGridWidth(), grid.getGridHeight());
+            }
+            source.copyInto(engine);
+            rolloutTicks = grid.getGridWidth() + grid.getGridHeight() + engine.getSnake().getLength();
+            newNode();
+
+            while (System.nanoTime() < deadline)
+            {
+                iterate();
+            }
+        }
+
+        /**
+         * Run one iteration: walk down the tree, add a node for an untried move, roll out from it, and add
+         * the score to every node on the way down. The engine is back at the root afterwards.
+         */
+        void iterate()
+        {
+            //Walk down the tree until a node has a move that hasn't been tried
+            int node = 0;
+            int pathLength = 0;
+            path[pathLength++] = node;
+            fruitWorth = 0.0;
+            nextFruitWorth = 1.0;
+            boolean isRandom = true;
+            while (!engine.isGameOver())
+            {
+                int direction = getUntriedDirection(node);
+                if (direction >= 0)
+                {
+                    //The first rollout of each move from the root follows the autopilot exactly, so the
+                    //move it would play is scored at least as well as the autopilot would play it
+                    isRandom = (node != 0);
+                    move(direction);
+                    int child = newNode();
+                    if (child > 0) //The tree can still grow
+                    {
+                        children[node * 4 + direction] = child;
+                        path[pathLength++] = child;
+                    }
+                    break;
+                }
+                direction = getBestDirection(node);
+                move(direction);
+                node = children[node * 4 + direction];
+                path[pathLength++] = node;
+            }
+
+            //Roll out and take every move back
+            double value = rollout(isRandom);
+            while (engine.getMoveCount() > 0)
+            {
+                engine.unmakeMove();
+            }
+
+            //A rollout cut short by the deadline isn't counted
+            if (value >= 0.0)
+            {
+                for (int i = 0; i < pathLength; i++)
+                {
+                    visits[path[i]]++;
+                    bestScores[path[i]] = Math.max(bestScores[path[i]], value);
+                }
+                rolloutCount++;
+            }
+        }
+
+        /**
+         * Play moves picked mostly by the autopilot until the game ends or the rollout is long enough.
+         * @param isRandom True if some moves are picked at random, false to play only the autopilot's moves.
+         * @return The score of the rollout (0 to 1), or -1 if the deadline passed first.
+         */
+        double rollout(boolean isRandom)
+        {
+            Snake snake = engine.getSnake();
+            for (int tick = 0; tick < rolloutTicks && !engine.isGameOver(); tick++)
+            {
+                if (System.nanoTime() >= deadline)
+                {
+                    return -1.0;
+                }
+                int direction = (isRandom && rng.nextInt(100) < ROLLOUT_RANDOMNESS) ? getRandomDirection() : -1;
+                if (direction < 0)
+                {
+                    direction = autopilot.nextDirection(engine);
+                }
+                if (direction < 0 || !isLegal(direction))
+                {
+                    direction = snake.getCurrentDirection();
+                }
+                move(direction);
+            }
+
+            //The autopilot gives up at the deadline, so a rollout it was still deciding isn't counted
+            double score = getScore();
+            return (System.nanoTime() >= deadline) ? -1.0 : score;
+        }
+
+        /**
+         * Make a move on the engine, adding to the worth of the fruits eaten if it eats the fruit.
+         * @param direction The direction to move.
+         */
+        void move(int direction)
+        {
+            int fruitsEaten = engine.getFruitsEaten();
+            engine.makeMove(direction);
+            if (engine.getFruitsEaten() != fruitsEaten)
+            {
+                fruitWorth = fruitWorth + nextFruitWorth;
+            }
+            nextFruitWorth = nextFruitWorth * FRUIT_DISCOUNT;
+        }
+
+        /**
+         * Score the game as it is now. Crashing scores 0 and winning scores 1, and a snake that can't
+         * reach its tail has trapped itself so it scores little more than crashing. Otherwise surviving
+         * is worth half and the fruits eaten since the root add up to the other half, a fruit eaten
+         * sooner adding more.
+         * @return The score (0 to 1).
+         */
+        double getScore()
+        {
+            if (engine.getStatus() == GameEngine.WON)
+            {
+                return 1.0;
+            }
+            else if (engine.getStatus() == GameEngine.CRASHED)
+            {
+                return 0.0;
+            }
+            else if (!autopilot.isTailReachable(engine))
+            {
+                return TRAPPED_SCORE;
+            }
+            return 0.5 + 0.5 * fruitWorth / (fruitWorth + 1.0);
+        }
+
+        /**
+         * Find a legal direction from a node that doesn't have a child yet, starting from a random one.
+         * @param node The node, the engine must be at its position.
+         * @return The direction, or -1 if every legal direction has been tried.
+         */
+        int getUntriedDirection(int node)
+        {
+            int start = rng.nextInt(4);
+            for (int i = 0; i < 4; i++)
+            {
+                int direction = (start + i) & 3;
+                if (children[node * 4 + direction] == 0 && isLegal(direction))
+                {
+                    return direction;
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * Find the child of a node with the highest UCT value, balancing its best score against how
+         * rarely it has been tried. Every legal direction of the node must have a child.
+         * @param node The node.
+         * @return The direction of the child.
+         */
+        int getBestDirection(int node)
+        {
+            double logVisits = Math.log(visits[node]);
+            int bestDirection = -1;
+            double bestUct = -1.0;
+            for (int direction = 0; direction < 4; direction++)
+            {
+                int child = children[node * 4 + direction];
+                if (child > 0)
+                {
+                    double uct = (visits[child] == 0) ? Double.MAX_VALUE
+                            : bestScores[child] + EXPLORATION * Math.sqrt(logVisits / visits[child]);
+                    if (uct > bestUct)
+                    {
+                        bestDirection = direction;
+                        bestUct = uct;
+                    }
+                }
+            }
+            return bestDirection;
+        }
+
+        /**
+         * Pick a random direction that doesn't run straight into something.
+         * @return The direction, or -1 if every direction does.
+         */
+        int getRandomDirection()
+        {
+            Grid grid = engine.getGrid();
+            int head = engine.getSnake().getHeadSquare();
+            int headX = grid.getSquareX(head);
+            int headY = grid.getSquareY(head);
+            int start = rng.nextInt(4);
+            for (int i = 0; i < 4; i++)
+            {
+                int direction = (start + i) & 3;
+                int x = headX + ((direction == Snake.RIGHT) ? 1 : (direction == Snake.LEFT) ? -1 : 0);
+                int y = headY + ((direction == Snake.DOWN) ? 1 : (direction == Snake.UP) ? -1 : 0);
+                if (isLegal(direction) && !grid.isOccupied(x, y))
+                {
+                    return direction;
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * Determine if the snake can move in a direction, every direction but straight back is legal.
+         * @param direction The direction.
+         * @return True if the direction is legal.
+         */
+        boolean isLegal(int direction)
+        {
+            Snake snake = engine.getSnake();
+            return snake.getLength() == 1 || direction != ((snake.getHeadDirection() + 2) & 3);
+        }
+
+        /**
+         * Add a node to the tree with no children.
+         * @return The index of the node, or -1 if the tree is full.
+         */
+        int newNode()
+        {
+            if (nodeCount == MAX_NODES)
+            {
+                return -1;
+            }
+            int node = nodeCount++;
+            children[node * 4] = 0;
+            children[node * 4 + 1] = 0;
+            children[node * 4 + 2] = 0;
+            children[node * 4 + 3] = 0;
+            visits[node] = 0;
+            bestScores[node] = 0.0;
+            return node;
+        }
+    }
+}
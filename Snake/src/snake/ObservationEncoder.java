@@ -0,0 +1,511 @@
+package snake;
+
+import java.util.Arrays;
+
+/**
+ * @author Logan Karstetter
+ * Date: 10/16/2026
+ */
+public class ObservationEncoder
+{
+    /** The channel of the snake's body (every square but the head) */
+    public static final int BODY = 0;
+    /** The channel of the snake's head */
+    public static final int HEAD = 1;
+    /** The channel of the fruit */
+    public static final int FRUIT = 2;
+    /** The channel of the walls */
+    public static final int WALL = 3;
+    /** The number of channels */
+    public static final int CHANNELS = 4;
+    /** The number of rays cast from the head */
+    public static final int RAYS = 8;
+    /** The number of features of each ray: how close the wall, the body, and the fruit are along it */
+    public static final int RAY_FEATURES = 3;
+
+    /** The change in x for each ray in the head's frame, starting straight ahead and going clockwise */
+    private static final int[] RAY_X = {0, 1, 1, 1, 0, -1, -1, -1};
+    /** The change in y for each ray in the head's frame, starting straight ahead and going clockwise */
+    private static final int[] RAY_Y = {-1, -1, 0, 1, 1, 1, 0, -1};
+
+    /** The width of the grid in squares */
+    private int gridWidth;
+    /** The height of the grid in squares */
+    private int gridHeight;
+    /** The number of squares from the head to the edge of a crop */
+    private int cropRadius;
+    /** The width (and height) of the planes, the grid with a square of wall around it */
+    private int planeWidth;
+    /** The height of the planes */
+    private int planeHeight;
+    /** The width (and height) of a crop */
+    private int cropWidth;
+
+    /** The grid of the game being encoded, or null if it is a game of a batch */
+    private Grid grid;
+    /** The snake of the game being encoded, or null if it is a game of a batch */
+    private Snake snake;
+    /** The batch of the game being encoded, or null if it is a GameEngine's game */
+    private BatchedSnakeEnv batch;
+    /** The index of the game being encoded within its batch */
+    private int batchEnv;
+    /** The square of the head of the game being encoded */
+    private int head;
+    /** The direction the head of the game being encoded last moved */
+    private int headDirection;
+    /** The length of the snake of the game being encoded */
+    private int length;
+    /** The square of the fruit of the game being encoded, or -1 if it isn't placed */
+    private int fruitSquare;
+
+    /**
+     * Create an encoder that turns the state of a game into numbers for bots and training, reading the
+     * grid, snake, and fruit directly instead of rendering the game and reading back pixels. There are
+     * three encodings, each written into a slice of an array the caller reuses every tick:
+     * Planes are CHANNELS planes (BODY, HEAD, FRUIT, and WALL) of the whole grid with a square of wall
+     * around it, channel by channel and row by row, 1 where the channel is present and 0 elsewhere.
+     * Crops are the same channels for the (2 * cropRadius + 1) square around the head, turned so that
+     * the way the head is moving is up. Squares off the grid are walls.
+     * Rays are RAYS lines cast from the head in the head's frame (straight ahead first, going clockwise)
+     * with RAY_FEATURES each: 1 / the distance to the wall, to the nearest part of the body, and to the
+     * fruit, or 0 for a body or fruit that isn't on the ray.
+     * Planes and crops can be written as bytes or floats, rays as floats. Planes only touch the snake,
+     * the fruit, and the border after clearing the slice, so they cost little more than the clear. Every
+     * encoding has a method for a single GameEngine and one for every game of a BatchedSnakeEnv, written
+     * one game after another. Nothing is allocated while encoding.
+     * @param gridWidth The width of the grid in squares.
+     * @param gridHeight The height of the grid in squares.
+     * @param cropRadius The number of squares from the head to the edge of a crop.
+     */
+    public ObservationEncoder(int gridWidth, int gridHeight, int cropRadius)
+    {
+        this.gridWidth = gridWidth;
+        this.gridHeight = gridHeight;
+        this.cropRadius = cropRadius;
+        planeWidth = gridWidth + 2;
+        planeHeight = gridHeight + 2;
+        cropWidth = 2 * cropRadius + 1;
+    }
+
+    /**
+     * Get the number of values in the planes of a game.
+     * @return CHANNELS * (gridWidth + 2) * (gridHeight + 2).
+     */
+    public int getPlanesSize()
+    {
+        return CHANNELS * planeWidth * planeHeight;
+    }
+
+    /**
+     * Get the number of values in the crop of a game.
+     * @return CHANNELS * (2 * cropRadius + 1)^2.
+     */
+    public int getCropSize()
+    {
+        return CHANNELS * cropWidth * cropWidth;
+    }
+
+    /**
+     * Get the number of values in the rays of a game.
+     * @return RAYS * RAY_FEATURES.
+     */
+    public int getRaysSize()
+    {
+        return RAYS * RAY_FEATURES;
+    }
+
+    /**
+     * Write the planes of a game as floats.
+     * @param engine The engine of the game.
+     * @param out The array to write into.
+     * @param offset The position to write at, getPlanesSize() values are written.
+     */
+    public void encodePlanes(GameEngine engine, float[] out, int offset)
+    {
+        load(engine);
+        writePlanes(out, null, offset);
+    }
+
+    /**
+     * Write the planes of a game as bytes.
+     * @param engine The engine of the game.
+     * @param out The array to write into.
+     * @param offset The position to write at, getPlanesSize() values are written.
+     */
+    public void encodePlanes(GameEngine engine, byte[] out, int offset)
+    {
+        load(engine);
+        writePlanes(null, out, offset);
+    }
+
+    /**
+     * Write the planes of every game of a batch as floats, game i at i * getPlanesSize().
+     * @param batch The batch.
+     * @param out The array to write into.
+     */
+    public void encodePlanes(BatchedSnakeEnv batch, float[] out)
+    {
+        for (int env = 0; env < batch.getEnvCount(); env++)
+        {
+            load(batch, env);
+            writePlanes(out, null, env * getPlanesSize());
+        }
+    }
+
+    /**
+     * Write the planes of every game of a batch as bytes, game i at i * getPlanesSize().
+     * @param batch The batch.
+     * @param out The array to write into.
+     */
+    public void encodePlanes(BatchedSnakeEnv batch, byte[] out)
+    {
+        for (int env = 0; env < batch.getEnvCount(); env++)
+        {
+            load(batch, env);
+            writePlanes(null, out, env * getPlanesSize());
+        }
+    }
+
+    /**
+     * Write the crop of a game as floats.
+     * @param engine The engine of the game.
+     * @param out The array to write into.
+     * @param offset The position to write at, getCropSize() values are written.
+     */
+    public void encodeCrop(GameEngine engine, float[] out, int offset)
+    {
+        load(engine);
+        writeCrop(out, null, offset);
+    }
+
+    /**
+     * Write the crop of a game as bytes.
+     * @param engine The engine of the game.
+     * @param out The array to write into.
+     * @param offset The position to write at, getCropSize() values are written.
+     */
+    public void encodeCrop(GameEngine engine, byte[] out, int offset)
+    {
+        load(engine);
+        writeCrop(null, out, offset);
+    }
+
+    /**
+     * Write the crop of every game of a batch as floats, game i at i * getCropSize().
+     * @param batch The batch.
+     * @param out The array to write into.
+     */
+    public void encodeCrops(BatchedSnakeEnv batch, float[] out)
+    {
+        for (int env = 0; env < batch.getEnvCount(); env++)
+        {
+            load(batch, env);
+            writeCrop(out, null, env * getCropSize());
+        }
+    }
+
+    /**
+     * Write the crop of every game of a batch as bytes, game i at i * getCropSize().
+     * @param batch The batch.
+     * @param out The array to write into.
+     */
+    public void encodeCrops(BatchedSnakeEnv batch, byte[] out)
+    {
+        for (int env = 0; env < batch.getEnvCount(); env++)
+        {
+            load(batch, env);
+            writeCrop(null, out, env * getCropSize());
+        }
+    }
+
+    /**
+     * Write the rays of a game.
+     * @param engine The engine of the game.
+     * @param out The array to write into.
+     * @param offset The position to write at, getRaysSize() values are written.
+     */
+    public void encodeRays(GameEngine engine, float[] out, int offset)
+    {
+        load(engine);
+        writeRays(out, offset);
+    }
+
+    /**
+     * Write the rays of every game of a batch, game i at i * getRaysSize().
+     * @param batch The batch.
+     * @param out The array to write into.
+     */
+    public void encodeRays(BatchedSnakeEnv batch, float[] out)
+    {
+        for (int env = 0; env < batch.getEnvCount(); env++)
+        {
+            load(batch, env);
+            writeRays(out, env * getRaysSize());
+        }
+    }
+
+    /**
+     * Encode a GameEngine's game from now on.
+     * @param engine The engine, its grid must be the encoder's size.
+     */
+    private void load(GameEngine engine)
+    {
+        grid = engine.getGrid();
+        if (grid.getGridWidth() != gridWidth || grid.getGridHeight() != gridHeight)
+        {
+            throw new IllegalArgumentException("Can't encode a " + grid.getGridWidth() + "x" + grid.getGridHeight()
+                    + " game with a " + gridWidth + "x" + gridHeight + " encoder");
+        }
+        snake = engine.getSnake();
+        batch = null;
+        Fruit fruit = engine.getFruit();
+        head = snake.getHeadSquare();
+        headDirection = snake.getHeadDirection();
+        length = snake.getLength();
+        fruitSquare = fruit.isPlaced() ? fruit.gridY * gridWidth + fruit.gridX : -1;
+    }
+
+    /**
+     * Encode a game of a batch from now on.
+     * @param batch The batch, its grids must be the encoder's size.
+     * @param env The index of the game.
+     */
+    private void load(BatchedSnakeEnv batch, int env)
+    {
+        if (batch.getGridWidth() != gridWidth || batch.getGridHeight() != gridHeight)
+        {
+            throw new IllegalArgumentException("Can't encode " + batch.getGridWidth() + "x" + batch.getGridHeight()
+                    + " games with a " + gridWidth + "x" + gridHeight + " encoder");
+        }
+        grid = null;
+        snake = null;
+        this.batch = batch;
+        batchEnv = env;
+        head = batch.getHeadSquare(env);
+        headDirection = batch.getDirection(env);
+        length = batch.getLength(env);
+        fruitSquare = batch.getFruitSquare(env);
+    }
+
+    /**
+     * Get the state of a square of the game being encoded.
+     * @param x The x coordinate of the square.
+     * @param y The y coordinate of the square.
+     * @return Grid.EMPTY, BODY, FRUIT, or WALL if the square is off the grid.
+     */
+    private int getSquare(int x, int y)
+    {
+        if (x < 0 || x >= gridWidth || y < 0 || y >= gridHeight)
+        {
+            return Grid.WALL;
+        }
+        int square = y * gridWidth + x;
+        return (grid != null) ? grid.getSquare(square) : batch.getSquare(batchEnv, square);
+    }
+
+    /**
+     * Get the i-th square of the snake of the game being encoded.
+     * @param i The square of the snake, 0 is the head.
+     * @return The index (y * gridWidth + x) of the square.
+     */
+    private int getSnakeSquare(int i)
+    {
+        return (snake != null) ? snake.getSquare(i) : batch.getSnakeSquare(batchEnv, i);
+    }
+
+    /**
+     * Write the planes of the game being encoded into one of two arrays.
+     * @param floats The array to write floats into, or null to write bytes.
+     * @param bytes The array to write bytes into if floats is null.
+     * @param offset The position to write at.
+     */
+    private void writePlanes(float[] floats, byte[] bytes, int offset)
+    {
+        clear(floats, bytes, offset, getPlanesSize());
+        int planeSize = planeWidth * planeHeight;
+
+        //The snake, shifted a square right and down by the border
+        for (int i = 1; i < length; i++)
+        {
+            int square = getSnakeSquare(i);
+            set(floats, bytes, offset + BODY * planeSize + getPlaneIndex(square));
+        }
+        set(floats, bytes, offset + HEAD * planeSize + getPlaneIndex(head));
+        if (fruitSquare >= 0)
+        {
+            set(floats, bytes, offset + FRUIT * planeSize + getPlaneIndex(fruitSquare));
+        }
+
+        //The border of walls
+        int walls = offset + WALL * planeSize;
+        for (int x = 0; x < planeWidth; x++)
+        {
+            set(floats, bytes, walls + x);
+            set(floats, bytes, walls + (planeHeight - 1) * planeWidth + x);
+        }
+        for (int y = 1; y < planeHeight - 1; y++)
+        {
+            set(floats, bytes, walls + y * planeWidth);
+            set(floats, bytes, walls + y * planeWidth + planeWidth - 1);
+        }
+    }
+
+    /**
+     * Get the position of a square within a plane.
+     * @param square The index (y * gridWidth + x) of the square.
+     * @return The position of the square inside the border.
+     */
+    private int getPlaneIndex(int square)
+    {
+        return (square / gridWidth + 1) * planeWidth + square % gridWidth + 1;
+    }
+
+    /**
+     * Write the crop of the game being encoded into one of two arrays.
+     * @param floats The array to write floats into, or null to write bytes.
+     * @param bytes The array to write bytes into if floats is null.
+     * @param offset The position to write at.
+     */
+    private void writeCrop(float[] floats, byte[] bytes, int offset)
+    {
+        clear(floats, bytes, offset, getCropSize());
+        int cropSize = cropWidth * cropWidth;
+        int headX = head % gridWidth;
+        int headY = head / gridWidth;
+        for (int cropY = -cropRadius; cropY <= cropRadius; cropY++)
+        {
+            for (int cropX = -cropRadius; cropX <= cropRadius; cropX++)
+            {
+                int square = getSquare(headX + getTurnedX(cropX, cropY), headY + getTurnedY(cropX, cropY));
+                int index = offset + (cropY + cropRadius) * cropWidth + cropX + cropRadius;
+                if (square == Grid.BODY)
+                {
+                    set(floats, bytes, index + ((cropX == 0 && cropY == 0) ? HEAD : BODY) * cropSize);
+                }
+                else if (square == Grid.FRUIT)
+                {
+                    set(floats, bytes, index + FRUIT * cropSize);
+                }
+                else if (square == Grid.WALL)
+                {
+                    set(floats, bytes, index + WALL * cropSize);
+                }
+            }
+        }
+    }
+
+    /**
+     * Write the rays of the game being encoded.
+     * @param out The array to write into.
+     * @param offset The position to write at.
+     */
+    private void writeRays(float[] out, int offset)
+    {
+        int headX = head % gridWidth;
+        int headY = head / gridWidth;
+        for (int ray = 0; ray < RAYS; ray++)
+        {
+            int stepX = getTurnedX(RAY_X[ray], RAY_Y[ray]);
+            int stepY = getTurnedY(RAY_X[ray], RAY_Y[ray]);
+            float body = 0.0f;
+            float fruit = 0.0f;
+            int distance = 1;
+            int square;
+            while ((square = getSquare(headX + stepX * distance, headY + stepY * distance)) != Grid.WALL)
+            {
+                if (square == Grid.BODY && body == 0.0f)
+                {
+                    body = 1.0f / distance;
+                }
+                else if (square == Grid.FRUIT)
+                {
+                    fruit = 1.0f / distance;
+                }
+                distance++;
+            }
+            int index = offset + ray * RAY_FEATURES;
+            out[index] = 1.0f / distance;
+            out[index + 1] = body;
+            out[index + 2] = fruit;
+        }
+    }
+
+    /**
+     * Turn an offset in the head's frame (where up is the way the head is moving) into the grid's frame.
+     * @param x The x offset in the head's frame.
+     * @param y The y offset in the head's frame.
+     * @return The x offset on the grid.
+     */
+    private int getTurnedX(int x, int y)
+    {
+        switch (headDirection)
+        {
+            case Snake.RIGHT:
+                return -y;
+            case Snake.DOWN:
+                return -x;
+            case Snake.LEFT:
+                return y;
+            default:
+                return x;
+        }
+    }
+
+    /**
+     * Turn an offset in the head's frame (where up is the way the head is moving) into the grid's frame.
+     * @param x The x offset in the head's frame.
+     * @param y The y offset in the head's frame.
+     * @return The y offset on the grid.
+     */
+    private int getTurnedY(int x, int y)
+    {
+        switch (headDirection)
+        {
+            case Snake.RIGHT:
+                return x;
+            case Snake.DOWN:
+                return -y;
+            case Snake.LEFT:
+                return -x;
+            default:
+                return y;
+        }
+    }
+
+    /**
+     * Zero a slice of one of two arrays.
+     * @param floats The float array, or null to zero the byte array.
+     * @param bytes The byte array.
+     * @param offset The start of the slice.
+     * @param size The length of the slice.
+     */
+    private static void clear(float[] floats, byte[] bytes, int offset, int size)
+    {
+        if (floats != null)
+        {
+            Arrays.fill(floats, offset, offset + size, 0.0f);
+        }
+        else
+        {
+            Arrays.fill(bytes, offset, offset + size, (byte) 0);
+        }
+    }
+
+    /**
+     * Set a value of one of two arrays to 1.
+     * @param floats The float array, or null to set the byte.
+     * @param bytes The byte array.
+     * @param index The index of the value.
+     */
+    private static void set(float[] floats, byte[] bytes, int index)
+    {
+        if (floats != null)
+        {
+            floats[index] = 1.0f;
+        }
+        else
+        {
+            bytes[index] = 1;
+        }
+    }
+}
@@ -0,0 +1,318 @@
+package snake;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * @author Logan Karstetter
+ * Date: 10/16/2026
+ */
+public class ObservationExporter implements SnakeController
+{
+    /** The magic number at the start of every observation file ("SNKO") */
+    public static final int MAGIC = 0x534E4B4F;
+    /** The version of the observation file layout */
+    public static final int VERSION = 1;
+    /** The size of the header in bytes, the two slots follow it */
+    public static final int HEADER_SIZE = 64;
+    /** The size of the fixed fields at the start of each slot in bytes, the planes follow them */
+    public static final int SLOT_FIELDS_SIZE = 64;
+
+    /** The position of the grid width in the header (int) */
+    public static final int GRID_WIDTH = 8;
+    /** The position of the grid height in the header (int) */
+    public static final int GRID_HEIGHT = 12;
+    /** The position of the size of each slot in the header (int) */
+    public static final int SLOT_SIZE = 16;
+    /** The position of the number of longs in each plane in the header (int) */
+    public static final int PLANE_WORDS = 20;
+    /** The position of the number of the latest complete observation in the header (long), 0 if there is none */
+    public static final int PUBLISHED = 24;
+    /** The position of the number of the observation the latest action answers in the header (long), written by the reader */
+    public static final int ACTION_SEQUENCE = 32;
+    /** The position of the latest action in the header (int), written by the reader */
+    public static final int ACTION = 40;
+
+    /** The position of the slot's sequence in a slot (long), odd while the slot is being written */
+    public static final int SEQUENCE = 0;
+    /** The position of the tick in a slot (long) */
+    public static final int TICK = 8;
+    /** The position of the game's status in a slot (int), GameEngine.RUNNING, CRASHED, or WON */
+    public static final int STATUS = 16;
+    /** The position of the snake's length in a slot (int) */
+    public static final int LENGTH = 20;
+    /** The position of the head's x coordinate in a slot (int), the y coordinate follows it */
+    public static final int HEAD = 24;
+    /** The position of the tail's x coordinate in a slot (int), the y coordinate follows it */
+    public static final int TAIL = 32;
+    /** The position of the fruit's x coordinate in a slot (int), the y coordinate follows it, both -1 if it isn't placed */
+    public static final int FRUIT = 40;
+    /** The position of the number of fruits eaten in a slot (int) */
+    public static final int FRUITS_EATEN = 48;
+    /** The position of the direction the head last moved in a slot (int) */
+    public static final int DIRECTION = 52;
+
+    /** The longest the lockstep games in main() wait for the reader to answer (in nanos) */
+    private static final long READER_TIMEOUT = 10000000000L;
+
+    /** Reads and writes longs in the mapping with the ordering the sequence counters need */
+    static final VarHandle LONGS = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    /** The mapping of the file */
+    private MappedByteBuffer buffer;
+    /** The width of the grid in squares */
+    private int gridWidth;
+    /** The height of the grid in squares */
+    private int gridHeight;
+    /** The number of longs in each plane */
+    private int planeWords;
+    /** The size of each slot in bytes */
+    private int slotSize;
+    /** The number of the last observation published */
+    private long published;
+    /** The action sequence of the last action taken, so each action is only returned once */
+    private long lastActionSequence;
+
+    /**
+     * Create an exporter that shares the state of a game with another process through a memory-mapped
+     * file, so a trainer can watch the game and steer it without sockets or serialization. Every number
+     * in the file is little-endian. The file is a 64 byte header followed by two slots that observations
+     * are written to in turn (observation n goes to slot n % 2), so the slot a reader is reading is never
+     * the one being written unless the reader falls a whole tick behind.
+     * The header holds MAGIC, VERSION, the grid width and height, the slot size, the number of longs in
+     * each plane, the number of the latest complete observation, and the action the reader sent back with
+     * the number of the observation it answers (see the constants for their positions).
+     * Each slot holds a sequence, the tick, the status (the game is done if it isn't GameEngine.RUNNING),
+     * the length, the head, tail, and fruit positions, the fruits eaten, and the head's direction,
+     * followed by two bit planes of the grid: the body, then the fruit. Square y * width + x is bit
+     * (square % 64) of long (square / 64) of a plane. Writing observation n sets the slot's sequence to
+     * 2n - 1, writes the slot, sets it to 2n, and then publishes n in the header. A reader takes the slot
+     * of the published observation, reads its sequence, copies the slot, and reads the sequence again, the
+     * copy is good if both reads are 2n. To send an action the reader writes it and then the number of the
+     * observation it answers, which the exporter returns from nextDirection() the next time it is asked.
+     * @param fileName The name of the file to create (or overwrite), usually somewhere like /dev/shm.
+     * @param gridWidth The width of the grid in squares.
+     * @param gridHeight The height of the grid in squares.
+     * @throws IOException If the file could not be created.
+     */
+    public ObservationExporter(String fileName, int gridWidth, int gridHeight) throws IOException
+    {
+        this.gridWidth = gridWidth;
+        this.gridHeight = gridHeight;
+        planeWords = (gridWidth * gridHeight + 63) >>> 6;
+        slotSize = SLOT_FIELDS_SIZE + 2 * 8 * planeWords;
+        try (FileChannel channel = FileChannel.open(Paths.get(fileName), StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING))
+        {
+            //The mapping stays valid after the channel is closed
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + 2L * slotSize);
+        }
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+        //Write the header, the magic number last so a reader never sees a half written header
+        buffer.putInt(4, VERSION);
+        buffer.putInt(GRID_WIDTH, gridWidth);
+        buffer.putInt(GRID_HEIGHT, gridHeight);
+        buffer.putInt(SLOT_SIZE, slotSize);
+        buffer.putInt(PLANE_WORDS, planeWords);
+        buffer.putInt(ACTION, -1);
+        LONGS.setRelease(buffer, PUBLISHED, 0L);
+        VarHandle.storeStoreFence();
+        buffer.putInt(0, MAGIC);
+    }
+
+    /**
+     * Write the state of a game as the next observation. The engine calls this after every tick once the
+     * exporter is set with GameEngine.setExporter(), so the reader sees the tick that ended the game too.
+     * The grid is written straight from its bitsets, two longs for every 64 squares, and nothing is
+     * allocated.
+     * @param engine The engine of the game, its grid must be the exporter's size.
+     * @return The number of the observation, starting from 1.
+     */
+    public long publish(GameEngine engine)
+    {
+        Grid grid = engine.getGrid();
+        if (grid.getGridWidth() != gridWidth || grid.getGridHeight() != gridHeight)
+        {
+            throw new IllegalArgumentException("Can't export a " + grid.getGridWidth() + "x" + grid.getGridHeight()
+                    + " game to a " + gridWidth + "x" + gridHeight + " file");
+        }
+        Snake snake = engine.getSnake();
+        Fruit fruit = engine.getFruit();
+        long observation = published + 1;
+        int slot = HEADER_SIZE + (int) (observation & 1) * slotSize;
+
+        //Mark the slot as being written before anything in it changes
+        LONGS.setOpaque(buffer, slot + SEQUENCE, 2 * observation - 1);
+        VarHandle.storeStoreFence();
+
+        buffer.putLong(slot + TICK, engine.getTicks());
+        buffer.putInt(slot + STATUS, engine.getStatus());
+        buffer.putInt(slot + LENGTH, snake.getLength());
+        buffer.putInt(slot + HEAD, grid.getSquareX(snake.getHeadSquare()));
+        buffer.putInt(slot + HEAD + 4, grid.getSquareY(snake.getHeadSquare()));
+        buffer.putInt(slot + TAIL, grid.getSquareX(snake.getTailSquare()));
+        buffer.putInt(slot + TAIL + 4, grid.getSquareY(snake.getTailSquare()));
+        buffer.putInt(slot + FRUIT, fruit.isPlaced() ? fruit.gridX : -1);
+        buffer.putInt(slot + FRUIT + 4, fruit.isPlaced() ? fruit.gridY : -1);
+        buffer.putInt(slot + FRUITS_EATEN, engine.getFruitsEaten());
+        buffer.putInt(slot + DIRECTION, snake.getHeadDirection());
+        int bodyPlane = slot + SLOT_FIELDS_SIZE;
+        int fruitPlane = bodyPlane + 8 * planeWords;
+        for (int i = 0; i < planeWords; i++)
+        {
+            buffer.putLong(bodyPlane + 8 * i, grid.getBlockedBits(i));
+            buffer.putLong(fruitPlane + 8 * i, grid.getSpecialBits(i));
+        }
+
+        //Mark the slot as complete, then point readers at it
+        LONGS.setRelease(buffer, slot + SEQUENCE, 2 * observation);
+        LONGS.setRelease(buffer, PUBLISHED, observation);
+        published = observation;
+        return observation;
+    }
+
+    /**
+     * Get the action the reader sent back, if it has sent one since the last time this was called. The
+     * game isn't held up waiting for the reader, if it hasn't answered yet the snake keeps going.
+     * @param engine The engine of the game being played.
+     * @return The direction the reader chose, or -1 if it hasn't sent a new one.
+     */
+    @Override
+    public int nextDirection(GameEngine engine)
+    {
+        long actionSequence = getAnswered();
+        if (actionSequence == lastActionSequence)
+        {
+            return -1;
+        }
+        lastActionSequence = actionSequence;
+        return buffer.getInt(ACTION);
+    }
+
+    /**
+     * Wait for the reader to answer an observation, for training loops that step the game in lockstep
+     * with the reader instead of at a fixed rate. The thread spins briefly and then yields between checks,
+     * so a reader sharing the core can still run.
+     * @param observation The number of the observation, as returned by publish().
+     * @param timeout The longest time to wait (in nanos).
+     * @return The direction the reader chose, or -1 if it didn't answer in time.
+     */
+    public int waitForAction(long observation, long timeout)
+    {
+        long deadline = System.nanoTime() + timeout;
+        int spins = 0;
+        while (getAnswered() < observation)
+        {
+            if (System.nanoTime() - deadline > 0)
+            {
+                return -1;
+            }
+            if (++spins < 1000)
+            {
+                Thread.onSpinWait();
+            }
+            else
+            {
+                Thread.yield();
+            }
+        }
+        return nextDirection(null);
+    }
+
+    /**
+     * Get the number of the observation the reader's latest action answers.
+     * @return The number of the observation, 0 if the reader hasn't sent an action.
+     */
+    public long getAnswered()
+    {
+        return (long) LONGS.getAcquire(buffer, ACTION_SEQUENCE);
+    }
+
+    /**
+     * Get the number of the last observation published.
+     * @return The number of the observation, 0 if nothing has been published.
+     */
+    public long getPublished()
+    {
+        return published;
+    }
+
+    /**
+     * Play games in lockstep with an ObservationReader in another process, publishing each tick and
+     * waiting for the reader's action before stepping, and print the round trips per second. A new game
+     * starts as soon as one ends. Start the reader first or straight after, with the same file name.
+     * Usage: ObservationExporter FILE [-size=WxH] [-games=N], 10x10 and 10 games by default.
+     * @param args The file name, then the options.
+     * @throws IOException If the file could not be created.
+     */
+    public static void main(String[] args) throws IOException
+    {
+        if (args.length == 0)
+        {
+            System.out.println("Usage: ObservationExporter FILE [-size=WxH] [-games=N]");
+            System.exit(1);
+        }
+        int width = 10;
+        int height = 10;
+        int games = 10;
+        for (int i = 1; i < args.length; i++)
+        {
+            if (args[i].startsWith("-size="))
+            {
+                String[] dimensions = args[i].substring("-size=".length()).split("x");
+                width = Integer.parseInt(dimensions[0]);
+                height = Integer.parseInt(dimensions[1]);
+            }
+            else if (args[i].startsWith("-games="))
+            {
+                games = Integer.parseInt(args[i].substring("-games=".length()));
+            }
+        }
+
+        ObservationExporter exporter = new ObservationExporter(args[0], width, height);
+        long roundTrips = 0;
+        long startTime = System.nanoTime();
+        for (int game = 0; game < games; game++)
+        {
+            //Setting the exporter publishes the first observation, stepping publishes the rest
+            GameEngine engine = new GameEngine(width, height, game);
+            engine.setExporter(exporter);
+            while (true)
+            {
+                int direction = exporter.waitForAction(exporter.getPublished(), READER_TIMEOUT);
+                if (exporter.getAnswered() < exporter.getPublished())
+                {
+                    System.out.println("The reader stopped answering");
+                    System.exit(1);
+                }
+                roundTrips++;
+
+                //The reader has seen the game end
+                if (engine.isGameOver())
+                {
+                    break;
+                }
+                if (direction >= 0)
+                {
+                    engine.step(direction);
+                }
+                else
+                {
+                    engine.step();
+                }
+            }
+            System.out.printf("Game %d: %s with %d fruits eaten in %d ticks%n", game, engine.getDeathCause(),
+                    engine.getFruitsEaten(), engine.getTicks());
+        }
+        double seconds = (System.nanoTime() - startTime) / 1000000000.0;
+        System.out.printf("%d observations answered in %.2f s (%.0f round trips/s)%n", roundTrips, seconds,
+                roundTrips / seconds);
+    }
+}
@@ -0,0 +1,411 @@
+package snake;
+
+import java.io.IOException;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * @author Logan Karstetter
+ * Date: 10/16/2026
+ */
+public class ObservationReader
+{
+    /** The change in x for each direction (indexed by Snake.UP, RIGHT, DOWN, and LEFT) */
+    private static final int[] DIRECTION_X = {0, 1, 0, -1};
+    /** The change in y for each direction (indexed by Snake.UP, RIGHT, DOWN, and LEFT) */
+    private static final int[] DIRECTION_Y = {-1, 0, 1, 0};
+    /** The longest the trainer in main() waits for a new observation before it decides the game has stopped (in nanos) */
+    private static final long IDLE_TIMEOUT = 5000000000L;
+
+    /** The mapping of the file */
+    private MappedByteBuffer buffer;
+    /** The width of the grid in squares */
+    private int gridWidth;
+    /** The height of the grid in squares */
+    private int gridHeight;
+    /** The size of each slot in bytes */
+    private int slotSize;
+    /** The number of longs in each plane */
+    private int planeWords;
+    /** The number of the last observation read */
+    private long lastObservation;
+    /** The number of times a slot changed while it was being copied and had to be read again */
+    private long retries;
+
+    /** The tick of the last observation read */
+    private long tick;
+    /** The status of the game in the last observation read (GameEngine.RUNNING, CRASHED, or WON) */
+    private int status;
+    /** The length of the snake */
+    private int length;
+    /** The coordinates of the head, tail, and fruit (x then y, the fruit's are -1 if it isn't placed) */
+    private int headX, headY, tailX, tailY, fruitX, fruitY;
+    /** The number of fruits eaten */
+    private int fruitsEaten;
+    /** The direction the head last moved */
+    private int direction;
+    /** The bit plane of the squares occupied by the body */
+    private long[] bodyPlane;
+    /** The bit plane of the fruit's square */
+    private long[] fruitPlane;
+
+    /**
+     * Open a file written by an ObservationExporter in another process. The file is mapped, so reading an
+     * observation copies it straight out of the shared pages (see ObservationExporter for the layout).
+     * @param fileName The name of the file.
+     * @throws IOException If the file could not be opened or is not an observation file.
+     */
+    public ObservationReader(String fileName) throws IOException
+    {
+        try (FileChannel channel = FileChannel.open(Paths.get(fileName), StandardOpenOption.READ, StandardOpenOption.WRITE))
+        {
+            if (channel.size() < ObservationExporter.HEADER_SIZE)
+            {
+                throw new IOException("Not an observation file");
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+        }
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        if (buffer.getInt(0) != ObservationExporter.MAGIC)
+        {
+            throw new IOException("Not an observation file");
+        }
+        VarHandle.loadLoadFence();
+        int version = buffer.getInt(4);
+        if (version != ObservationExporter.VERSION)
+        {
+            throw new IOException("Unsupported observation file version " + version);
+        }
+        gridWidth = buffer.getInt(ObservationExporter.GRID_WIDTH);
+        gridHeight = buffer.getInt(ObservationExporter.GRID_HEIGHT);
+        slotSize = buffer.getInt(ObservationExporter.SLOT_SIZE);
+        planeWords = buffer.getInt(ObservationExporter.PLANE_WORDS);
+        if (buffer.capacity() < ObservationExporter.HEADER_SIZE + 2L * slotSize)
+        {
+            throw new IOException("The observation file is truncated");
+        }
+        bodyPlane = new long[planeWords];
+        fruitPlane = new long[planeWords];
+    }
+
+    /**
+     * Read the latest observation if one has been published since the last one read. The slot is copied
+     * and then its sequence checked again, if the exporter started rewriting it in the meantime the copy
+     * is thrown away and the (newer) latest observation is read instead, so a torn observation is never
+     * returned. Observations published while the reader was busy are skipped.
+     * @return The number of the observation read, or 0 if there isn't a new one.
+     */
+    public long poll()
+    {
+        while (true)
+        {
+            long observation = (long) ObservationExporter.LONGS.getAcquire(buffer, ObservationExporter.PUBLISHED);
+            if (observation == lastObservation)
+            {
+                return 0L;
+            }
+            int slot = ObservationExporter.HEADER_SIZE + (int) (observation & 1) * slotSize;
+            long sequence = (long) ObservationExporter.LONGS.getAcquire(buffer, slot + ObservationExporter.SEQUENCE);
+            if (sequence == 2 * observation)
+            {
+                copySlot(slot);
+                VarHandle.loadLoadFence();
+                if ((long) ObservationExporter.LONGS.getOpaque(buffer, slot + ObservationExporter.SEQUENCE) == sequence)
+                {
+                    lastObservation = observation;
+                    return observation;
+                }
+            }
+            retries++;
+        }
+    }
+
+    /**
+     * Copy the fields and planes of a slot.
+     * @param slot The position of the slot in the file.
+     */
+    private void copySlot(int slot)
+    {
+        tick = buffer.getLong(slot + ObservationExporter.TICK);
+        status = buffer.getInt(slot + ObservationExporter.STATUS);
+        length = buffer.getInt(slot + ObservationExporter.LENGTH);
+        headX = buffer.getInt(slot + ObservationExporter.HEAD);
+        headY = buffer.getInt(slot + ObservationExporter.HEAD + 4);
+        tailX = buffer.getInt(slot + ObservationExporter.TAIL);
+        tailY = buffer.getInt(slot + ObservationExporter.TAIL + 4);
+        fruitX = buffer.getInt(slot + ObservationExporter.FRUIT);
+        fruitY = buffer.getInt(slot + ObservationExporter.FRUIT + 4);
+        fruitsEaten = buffer.getInt(slot + ObservationExporter.FRUITS_EATEN);
+        direction = buffer.getInt(slot + ObservationExporter.DIRECTION);
+        int body = slot + ObservationExporter.SLOT_FIELDS_SIZE;
+        int fruit = body + 8 * planeWords;
+        for (int i = 0; i < planeWords; i++)
+        {
+            bodyPlane[i] = buffer.getLong(body + 8 * i);
+            fruitPlane[i] = buffer.getLong(fruit + 8 * i);
+        }
+    }
+
+    /**
+     * Send an action back to the exporter.
+     * @param observation The number of the observation the action answers.
+     * @param direction The direction the snake should move (Snake.UP, RIGHT, DOWN, or LEFT), or -1 to keep going.
+     */
+    public void sendAction(long observation, int direction)
+    {
+        buffer.putInt(ObservationExporter.ACTION, direction);
+        ObservationExporter.LONGS.setRelease(buffer, ObservationExporter.ACTION_SEQUENCE, observation);
+    }
+
+    /**
+     * Determine if a square was occupied by the body in the last observation read.
+     * @param x The x coordinate of the square.
+     * @param y The y coordinate of the square.
+     * @return True if the square is part of the snake.
+     */
+    public boolean isBody(int x, int y)
+    {
+        int square = y * gridWidth + x;
+        return (bodyPlane[square >>> 6] & (1L << square)) != 0;
+    }
+
+    /**
+     * Determine if a square held the fruit in the last observation read.
+     * @param x The x coordinate of the square.
+     * @param y The y coordinate of the square.
+     * @return True if the fruit is on the square.
+     */
+    public boolean isFruit(int x, int y)
+    {
+        int square = y * gridWidth + x;
+        return (fruitPlane[square >>> 6] & (1L << square)) != 0;
+    }
+
+    /**
+     * Determine if the game had ended in the last observation read.
+     * @return True if the snake crashed or won.
+     */
+    public boolean isDone()
+    {
+        return status != GameEngine.RUNNING;
+    }
+
+    /**
+     * Get the status of the game in the last observation read.
+     * @return GameEngine.RUNNING, CRASHED, or WON.
+     */
+    public int getStatus()
+    {
+        return status;
+    }
+
+    /**
+     * Get the tick of the last observation read.
+     * @return The number of ticks the game had been stepped.
+     */
+    public long getTick()
+    {
+        return tick;
+    }
+
+    /**
+     * Get the length of the snake in the last observation read.
+     * @return The length.
+     */
+    public int getLength()
+    {
+        return length;
+    }
+
+    /**
+     * Get the x coordinate of the head in the last observation read.
+     * @return The x coordinate.
+     */
+    public int getHeadX()
+    {
+        return headX;
+    }
+
+    /**
+     * Get the y coordinate of the head in the last observation read.
+     * @return The y coordinate.
+     */
+    public int getHeadY()
+    {
+        return headY;
+    }
+
+    /**
+     * Get the x coordinate of the tail in the last observation read.
+     * @return The x coordinate.
+     */
+    public int getTailX()
+    {
+        return tailX;
+    }
+
+    /**
+     * Get the y coordinate of the tail in the last observation read.
+     * @return The y coordinate.
+     */
+    public int getTailY()
+    {
+        return tailY;
+    }
+
+    /**
+     * Get the x coordinate of the fruit in the last observation read.
+     * @return The x coordinate, or -1 if the fruit wasn't placed.
+     */
+    public int getFruitX()
+    {
+        return fruitX;
+    }
+
+    /**
+     * Get the y coordinate of the fruit in the last observation read.
+     * @return The y coordinate, or -1 if the fruit wasn't placed.
+     */
+    public int getFruitY()
+    {
+        return fruitY;
+    }
+
+    /**
+     * Get the number of fruits eaten in the last observation read.
+     * @return The number of fruits eaten.
+     */
+    public int getFruitsEaten()
+    {
+        return fruitsEaten;
+    }
+
+    /**
+     * Get the direction the head last moved in the last observation read.
+     * @return Snake.UP, RIGHT, DOWN, or LEFT.
+     */
+    public int getDirection()
+    {
+        return direction;
+    }
+
+    /**
+     * Get the number of times a slot was rewritten while it was being copied.
+     * @return The number of retries.
+     */
+    public long getRetries()
+    {
+        return retries;
+    }
+
+    /**
+     * Act as a simple trainer for an ObservationExporter in another process: poll the file for new
+     * observations and answer each one with a greedy move towards the fruit that avoids the walls and the
+     * body. It waits for the file to be created, and stops once no observation has been published for
+     * IDLE_TIMEOUT, printing the number of observations read, the games that ended, and the retries.
+     * Usage: ObservationReader FILE
+     * @param args The file name.
+     * @throws IOException If the file is not an observation file.
+     * @throws InterruptedException If the thread is interrupted while waiting for the file.
+     */
+    public static void main(String[] args) throws IOException, InterruptedException
+    {
+        if (args.length == 0)
+        {
+            System.out.println("Usage: ObservationReader FILE");
+            System.exit(1);
+        }
+        Path path = Paths.get(args[0]);
+        ObservationReader reader = null;
+        long waitStart = System.nanoTime();
+        while (reader == null)
+        {
+            try
+            {
+                if (Files.size(path) >= ObservationExporter.HEADER_SIZE)
+                {
+                    reader = new ObservationReader(args[0]);
+                }
+            }
+            catch (IOException e) //The exporter hasn't finished creating the file
+            {
+                if (System.nanoTime() - waitStart > IDLE_TIMEOUT)
+                {
+                    throw e;
+                }
+            }
+            if (reader == null)
+            {
+                Thread.sleep(10);
+            }
+        }
+
+        long observations = 0;
+        long games = 0;
+        long lastObservationTime = System.nanoTime();
+        int spins = 0;
+        while (System.nanoTime() - lastObservationTime < IDLE_TIMEOUT)
+        {
+            //Spin briefly and then yield, so an exporter sharing the core can run
+            long observation = reader.poll();
+            if (observation == 0)
+            {
+                if (++spins < 1000)
+                {
+                    Thread.onSpinWait();
+                }
+                else
+                {
+                    Thread.yield();
+                }
+                continue;
+            }
+            spins = 0;
+            lastObservationTime = System.nanoTime();
+            observations++;
+            if (reader.isDone())
+            {
+                games++;
+                reader.sendAction(observation, -1);
+            }
+            else
+            {
+                reader.sendAction(observation, reader.chooseGreedyDirection());
+            }
+        }
+        System.out.printf("Read %d observations from %d finished games (%d retries)%n", observations, games,
+                reader.getRetries());
+    }
+
+    /**
+     * Choose the move towards the fruit that doesn't run into a wall or the body, if there is one.
+     * @return The direction, or -1 if every move crashes.
+     */
+    private int chooseGreedyDirection()
+    {
+        int bestDirection = -1;
+        int bestDistance = Integer.MAX_VALUE;
+        for (int candidate = 0; candidate < 4; candidate++)
+        {
+            int x = headX + DIRECTION_X[candidate];
+            int y = headY + DIRECTION_Y[candidate];
+            if (x < 0 || x >= gridWidth || y < 0 || y >= gridHeight || isBody(x, y))
+            {
+                continue;
+            }
+            int distance = (fruitX < 0) ? 0 : Math.abs(fruitX - x) + Math.abs(fruitY - y);
+            if (distance < bestDistance)
+            {
+                bestDirection = candidate;
+                bestDistance = distance;
+            }
+        }
+        return bestDirection;
+    }
+}
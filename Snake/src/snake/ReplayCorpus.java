@@ -0,0 +1,165 @@
+package snake;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+
+/**
+ * @author Logan Karstetter
+ * Date: 10/16/2026
+ */
+public class ReplayCorpus
+{
+    /** The magic number at the start of every corpus ("SNKC") */
+    public static final int MAGIC = 0x534E4B43;
+    /** The version of the corpus format written by the ReplayCorpusWriter */
+    public static final int VERSION = 1;
+    /** The magic number at the end of every corpus, after the position of its index ("SNKX") */
+    public static final int INDEX_MAGIC = 0x534E4B58;
+    /** The size of the header (magic and version) in bytes */
+    public static final int HEADER_SIZE = 5;
+    /** The size of the trailer (index position, replay count, and INDEX_MAGIC) in bytes */
+    public static final int TRAILER_SIZE = 16;
+    /** The size of each replay's entry in the index (offset and length) in bytes */
+    public static final int INDEX_ENTRY_SIZE = 12;
+    /** The largest part of the corpus mapped at once, a single mapping can't be larger than 2GB */
+    private static final long MAX_SEGMENT_SIZE = 1L << 30;
+
+    /** The index of the corpus, an offset and length for each replay */
+    private MappedByteBuffer index;
+    /** The number of replays in the corpus */
+    private int replayCount;
+    /** The mappings of the replays, each one holds whole replays */
+    private MappedByteBuffer[] segments;
+    /** The position in the file each segment starts at */
+    private long[] segmentStarts;
+
+    /**
+     * Open a corpus of replays written by a ReplayCorpusWriter. The corpus is a header, the replays
+     * back to back, an index holding each replay's offset and length, and a trailer holding the index's
+     * position and the number of replays. The whole file is mapped into memory, in segments of at most
+     * MAX_SEGMENT_SIZE that never split a replay, so the replays are read straight from the page cache
+     * and never copied onto the heap. A corpus can be read by any number of threads at once.
+     * @param fileName The name of the corpus file.
+     * @throws IOException If the file could not be read or is not a corpus.
+     */
+    public ReplayCorpus(String fileName) throws IOException
+    {
+        try (FileChannel channel = FileChannel.open(Paths.get(fileName), StandardOpenOption.READ))
+        {
+            //Read the header and trailer
+            long size = channel.size();
+            if (size < HEADER_SIZE + TRAILER_SIZE)
+            {
+                throw new IOException("Not a replay corpus");
+            }
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+            MappedByteBuffer trailer = channel.map(FileChannel.MapMode.READ_ONLY, size - TRAILER_SIZE, TRAILER_SIZE);
+            if (header.getInt() != MAGIC || trailer.getInt(12) != INDEX_MAGIC)
+            {
+                throw new IOException("Not a replay corpus");
+            }
+            int version = header.get();
+            if (version != VERSION)
+            {
+                throw new IOException("Unsupported corpus version " + version);
+            }
+            long indexPosition = trailer.getLong(0);
+            replayCount = trailer.getInt(8);
+            index = channel.map(FileChannel.MapMode.READ_ONLY, indexPosition, (long) replayCount * INDEX_ENTRY_SIZE);
+
+            //Split the replays into segments small enough to map
+            ArrayList<MappedByteBuffer> segmentList = new ArrayList<>();
+            ArrayList<Long> startList = new ArrayList<>();
+            long segmentStart = HEADER_SIZE;
+            for (int i = 0; i < replayCount; i++)
+            {
+                long offset = getOffset(i);
+                if (offset + getLength(i) - segmentStart > MAX_SEGMENT_SIZE)
+                {
+                    segmentList.add(channel.map(FileChannel.MapMode.READ_ONLY, segmentStart, offset - segmentStart));
+                    startList.add(segmentStart);
+                    segmentStart = offset;
+                }
+            }
+            segmentList.add(channel.map(FileChannel.MapMode.READ_ONLY, segmentStart, indexPosition - segmentStart));
+            startList.add(segmentStart);
+
+            //The mappings stay valid after the channel is closed
+            segments = segmentList.toArray(new MappedByteBuffer[0]);
+            segmentStarts = new long[startList.size()];
+            for (int i = 0; i < segmentStarts.length; i++)
+            {
+                segmentStarts[i] = startList.get(i);
+            }
+        }
+    }
+
+    /**
+     * Get the number of replays in the corpus.
+     * @return The number of replays.
+     */
+    public int getReplayCount()
+    {
+        return replayCount;
+    }
+
+    /**
+     * Get the bytes of a replay. The buffer is a view of the mapped file, nothing is copied.
+     * @param replay The index of the replay.
+     * @return A buffer holding the replay from its position to its limit.
+     */
+    public ByteBuffer getReplay(int replay)
+    {
+        long offset = getOffset(replay);
+
+        //Find the last segment starting at or before the replay
+        int segment = 0;
+        int low = 1;
+        int high = segmentStarts.length - 1;
+        while (low <= high)
+        {
+            int middle = (low + high) >>> 1;
+            if (segmentStarts[middle] <= offset)
+            {
+                segment = middle;
+                low = middle + 1;
+            }
+            else
+            {
+                high = middle - 1;
+            }
+        }
+
+        //Duplicate the segment so each thread gets its own position and limit
+        int position = (int) (offset - segmentStarts[segment]);
+        ByteBuffer bytes = segments[segment].duplicate();
+        bytes.position(position);
+        bytes.limit(position + getLength(replay));
+        return bytes.slice();
+    }
+
+    /**
+     * Get the position of a replay in the corpus file.
+     * @param replay The index of the replay.
+     * @return The offset of the replay (in bytes).
+     */
+    private long getOffset(int replay)
+    {
+        return index.getLong(replay * INDEX_ENTRY_SIZE);
+    }
+
+    /**
+     * Get the length of a replay.
+     * @param replay The index of the replay.
+     * @return The length of the replay (in bytes).
+     */
+    private int getLength(int replay)
+    {
+        return index.getInt(replay * INDEX_ENTRY_SIZE + 8);
+    }
+}
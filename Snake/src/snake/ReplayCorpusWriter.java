@@ -0,0 +1,214 @@
+package snake;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+/**
+ * @author Logan Karstetter
+ * Date: 10/16/2026
+ */
+public class ReplayCorpusWriter implements Closeable
+{
+    /** The stream the corpus is written to */
+    private DataOutputStream out;
+    /** The number of bytes written so far */
+    private long position;
+    /** The offset of each replay written so far */
+    private long[] offsets;
+    /** The length of each replay written so far */
+    private int[] lengths;
+    /** The number of replays written so far */
+    private int replayCount;
+
+    /**
+     * Create a corpus file that replays are appended to one after another. The index of the replays is
+     * kept in memory (12 bytes a replay) and written after them when the writer is closed, the replays
+     * themselves are streamed straight to the file.
+     * @param fileName The name of the corpus file.
+     * @throws IOException If the file could not be created.
+     */
+    public ReplayCorpusWriter(String fileName) throws IOException
+    {
+        out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(fileName), 1 << 16));
+        offsets = new long[1024];
+        lengths = new int[1024];
+
+        //Write the header
+        out.writeInt(ReplayCorpus.MAGIC);
+        out.writeByte(ReplayCorpus.VERSION);
+        position = ReplayCorpus.HEADER_SIZE;
+    }
+
+    /**
+     * Append a replay to the corpus.
+     * @param replay The bytes of a replay written by a ReplayRecorder.
+     * @param offset The position of the replay in the array.
+     * @param length The length of the replay.
+     * @throws IOException If the replay could not be written.
+     */
+    public void add(byte[] replay, int offset, int length) throws IOException
+    {
+        //Grow the index if it is full
+        if (replayCount == offsets.length)
+        {
+            offsets = Arrays.copyOf(offsets, replayCount * 2);
+            lengths = Arrays.copyOf(lengths, replayCount * 2);
+        }
+        offsets[replayCount] = position;
+        lengths[replayCount] = length;
+        replayCount++;
+
+        out.write(replay, offset, length);
+        position = position + length;
+    }
+
+    /**
+     * Append a recorded game to the corpus. The recorder is finished first if it hasn't been.
+     * @param recorder The recorder of the game.
+     * @throws IOException If the replay could not be written.
+     */
+    public void add(ReplayRecorder recorder) throws IOException
+    {
+        recorder.finish();
+        byte[] replay = recorder.toByteArray();
+        add(replay, 0, replay.length);
+    }
+
+    /**
+     * Get the number of replays written so far.
+     * @return The number of replays.
+     */
+    public int getReplayCount()
+    {
+        return replayCount;
+    }
+
+    /**
+     * Write the index and trailer and close the file.
+     * @throws IOException If the file could not be written.
+     */
+    @Override
+    public void close() throws IOException
+    {
+        long indexPosition = position;
+        for (int i = 0; i < replayCount; i++)
+        {
+            out.writeLong(offsets[i]);
+            out.writeInt(lengths[i]);
+        }
+        out.writeLong(indexPosition);
+        out.writeInt(replayCount);
+        out.writeInt(ReplayCorpus.INDEX_MAGIC);
+        out.close();
+    }
+
+    /**
+     * Play a game with a simple policy that heads for the fruit, avoids squares it would crash into
+     * when it can, and now and then turns at random so the games differ. This is only meant for filling
+     * a corpus with games to analyze.
+     * @param engine The engine to play on.
+     * @param rng The random number generator for the policy's random turns.
+     */
+    private static void playGame(GameEngine engine, GameRandom rng)
+    {
+        Grid grid = engine.getGrid();
+        Snake snake = engine.getSnake();
+        Fruit fruit = engine.getFruit();
+        while (!engine.isGameOver())
+        {
+            int headX = grid.getSquareX(snake.getHeadSquare());
+            int headY = grid.getSquareY(snake.getHeadSquare());
+
+            //Pick the direction towards the fruit, or a random one now and then
+            int direction;
+            if (rng.nextInt(16) == 0)
+            {
+                direction = rng.nextInt(4);
+            }
+            else if (fruit.gridX != headX)
+            {
+                direction = (fruit.gridX > headX) ? Snake.RIGHT : Snake.LEFT;
+            }
+            else
+            {
+                direction = (fruit.gridY > headY) ? Snake.DOWN : Snake.UP;
+            }
+
+            //Try the other directions in turn if it would crash
+            for (int i = 0; i < 4; i++)
+            {
+                int candidate = (direction + i) & 3;
+                int x = headX + ((candidate == Snake.RIGHT) ? 1 : (candidate == Snake.LEFT) ? -1 : 0);
+                int y = headY + ((candidate == Snake.DOWN) ? 1 : (candidate == Snake.UP) ? -1 : 0);
+                if (!grid.isOccupied(x, y) && (candidate == snake.getHeadDirection() || snake.isTurn(candidate)))
+                {
+                    direction = candidate;
+                    break;
+                }
+            }
+            engine.step(direction);
+        }
+    }
+
+    /**
+     * Pack replay files into a corpus, or fill one with generated games.
+     * Usage: ReplayCorpusWriter CORPUS [-generate=N] [-size=WxH] [REPLAY...]
+     * -generate=N plays N games with seeds 0 to N-1 on a grid of the given size (23x23 by default).
+     * @param args The name of the corpus file, then the options and replay files.
+     */
+    public static void main(String[] args)
+    {
+        if (args.length == 0)
+        {
+            System.out.println("Usage: ReplayCorpusWriter CORPUS [-generate=N] [-size=WxH] [REPLAY...]");
+            System.exit(1);
+        }
+
+        int generate = 0;
+        int gridWidth = 23;
+        int gridHeight = 23;
+        try (ReplayCorpusWriter writer = new ReplayCorpusWriter(args[0]))
+        {
+            for (int i = 1; i < args.length; i++)
+            {
+                if (args[i].startsWith("-generate="))
+                {
+                    generate = Integer.parseInt(args[i].substring("-generate=".length()));
+                }
+                else if (args[i].startsWith("-size="))
+                {
+                    String[] size = args[i].substring("-size=".length()).split("x");
+                    gridWidth = Integer.parseInt(size[0]);
+                    gridHeight = Integer.parseInt(size[1]);
+                }
+                else
+                {
+                    byte[] replay = Files.readAllBytes(Paths.get(args[i]));
+                    writer.add(replay, 0, replay.length);
+                }
+            }
+
+            //Generate the games
+            for (int seed = 0; seed < generate; seed++)
+            {
+                GameEngine engine = new GameEngine(gridWidth, gridHeight, seed);
+                ReplayRecorder recorder = new ReplayRecorder(engine);
+                engine.setRecorder(recorder);
+                playGame(engine, new GameRandom(~seed));
+                writer.add(recorder);
+            }
+            System.out.println("Wrote " + writer.getReplayCount() + " replays to " + args[0]);
+        }
+        catch (IOException e)
+        {
+            System.out.println("Unable to write the corpus: " + e);
+            System.exit(1);
+        }
+    }
+}
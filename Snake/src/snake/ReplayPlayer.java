@@ -0,0 +1,466 @@
+package snake;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * @author Logan Karstetter
+ * Date: 10/16/2026
+ */
+public class ReplayPlayer
+{
+    /** The number of bytes of each keyframe in the index: its tick, offset, length, turn position, and last turn tick */
+    private static final int KEYFRAME_ENTRY_SIZE = 28;
+
+    /** The bytes of the replay */
+    private ByteBuffer replay;
+    /** The position of the first turn in the replay */
+    private int turnsStart;
+    /** The position just after the turns' terminator, every turn before it has been read once */
+    private int turnsEnd;
+
+    /** The seed of the recorded game */
+    private long seed;
+    /** The width of the recorded game's grid in squares */
+    private int gridWidth;
+    /** The height of the recorded game's grid in squares */
+    private int gridHeight;
+    /** The number of ticks the recorded game lasted */
+    private long recordedTicks;
+    /** The number of fruits eaten in the recorded game */
+    private int recordedFruitsEaten;
+    /** The status the recorded game ended with */
+    private int recordedStatus;
+
+    /** The tick each keyframe was saved at, in increasing order (empty for replays without keyframes) */
+    private long[] keyframeTicks;
+    /** The position of each compressed keyframe in the replay */
+    private int[] keyframeOffsets;
+    /** The length of each compressed keyframe */
+    private int[] keyframeLengths;
+    /** The position of the first turn on or after each keyframe's tick */
+    private int[] keyframeTurnPositions;
+    /** The tick of the last turn before each keyframe's tick */
+    private long[] keyframeLastTurnTicks;
+    /** The number of ticks between keyframes, or Long.MAX_VALUE if there is only one (or none) */
+    private long keyframeInterval;
+
+    /** The engine the replay is played on, it is reused for every seek */
+    private GameEngine engine;
+    /** The state of the engine at tick 0 */
+    private GameSnapshot startSnapshot;
+    /** The snapshot keyframes are loaded into */
+    private GameSnapshot keyframeSnapshot;
+    /** The tick of the next turn to apply, or Long.MAX_VALUE if there are no turns left */
+    private long nextTurnTick;
+    /** The direction of the next turn to apply */
+    private int nextTurnDirection;
+
+    /**
+     * Create a player for a replay written by a ReplayRecorder. The header, footer, and keyframe index
+     * are read straight away, the turns and keyframes are read as the replay is played.
+     * @param replay The bytes of the replay, from its position to its limit. The buffer isn't modified.
+     * @throws IOException If the bytes are not a replay this player can read, or are truncated or corrupt.
+     */
+    public ReplayPlayer(ByteBuffer replay) throws IOException
+    {
+        this.replay = replay.slice();
+
+        //Read the header
+        if (this.replay.remaining() < 13 || this.replay.getInt() != ReplayRecorder.MAGIC)
+        {
+            throw new IOException("Not a replay");
+        }
+        int version = this.replay.get();
+        if (version != 1 && version != ReplayRecorder.VERSION)
+        {
+            throw new IOException("Unsupported replay version " + version);
+        }
+        seed = this.replay.getLong();
+        long width = readVarint();
+        long height = readVarint();
+        if (width < 1 || height < 1 || width * height > Integer.MAX_VALUE)
+        {
+            throw new IOException("Corrupt replay, the grid is " + width + "x" + height);
+        }
+        gridWidth = (int) width;
+        gridHeight = (int) height;
+        turnsStart = this.replay.position();
+
+        //Skip over the turns to read the footer, this also checks every turn can be read while playing
+        while (readVarint() != 0)
+        {
+            //Do nothing
+        }
+        turnsEnd = this.replay.position();
+        recordedTicks = readVarint();
+        recordedFruitsEaten = (int) readVarint();
+        if (!this.replay.hasRemaining())
+        {
+            throw new IOException("Truncated replay");
+        }
+        recordedStatus = this.replay.get();
+
+        //Read the keyframe index from the end of the replay
+        int keyframeCount = 0;
+        int limit = this.replay.limit();
+        if (version >= 2)
+        {
+            int footerEnd = this.replay.position();
+            if (limit - footerEnd < 12 || this.replay.getInt(limit - 4) != ReplayRecorder.INDEX_MAGIC)
+            {
+                throw new IOException("The replay's keyframe index is missing");
+            }
+            int indexPosition = this.replay.getInt(limit - 8);
+            if (indexPosition < footerEnd || indexPosition > limit - 12)
+            {
+                throw new IOException("Corrupt replay, the keyframe index is out of bounds");
+            }
+            this.replay.position(indexPosition);
+            keyframeCount = this.replay.getInt();
+            if (keyframeCount < 0 || keyframeCount > (limit - 8 - this.replay.position()) / KEYFRAME_ENTRY_SIZE)
+            {
+                throw new IOException("Truncated replay");
+            }
+        }
+        keyframeTicks = new long[keyframeCount];
+        keyframeOffsets = new int[keyframeCount];
+        keyframeLengths = new int[keyframeCount];
+        keyframeTurnPositions = new int[keyframeCount];
+        keyframeLastTurnTicks = new long[keyframeCount];
+        for (int i = 0; i < keyframeCount; i++)
+        {
+            keyframeTicks[i] = this.replay.getLong();
+            keyframeOffsets[i] = this.replay.getInt();
+            keyframeLengths[i] = this.replay.getInt();
+            keyframeTurnPositions[i] = this.replay.getInt();
+            keyframeLastTurnTicks[i] = this.replay.getLong();
+            if (keyframeOffsets[i] < 0 || keyframeLengths[i] < 0 || keyframeOffsets[i] > limit - keyframeLengths[i]
+                    || keyframeTurnPositions[i] < turnsStart || keyframeTurnPositions[i] >= turnsEnd)
+            {
+                throw new IOException("Corrupt replay, keyframe " + i + " is out of bounds");
+            }
+        }
+        keyframeInterval = (keyframeCount > 1) ? keyframeTicks[1] - keyframeTicks[0] : Long.MAX_VALUE;
+
+        //Create the engine and remember how it starts so it can be rewound
+        engine = new GameEngine(gridWidth, gridHeight, seed);
+        startSnapshot = new GameSnapshot(gridWidth, gridHeight);
+        keyframeSnapshot = new GameSnapshot(gridWidth, gridHeight);
+        engine.saveState(startSnapshot);
+        rewind();
+    }
+
+    /**
+     * Open a replay file by mapping it into memory, so even large replays are read without copying
+     * them onto the heap.
+     * @param fileName The name of the replay file.
+     * @return The player for the replay.
+     * @throws IOException If the file could not be read or is not a replay.
+     */
+    public static ReplayPlayer open(String fileName) throws IOException
+    {
+        try (FileChannel channel = FileChannel.open(Paths.get(fileName), StandardOpenOption.READ))
+        {
+            //The mapping stays valid after the channel is closed
+            return new ReplayPlayer(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Play the replay from the start as fast as possible. The engine is created with the recorded seed
+     * and stepped through the same update path as the game, with each turn applied on the tick it was
+     * recorded on.
+     * @return The engine after the last recorded tick.
+     */
+    public GameEngine play()
+    {
+        rewind();
+        advance(recordedTicks);
+        return engine;
+    }
+
+    /**
+     * Move the replay to the start of the given tick, forwards or backwards. If the target is behind the
+     * current tick or more than a keyframe interval ahead of it, the closest keyframe before the target
+     * is loaded, so the engine never steps more than the keyframe interval. Nearer targets are stepped
+     * to, which is cheaper than decompressing a keyframe and doesn't dirty every square.
+     * @param tick The tick to seek to, it is clamped to the ticks of the recorded game.
+     */
+    public void seek(long tick)
+    {
+        tick = Math.max(0L, Math.min(tick, recordedTicks));
+
+        //Find the last keyframe at or before the tick
+        int keyframe = -1;
+        int low = 0;
+        int high = keyframeTicks.length - 1;
+        while (low <= high)
+        {
+            int middle = (low + high) >>> 1;
+            if (keyframeTicks[middle] <= tick)
+            {
+                keyframe = middle;
+                low = middle + 1;
+            }
+            else
+            {
+                high = middle - 1;
+            }
+        }
+
+        //Jump to the keyframe if stepping there would take longer, or the start if there isn't one
+        if (keyframe >= 0 && (tick < engine.getTicks() || tick - engine.getTicks() > keyframeInterval))
+        {
+            loadKeyframe(keyframe);
+        }
+        else if (tick < engine.getTicks())
+        {
+            rewind();
+        }
+        advance(tick);
+    }
+
+    /**
+     * Move the replay forward a single tick, so a caller can look at the game after every tick.
+     * @return True if the engine was stepped, false if the recorded game has already ended.
+     */
+    public boolean step()
+    {
+        if (engine.getTicks() >= recordedTicks || engine.isGameOver())
+        {
+            return false;
+        }
+        advance(engine.getTicks() + 1);
+        return true;
+    }
+
+    /**
+     * Rewind the engine to tick 0.
+     */
+    private void rewind()
+    {
+        engine.loadState(startSnapshot);
+        replay.position(turnsStart);
+        nextTurnTick = 0L;
+        readTurn();
+    }
+
+    /**
+     * Load a keyframe into the engine and carry on reading the turns from it.
+     * @param keyframe The index of the keyframe.
+     */
+    private void loadKeyframe(int keyframe)
+    {
+        //Copy out the compressed keyframe and read it into the snapshot
+        byte[] data = new byte[keyframeLengths[keyframe]];
+        replay.position(keyframeOffsets[keyframe]);
+        replay.get(data);
+        try (DataInputStream in = new DataInputStream(new InflaterInputStream(new ByteArrayInputStream(data))))
+        {
+            keyframeSnapshot.read(in);
+        }
+        catch (IOException e) //The keyframe is corrupt
+        {
+            throw new UncheckedIOException(e);
+        }
+        engine.loadState(keyframeSnapshot);
+
+        //Carry on reading the turns from the first one after the keyframe
+        replay.position(keyframeTurnPositions[keyframe]);
+        nextTurnTick = keyframeLastTurnTicks[keyframe];
+        readTurn();
+    }
+
+    /**
+     * Read the next turn, its tick is relative to the last turn read.
+     */
+    private void readTurn()
+    {
+        long turn;
+        try
+        {
+            turn = readVarint();
+        }
+        catch (IOException e) //Can't happen, the constructor read every turn up to the terminator
+        {
+            throw new UncheckedIOException(e);
+        }
+        if (turn == 0) //There are no turns left
+        {
+            nextTurnTick = Long.MAX_VALUE;
+        }
+        else
+        {
+            turn = turn - 1;
+            nextTurnTick = nextTurnTick + (turn >>> 2);
+            nextTurnDirection = (int) (turn & 3);
+        }
+    }
+
+    /**
+     * Step the engine up to the start of the given tick, applying each turn on the tick it was recorded on.
+     * @param tick The tick to step to, it must not be behind the engine.
+     */
+    private void advance(long tick)
+    {
+        Snake snake = engine.getSnake();
+        while (engine.getTicks() < tick && !engine.isGameOver())
+        {
+            while (nextTurnTick == engine.getTicks())
+            {
+                snake.setCurrentDirection(nextTurnDirection);
+                readTurn();
+            }
+            engine.step();
+        }
+    }
+
+    /**
+     * Get the engine the replay is played on. The same engine is used for the life of the player.
+     * @return The GameEngine.
+     */
+    public GameEngine getEngine()
+    {
+        return engine;
+    }
+
+    /**
+     * Determine if a played replay ended the same way as the recorded game.
+     * @param engine The engine returned by play().
+     * @return True if the ticks, fruits eaten, and status all match the recording.
+     */
+    public boolean isVerified(GameEngine engine)
+    {
+        return engine.getTicks() == recordedTicks && engine.getFruitsEaten() == recordedFruitsEaten
+                && engine.getStatus() == recordedStatus;
+    }
+
+    /**
+     * Read a varint written by the ReplayRecorder.
+     * @return The value of the varint.
+     * @throws IOException If the replay ends before the varint does, or the varint is too long for a long.
+     */
+    private long readVarint() throws IOException
+    {
+        long value = 0L;
+        int shift = 0;
+        byte b;
+        do
+        {
+            if (!replay.hasRemaining())
+            {
+                throw new IOException("Truncated replay");
+            }
+            if (shift >= 64)
+            {
+                throw new IOException("Corrupt replay, a varint is too long");
+            }
+            b = replay.get();
+            value = value | ((long) (b & 0x7F) << shift);
+            shift = shift + 7;
+        }
+        while (b < 0);
+        return value;
+    }
+
+    /**
+     * Get the seed of the recorded game.
+     * @return The seed.
+     */
+    public long getSeed()
+    {
+        return seed;
+    }
+
+    /**
+     * Get the width of the recorded game's grid.
+     * @return The width in squares.
+     */
+    public int getGridWidth()
+    {
+        return gridWidth;
+    }
+
+    /**
+     * Get the height of the recorded game's grid.
+     * @return The height in squares.
+     */
+    public int getGridHeight()
+    {
+        return gridHeight;
+    }
+
+    /**
+     * Get the number of ticks the recorded game lasted.
+     * @return The number of ticks.
+     */
+    public long getRecordedTicks()
+    {
+        return recordedTicks;
+    }
+
+    /**
+     * Get the number of keyframes in the replay.
+     * @return The number of keyframes, 0 for replays without keyframes.
+     */
+    public int getKeyframeCount()
+    {
+        return keyframeTicks.length;
+    }
+
+    /**
+     * Get the number of fruits eaten in the recorded game.
+     * @return The number of fruits eaten.
+     */
+    public int getRecordedFruitsEaten()
+    {
+        return recordedFruitsEaten;
+    }
+
+    /**
+     * Play replay files back as fast as possible and print how each game ended, for reproducing a game
+     * or re-scoring many of them. The process exits with status 1 if a replay didn't play out the same
+     * way it was recorded or couldn't be read.
+     * @param args The names of the replay files.
+     */
+    public static void main(String[] args)
+    {
+        boolean isVerified = true;
+        for (String fileName : args)
+        {
+            try
+            {
+                ReplayPlayer player = ReplayPlayer.open(fileName);
+                long startTime = System.nanoTime();
+                GameEngine engine = player.play();
+                long time = System.nanoTime() - startTime;
+
+                boolean isMatch = player.isVerified(engine);
+                isVerified &= isMatch;
+                System.out.printf("%s: seed %d, %dx%d, %d ticks, %d fruits eaten, %s in %.2f ms%s%n", fileName,
+                        player.getSeed(), player.getGridWidth(), player.getGridHeight(), engine.getTicks(),
+                        engine.getFruitsEaten(), engine.getDeathCause(), time/1000000.0,
+                        isMatch ? "" : " (MISMATCH, recorded " + player.getRecordedTicks() + " ticks and "
+                                + player.getRecordedFruitsEaten() + " fruits)");
+            }
+            catch (IOException e)
+            {
+                System.out.println(fileName + ": unable to play the replay: " + e);
+                isVerified = false;
+            }
+        }
+
+        if (!isVerified)
+        {
+            System.exit(1);
+        }
+    }
+}
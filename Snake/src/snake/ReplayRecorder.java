@@ -0,0 +1,290 @@
+package snake;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * @author Logan Karstetter
+ * Date: 10/16/2026
+ */
+public class ReplayRecorder
+{
+    /** The first four bytes of every replay file ("SNKR") */
+    public static final int MAGIC = 0x534E4B52;
+    /** The version of the replay format written by this recorder, version 1 replays have no keyframes */
+    public static final int VERSION = 2;
+    /** The last four bytes of a replay with keyframes ("SNKI"), after the position of the keyframe index */
+    public static final int INDEX_MAGIC = 0x534E4B49;
+    /** The default number of ticks between keyframes */
+    public static final int DEFAULT_KEYFRAME_INTERVAL = 1000;
+
+    /**
+     * A compressed snapshot of the game at the start of a tick, and where the turns carry on from it.
+     */
+    private static class Keyframe
+    {
+        /** The tick the snapshot was saved at, before the tick was stepped */
+        long tick;
+        /** The compressed snapshot */
+        byte[] data;
+        /** The position in the replay of the first turn recorded on or after the tick */
+        int turnPosition;
+        /** The tick of the last turn recorded before the tick, the next turn's tick is relative to it */
+        long lastTurnTick;
+    }
+
+    /** The bytes of the replay written so far */
+    private byte[] buffer;
+    /** The number of bytes written to the buffer */
+    private int size;
+
+    /** The tick of the last turn written */
+    private long lastTurnTick = 0L;
+    /** The direction of the last turn written, or -1 before the first tick */
+    private int lastDirection = -1;
+    /** Determines whether the end of the replay has been written */
+    private boolean isFinished = false;
+
+    /** The engine whose game is recorded */
+    private GameEngine engine;
+    /** The number of ticks between keyframes */
+    private int keyframeInterval;
+    /** The keyframes saved so far, they are written after the footer when the replay is finished */
+    private ArrayList<Keyframe> keyframes;
+    /** The snapshot the engine is saved into before it is compressed into a keyframe */
+    private GameSnapshot snapshot;
+    /** The compressor used for the keyframes */
+    private Deflater deflater;
+
+    /**
+     * Create a recorder for a game's turns with a keyframe every DEFAULT_KEYFRAME_INTERVAL ticks.
+     * @param engine The engine whose game is recorded.
+     */
+    public ReplayRecorder(GameEngine engine)
+    {
+        this(engine, DEFAULT_KEYFRAME_INTERVAL);
+    }
+
+    /**
+     * Create a recorder for a game's turns. A replay holds everything needed to play the game again
+     * exactly: the header (magic, version, seed, and board size), then one varint per turn, then a 0 and
+     * the footer (ticks, fruits eaten, and status) used to check the replay played out the same way.
+     * Each turn is written as ((ticks since the last turn << 2) | direction) + 1 so the direction takes
+     * 2 bits, and a turn less than 32 ticks after the one before it fits in a single byte.
+     * After the footer come the keyframes, a Deflater compressed GameSnapshot every keyframeInterval
+     * ticks, followed by their index and finally the index's position and INDEX_MAGIC. A player can seek
+     * to any tick by loading the keyframe before it and stepping at most keyframeInterval ticks.
+     * Pass the recorder to the engine's setRecorder() before its first tick.
+     * @param engine The engine whose game is recorded.
+     * @param keyframeInterval The number of ticks between keyframes.
+     */
+    public ReplayRecorder(GameEngine engine, int keyframeInterval)
+    {
+        this.engine = engine;
+        this.keyframeInterval = keyframeInterval;
+        keyframes = new ArrayList<>();
+        snapshot = new GameSnapshot(engine.getGrid().getGridWidth(), engine.getGrid().getGridHeight());
+        deflater = new Deflater(Deflater.BEST_SPEED);
+        buffer = new byte[256];
+
+        //Write the header
+        writeInt(MAGIC);
+        writeByte(VERSION);
+        writeLong(engine.getSeed());
+        writeVarint(engine.getGrid().getGridWidth());
+        writeVarint(engine.getGrid().getGridHeight());
+    }
+
+    /**
+     * Record the direction the snake moves on a tick. Only the ticks where the direction changes are
+     * written. This is called by the engine at the start of every tick, and saves a keyframe first if
+     * the tick is a multiple of the keyframe interval.
+     * @param tick The tick about to be stepped.
+     * @param direction The direction the snake moves on the tick.
+     */
+    public void record(long tick, int direction)
+    {
+        if (isFinished)
+        {
+            return;
+        }
+        if (tick % keyframeInterval == 0)
+        {
+            saveKeyframe(tick);
+        }
+        if (direction != lastDirection)
+        {
+            writeVarint((((tick - lastTurnTick) << 2) | direction) + 1);
+            lastTurnTick = tick;
+            lastDirection = direction;
+        }
+    }
+
+    /**
+     * Compress a snapshot of the engine into a keyframe.
+     * @param tick The tick about to be stepped.
+     */
+    private void saveKeyframe(long tick)
+    {
+        engine.saveState(snapshot);
+        if (lastDirection >= 0)
+        {
+            //The turn on this tick hasn't been written yet, save the direction from before it so loading
+            //the keyframe matches stepping up to the tick (the turn is applied when the tick is stepped)
+            snapshot.currentDirection = lastDirection;
+        }
+
+        Keyframe keyframe = new Keyframe();
+        keyframe.tick = tick;
+        keyframe.turnPosition = size;
+        keyframe.lastTurnTick = lastTurnTick;
+        try
+        {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(new DeflaterOutputStream(bytes, deflater));
+            snapshot.write(out);
+            out.close(); //Finishes the compressed data, the deflater is left open to be reused
+            keyframe.data = bytes.toByteArray();
+        }
+        catch (IOException e) //Writing to memory doesn't fail
+        {
+            throw new UncheckedIOException(e);
+        }
+        deflater.reset();
+        keyframes.add(keyframe);
+    }
+
+    /**
+     * End the replay by writing the footer, keyframes, and keyframe index. Nothing is recorded after this.
+     */
+    public void finish()
+    {
+        if (!isFinished)
+        {
+            writeVarint(0L);
+            writeVarint(engine.getTicks());
+            writeVarint(engine.getFruitsEaten());
+            writeByte(engine.getStatus());
+
+            //Write the keyframes
+            int[] offsets = new int[keyframes.size()];
+            for (int i = 0; i < keyframes.size(); i++)
+            {
+                offsets[i] = size;
+                for (byte b : keyframes.get(i).data)
+                {
+                    writeByte(b);
+                }
+            }
+
+            //Write the index of the keyframes and where it starts
+            int indexOffset = size;
+            writeInt(keyframes.size());
+            for (int i = 0; i < keyframes.size(); i++)
+            {
+                Keyframe keyframe = keyframes.get(i);
+                writeLong(keyframe.tick);
+                writeInt(offsets[i]);
+                writeInt(keyframe.data.length);
+                writeInt(keyframe.turnPosition);
+                writeLong(keyframe.lastTurnTick);
+            }
+            writeInt(indexOffset);
+            writeInt(INDEX_MAGIC);
+
+            deflater.end();
+            isFinished = true;
+        }
+    }
+
+    /**
+     * Save the replay to a file. The replay is finished first if it hasn't been.
+     * @param fileName The name of the file to write.
+     * @throws IOException If the file could not be written.
+     */
+    public void save(String fileName) throws IOException
+    {
+        finish();
+        try (FileOutputStream out = new FileOutputStream(fileName))
+        {
+            out.write(buffer, 0, size);
+        }
+    }
+
+    /**
+     * Get a copy of the replay written so far.
+     * @return The bytes of the replay.
+     */
+    public byte[] toByteArray()
+    {
+        return Arrays.copyOf(buffer, size);
+    }
+
+    /**
+     * Get the number of bytes in the replay so far.
+     * @return The size of the replay (in bytes).
+     */
+    public int getSize()
+    {
+        return size;
+    }
+
+    /**
+     * Write a single byte, growing the buffer if it is full.
+     * @param value The byte to write (only the low 8 bits are written).
+     */
+    private void writeByte(int value)
+    {
+        if (size == buffer.length)
+        {
+            buffer = Arrays.copyOf(buffer, buffer.length * 2);
+        }
+        buffer[size++] = (byte) value;
+    }
+
+    /**
+     * Write a big-endian int.
+     * @param value The int to write.
+     */
+    private void writeInt(int value)
+    {
+        for (int shift = 24; shift >= 0; shift -= 8)
+        {
+            writeByte(value >>> shift);
+        }
+    }
+
+    /**
+     * Write a big-endian long.
+     * @param value The long to write.
+     */
+    private void writeLong(long value)
+    {
+        for (int shift = 56; shift >= 0; shift -= 8)
+        {
+            writeByte((int) (value >>> shift));
+        }
+    }
+
+    /**
+     * Write a non-negative long as a varint, 7 bits per byte starting with the lowest, with the top bit
+     * of each byte set if more bytes follow.
+     * @param value The value to write.
+     */
+    private void writeVarint(long value)
+    {
+        while ((value & ~0x7FL) != 0)
+        {
+            writeByte((int) (value & 0x7F) | 0x80);
+            value = value >>> 7;
+        }
+        writeByte((int) value);
+    }
+}
@@ -0,0 +1,517 @@
+package snake;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+/**
+ * @author Logan Karstetter
+ * Date: 01/30/2018
+ */
+public class Snake
+{
+    /** The flag/constant value for moving the snake up */
+    public static final int UP = 0;
+    /** The flag/constant value for moving the snake right */
+    public static final int RIGHT = 1;
+    /** The flag/constant value for moving the snake down */
+    public static final int DOWN = 2;
+    /** The flag/constant value for moving the snake left */
+    public static final int LEFT = 3;
+    /** The number of ints saveMove() writes */
+    public static final int MOVE_SIZE = 7;
+
+    /** The current direction the snake's head should move according to the user's input */
+    private int currentDirection;
+
+    /** The circular buffer of squares (y * gridWidth + x) occupied by the snake. The head is stored
+     * at headPosition and the rest of the body trails behind it, wrapping around the end of the array.
+     * The buffer is as large as the grid so the snake can grow to fill it without reallocating. */
+    private int[] body;
+    /** The direction the snake was moving when its head entered each square in the body buffer */
+    private byte[] directions;
+    /** The position of the head within the body buffer */
+    private int headPosition;
+    /** The number of squares occupied by the snake */
+    private int length;
+    /** The number of ticks the tail should stay put so the snake grows */
+    private int pendingGrowth;
+    /** The square the tail left on the last update, or -1 if the tail stayed put */
+    private int lastTailSquare = -1;
+
+    /** The array of serpent head images ordered relative to the direction constants */
+    private BufferedImage[] serpHeadImages;
+    /** The image used for the snake's body */
+    private BufferedImage serpBody;
+    /** The array of serpent tail images ordered relative to the direction constants */
+    private BufferedImage[] serpTailImages;
+
+    /** A reference to the Grid this snake lives on */
+    private Grid grid;
+
+    /**
+     * Create a new Snake to be used in a game of Snake. The snake starts as a single square in the
+     * center of the grid and grows by one square on its first move. The snake does not load any
+     * images, call loadImages() before drawing it if it should be displayed with the serpent images.
+     * @param grid The Grid this snake moves/lives on.
+     */
+    public Snake(Grid grid)
+    {
+        //Store the grid
+        this.grid = grid;
+
+        //Initialize the images arrays (the images stay null until they are loaded)
+        serpHeadImages = new BufferedImage[4];
+        serpTailImages = new BufferedImage[4];
+
+        //Create the body buffer large enough to fill the grid
+        body = new int[grid.getGridWidth() * grid.getGridHeight()];
+        directions = new byte[body.length];
+
+        //Place the snake
+        reset();
+    }
+
+    /**
+     * Start the snake over as a single square in the center of the grid heading left, the way a new
+     * snake starts. The grid should be empty, see Grid.clear().
+     */
+    public void reset()
+    {
+        //Set the initial direction of the snake
+        currentDirection = LEFT;
+
+        //Place the head in the center of the grid, the tail grows out of it on the first move
+        int centerX = grid.getCenterX();
+        int centerY = grid.getCenterY();
+        headPosition = 0;
+        body[headPosition] = centerY * grid.getGridWidth() + centerX;
+        directions[headPosition] = (byte) currentDirection;
+        length = 1;
+        pendingGrowth = 1;
+        lastTailSquare = -1;
+        grid.setSquare(centerX, centerY, Grid.BODY);
+    }
+
+    /**
+     * Load the images used to draw the snake.
+     * @param imageLoader The ImageLoader used to load images for this game.
+     */
+    public void loadImages(ImageLoader imageLoader)
+    {
+        //Load the relevant image(s)
+        serpHeadImages[UP] = imageLoader.getImage("Serpent Head Up");
+        serpHeadImages[RIGHT] = imageLoader.getImage("Serpent Head Right");
+        serpHeadImages[DOWN] = imageLoader.getImage("Serpent Head Down");
+        serpHeadImages[LEFT] = imageLoader.getImage("Serpent Head Left");
+        serpBody = imageLoader.getImage("Serpent Body");
+        serpTailImages[UP] = imageLoader.getImage("Serpent Tail Up");
+        serpTailImages[RIGHT] = imageLoader.getImage("Serpent Tail Right");
+        serpTailImages[DOWN] = imageLoader.getImage("Serpent Tail Down");
+        serpTailImages[LEFT] = imageLoader.getImage("Serpent Tail Left");
+    }
+
+    /**
+     * Update the snake's position according to the current direction. Only the ends of the snake
+     * change when it moves, so the tail square is opened first (unless the snake is growing) and the
+     * new head square is then pushed onto the front of the body buffer. The rest of the body stays
+     * where it is, which makes a move take the same time no matter how long the snake is. If the
+     * new head square is not open then the snake ran into a wall or its own body and the game will end.
+     * @return The state of the square the head moved onto. EMPTY if the snake moved, FRUIT if it moved
+     * and ate the fruit, or BODY/WALL if it ran into something and did not move.
+     */
+    public int update()
+    {
+        //Find the square the head is moving onto
+        int headX = grid.getSquareX(body[headPosition]);
+        int headY = grid.getSquareY(body[headPosition]);
+        switch (currentDirection)
+        {
+            case UP:
+                headY = headY - 1;
+                break;
+            case RIGHT:
+                headX = headX + 1;
+                break;
+            case DOWN:
+                headY = headY + 1;
+                break;
+            case LEFT:
+                headX = headX - 1;
+                break;
+        }
+
+        //Move the tail first since the head is allowed to move onto the square the tail leaves
+        if (pendingGrowth > 0)
+        {
+            //Leave the tail where it is so the snake grows by one square
+            pendingGrowth--;
+            lastTailSquare = -1;
+        }
+        else
+        {
+            lastTailSquare = body[getPosition(length - 1)];
+            grid.setSquare(lastTailSquare, Grid.EMPTY);
+            length--;
+
+            //The square in front of the old tail is drawn as the tail now
+            grid.markDirty(body[getPosition(length - 1)]);
+        }
+
+        //Check what is on the square
+        int square = grid.getSquare(headX, headY);
+        if (square == Grid.BODY || square == Grid.WALL) //The head could not be moved, we hit something
+        {
+            //The snake has crashed and burned
+            return square;
+        }
+
+        //Push the new head onto the front of the body (it replaces the fruit if there is one)
+        grid.markDirty(body[headPosition]); //The old head is drawn as part of the body now
+        grid.setSquare(headX, headY, Grid.BODY);
+        headPosition = (headPosition + 1 == body.length) ? 0 : headPosition + 1;
+        body[headPosition] = headY * grid.getGridWidth() + headX;
+        directions[headPosition] = (byte) currentDirection;
+        length++;
+        return square;
+    }
+
+    /**
+     * Grow the snake by one square. The tail will stay put the next time the snake moves.
+     */
+    public void grow()
+    {
+        pendingGrowth++;
+    }
+
+    /**
+     * Get the number of updates the tail will stay put for while the snake grows. The head can only
+     * move onto the tail's square when the snake isn't growing.
+     * @return The number of squares the snake has left to grow.
+     */
+    public int getPendingGrowth()
+    {
+        return pendingGrowth;
+    }
+
+    /**
+     * Get the position within the body buffer of the i-th square of the snake.
+     * @param i The square of the snake, 0 is the head and length - 1 is the tail.
+     * @return The position of the square within the body buffer.
+     */
+    private int getPosition(int i)
+    {
+        int position = headPosition - i;
+        return (position < 0) ? position + body.length : position;
+    }
+
+    /**
+     * Draw the snake.
+     * @param dbGraphics The Graphics object used to draw the snake.
+     */
+    public void draw(Graphics dbGraphics)
+    {
+        //Set the color to green
+        dbGraphics.setColor(Color.GREEN);
+
+        //Draw the snakes head in the head's current direction
+        //This is tricky because the currentDirection variable may change between the last update and
+        //the call to this draw method. Thus the direction the head moved must be used, not the one stored
+        //in the currentDirection variable. If the currentDirection is used the head may be drawn
+        //facing a direction it is not yet moving in
+        drawSquare(dbGraphics, serpHeadImages[directions[headPosition]], body[headPosition]);
+
+        //Draw the snake's body
+        for (int i = 1; i < length - 1; i++) //Skip the head
+        {
+            drawSquare(dbGraphics, serpBody, body[getPosition(i)]);
+        }
+
+        //Draw the snake's tail in the direction of the square in front of it
+        //This is done to prevent the tail from appearing detached from the rest of the snake
+        if (length > 1)
+        {
+            drawSquare(dbGraphics, serpTailImages[directions[getPosition(length - 2)]],
+                    body[getPosition(length - 1)]);
+        }
+    }
+
+    /**
+     * Draw the snake part of the way between where it was before its last update and where it is now.
+     * Each part of the snake slides from the square it was on before the update (the square now held by
+     * the part behind it), so drawing this at increasing fractions between updates makes the snake glide
+     * smoothly from square to square.
+     * @param dbGraphics The Graphics object used to draw the snake.
+     * @param alpha The fraction of the way to draw the snake between its last and current positions (0 to 1).
+     */
+    public void draw(Graphics dbGraphics, double alpha)
+    {
+        //Set the color to green
+        dbGraphics.setColor(Color.GREEN);
+
+        //Draw the tail first so the rest of the body slides over it
+        for (int i = length - 1; i >= 0; i--)
+        {
+            //Find where this square of the snake was before the last update
+            int square = body[getPosition(i)];
+            int previousSquare;
+            if (i < length - 1)
+            {
+                previousSquare = body[getPosition(i + 1)];
+            }
+            else
+            {
+                previousSquare = (lastTailSquare >= 0) ? lastTailSquare : square;
+            }
+
+            //Pick the image for this part of the snake
+            BufferedImage image;
+            if (i == 0)
+            {
+                image = serpHeadImages[directions[headPosition]];
+            }
+            else if (i == length - 1)
+            {
+                image = serpTailImages[directions[getPosition(length - 2)]];
+            }
+            else
+            {
+                image = serpBody;
+            }
+
+            //Draw the square between its previous and current positions
+            int previousX = grid.getSquareX(previousSquare);
+            int previousY = grid.getSquareY(previousSquare);
+            int x = (int) Math.round(Grid.SQUARE_WIDTH * (previousX + (grid.getSquareX(square) - previousX) * alpha));
+            int y = (int) Math.round(Grid.SQUARE_HEIGHT * (previousY + (grid.getSquareY(square) - previousY) * alpha));
+            if (image != null)
+            {
+                dbGraphics.drawImage(image, x, y, null);
+            }
+            else
+            {
+                dbGraphics.fillRect(x, y, Grid.SQUARE_WIDTH, Grid.SQUARE_HEIGHT);
+            }
+        }
+    }
+
+    /**
+     * Draw the part of the snake (head, body, or tail) that occupies the given square. This is used
+     * to repaint a single square without drawing the rest of the snake.
+     * @param dbGraphics The Graphics object used to draw the square.
+     * @param square The index (y * gridWidth + x) of a square occupied by the snake.
+     */
+    public void drawPart(Graphics dbGraphics, int square)
+    {
+        dbGraphics.setColor(Color.GREEN);
+        if (square == body[headPosition])
+        {
+            drawSquare(dbGraphics, serpHeadImages[directions[headPosition]], square);
+        }
+        else if (square == body[getPosition(length - 1)])
+        {
+            drawSquare(dbGraphics, serpTailImages[directions[getPosition(length - 2)]], square);
+        }
+        else
+        {
+            drawSquare(dbGraphics, serpBody, square);
+        }
+    }
+
+    /**
+     * Draw a single square of the snake at its position on the grid.
+     * @param dbGraphics The Graphics object used to draw the square.
+     * @param image The BufferedImage used to display this square.
+     * @param square The index (y * gridWidth + x) of the square.
+     */
+    private void drawSquare(Graphics dbGraphics, BufferedImage image, int square)
+    {
+        int x = Grid.SQUARE_WIDTH * grid.getSquareX(square);
+        int y = Grid.SQUARE_HEIGHT * grid.getSquareY(square);
+        if (image != null)
+        {
+            dbGraphics.drawImage(image, x, y, null);
+        }
+        else //If the image is null then just draw a green rectangle
+        {
+            //The snake's draw method sets the color to green once, so it's not needed here
+            dbGraphics.fillRect(x, y, Grid.SQUARE_WIDTH, Grid.SQUARE_HEIGHT);
+        }
+    }
+
+    /**
+     * Save the snake's squares, directions, and growth into a snapshot. The squares are saved from the
+     * tail to the head so they don't depend on where the snake was in the body buffer.
+     * @param snapshot The snapshot to save into.
+     */
+    public void saveState(GameSnapshot snapshot)
+    {
+        for (int i = 0; i < length; i++)
+        {
+            int position = getPosition(length - 1 - i);
+            snapshot.snakeSquares[i] = body[position];
+            snapshot.snakeDirections[i] = directions[position];
+        }
+        snapshot.snakeLength = length;
+        snapshot.pendingGrowth = pendingGrowth;
+        snapshot.currentDirection = currentDirection;
+        snapshot.lastTailSquare = lastTailSquare;
+    }
+
+    /**
+     * Load the snake from a snapshot. The grid's squares are loaded separately by the Grid.
+     * @param snapshot The snapshot to load.
+     */
+    public void loadState(GameSnapshot snapshot)
+    {
+        length = snapshot.snakeLength;
+        System.arraycopy(snapshot.snakeSquares, 0, body, 0, length);
+        System.arraycopy(snapshot.snakeDirections, 0, directions, 0, length);
+        headPosition = length - 1;
+        pendingGrowth = snapshot.pendingGrowth;
+        currentDirection = snapshot.currentDirection;
+        lastTailSquare = snapshot.lastTailSquare;
+    }
+
+    /**
+     * Save what the next update (and any growth after it) can change, so the move can be taken back
+     * with undoMove(). An update only changes the ends of the snake and the body buffer slot in front of
+     * the head, so this is a handful of ints however long the snake is. The grid's squares are undone
+     * separately by the Grid.
+     * @param moves The array to save into.
+     * @param offset The position in the array to save at, MOVE_SIZE ints are written.
+     */
+    public void saveMove(int[] moves, int offset)
+    {
+        int nextPosition = (headPosition + 1 == body.length) ? 0 : headPosition + 1;
+        moves[offset] = headPosition;
+        moves[offset + 1] = length;
+        moves[offset + 2] = pendingGrowth;
+        moves[offset + 3] = lastTailSquare;
+        moves[offset + 4] = currentDirection;
+        moves[offset + 5] = body[nextPosition];
+        moves[offset + 6] = directions[nextPosition];
+    }
+
+    /**
+     * Take back a move saved by saveMove(). Moves must be undone in the reverse order they were made.
+     * @param moves The array the move was saved into.
+     * @param offset The position in the array it was saved at.
+     */
+    public void undoMove(int[] moves, int offset)
+    {
+        headPosition = moves[offset];
+        length = moves[offset + 1];
+        pendingGrowth = moves[offset + 2];
+        lastTailSquare = moves[offset + 3];
+        currentDirection = moves[offset + 4];
+        int nextPosition = (headPosition + 1 == body.length) ? 0 : headPosition + 1;
+        body[nextPosition] = moves[offset + 5];
+        directions[nextPosition] = (byte) moves[offset + 6];
+    }
+
+    /**
+     * Copy the snake into another snake on a grid of the same size. Only the part of the body buffer the
+     * snake is in is copied. The grid's squares are copied separately by the Grid.
+     * @param other The snake to copy into.
+     */
+    public void copyInto(Snake other)
+    {
+        //Copy the body from the tail to the head, in two pieces if it wraps around the end of the buffer
+        int tailPosition = getPosition(length - 1);
+        if (tailPosition <= headPosition)
+        {
+            System.arraycopy(body, tailPosition, other.body, 0, length);
+            System.arraycopy(directions, tailPosition, other.directions, 0, length);
+        }
+        else
+        {
+            int wrapped = body.length - tailPosition;
+            System.arraycopy(body, tailPosition, other.body, 0, wrapped);
+            System.arraycopy(directions, tailPosition, other.directions, 0, wrapped);
+            System.arraycopy(body, 0, other.body, wrapped, headPosition + 1);
+            System.arraycopy(directions, 0, other.directions, wrapped, headPosition + 1);
+        }
+        other.headPosition = length - 1;
+        other.length = length;
+        other.pendingGrowth = pendingGrowth;
+        other.currentDirection = currentDirection;
+        other.lastTailSquare = lastTailSquare;
+    }
+
+    /**
+     * Set the direction the snake is currently traveling.
+     * @param newDirection The new direction for the snake to travel.
+     */
+    public void setCurrentDirection(int newDirection)
+    {
+        this.currentDirection = newDirection;
+    }
+
+    /**
+     * Get the direction the snake will move on its next update.
+     * @return The current direction.
+     */
+    public int getCurrentDirection()
+    {
+        return currentDirection;
+    }
+
+    /**
+     * Determine if turning in the given direction would change the way the snake moves. Turning the
+     * way the head is already moving does nothing, and turning straight back would run the head into
+     * the body (once the snake is longer than one square), so neither counts as a turn.
+     * @param direction The direction to turn (UP, RIGHT, DOWN, or LEFT).
+     * @return True if the direction is a valid turn from the head's direction.
+     */
+    public boolean isTurn(int direction)
+    {
+        int headDirection = directions[headPosition];
+        return direction != headDirection && (length == 1 || direction != ((headDirection + 2) & 3));
+    }
+
+    /**
+     * Get the direction the snake's head moved on its last update.
+     * @return The direction of the head.
+     */
+    public int getHeadDirection()
+    {
+        return directions[headPosition];
+    }
+
+    /**
+     * Get the number of squares occupied by the snake.
+     * @return The length of the snake.
+     */
+    public int getLength()
+    {
+        return length;
+    }
+
+    /**
+     * Get the square occupied by the snake's head.
+     * @return The index (y * gridWidth + x) of the head's square.
+     */
+    public int getHeadSquare()
+    {
+        return body[headPosition];
+    }
+
+    /**
+     * Get the square occupied by the snake's tail.
+     * @return The index (y * gridWidth + x) of the tail's square.
+     */
+    public int getTailSquare()
+    {
+        return body[getPosition(length - 1)];
+    }
+
+    /**
+     * Get the i-th square occupied by the snake.
+     * @param i The square of the snake, 0 is the head and getLength() - 1 is the tail.
+     * @return The index (y * gridWidth + x) of the square.
+     */
+    public int getSquare(int i)
+    {
+        return body[getPosition(i)];
+    }
+}
@@ -0,0 +1,40 @@
+package snake;
+
+/**
+ * @author Logan Karstetter
+ * Date: 10/16/2026
+ */
+public interface SnakeController
+{
+    /**
+     * Decide the direction the snake should move on the next tick. This is called by the game thread
+     * before every update in place of the player's key presses, and is given the engine before the tick
+     * is stepped. The controller must not change the engine's state.
+     * @param engine The engine of the game being played.
+     * @return The direction to move (Snake.UP, RIGHT, DOWN, or LEFT), or -1 to keep the current direction.
+     */
+    int nextDirection(GameEngine engine);
+
+    /**
+     * Set how long the controller may take to decide each move. The game thread sets this before every
+     * call to nextDirection() from the time it has for each update, so controllers that search for as
+     * long as they are allowed to never slow the game down. Controllers that decide in a fixed amount of
+     * time can ignore it.
+     * @param nanos The time the next decision may take (in nanos).
+     */
+    default void setTimeBudget(long nanos)
+    {
+        //Most controllers don't need to know
+    }
+
+    /**
+     * Determine if the controller has given up on the game because it can't make any more progress, such
+     * as a solver that can't reach the last fruit. The game loop checks this after every nextDirection()
+     * and ends the game as a stall instead of stepping it, so the snake doesn't circle forever or crash.
+     * @return True if the controller has given up, false by default.
+     */
+    default boolean isStalled()
+    {
+        return false;
+    }
+}
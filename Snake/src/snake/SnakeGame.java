@@ -0,0 +1,244 @@
+package snake;
+
+import javax.swing.*;
+import java.awt.event.WindowEvent;
+import java.awt.event.WindowListener;
+import java.util.Arrays;
+
+/**
+ * @author Logan Karstetter
+ * Date: 01/28/2018
+ */
+public class SnakeGame extends JFrame implements WindowListener
+{
+    /** The desired FPS/UPS for SnakeGame */
+    private static int DEFAULT_FPS = 6; //This is an average speed, increase the FPS for a challenge
+
+    /** The SnakePanel used to play SnakeGame */
+    private SnakePanel sPanel;
+
+    /**
+     * A single-player SnakeGame game.
+     * @param FPS The desired FPS.
+     */
+    public SnakeGame(int FPS)
+    {
+        this(FPS, new String[0]);
+    }
+
+    /**
+     * A single-player SnakeGame game with command line options applied to the SnakePanel.
+     * @param FPS The desired FPS.
+     * @param options The options to apply, see main() for the supported options.
+     */
+    public SnakeGame(int FPS, String[] options)
+    {
+        super("SnakeGame");
+
+        //The HamiltonianSolver can only fill a grid with an even width or height for certain, so it plays on a
+        //grid one column narrower than the panel's usual odd by odd grid
+        int gridWidth = SnakePanel.SWIDTH/Grid.SQUARE_WIDTH;
+        int gridHeight = SnakePanel.SHEIGHT/Grid.SQUARE_HEIGHT;
+        if (Arrays.asList(options).contains("-solver") && gridWidth % 2 == 1 && gridHeight % 2 == 1)
+        {
+            gridWidth--;
+        }
+
+        //Create the SnakePanel and apply the options before it starts
+        sPanel = new SnakePanel(FPS, gridWidth, gridHeight);
+        for (String option : options)
+        {
+            applyOption(option);
+        }
+
+        //Add the SnakePanel to the contentPane
+        getContentPane().add(sPanel);
+
+        //Add a window listener to handle pausing
+        addWindowListener(this);
+        setResizable(false);
+        setVisible(true);
+        pack();
+        setLocationRelativeTo(null);
+    }
+
+    /**
+     * Apply a single command line option to the game. Unknown options and options whose value isn't a
+     * valid number are reported and ignored.
+     * @param option The option, see main() for the supported options.
+     */
+    private void applyOption(String option)
+    {
+        try
+        {
+            if (option.equals("-volatile"))
+            {
+                sPanel.setPresentMode(SnakePanel.PRESENT_VOLATILE);
+            }
+            else if (option.equals("-bufferstrategy"))
+            {
+                //Swing shouldn't repaint over the frames flipped onto the window
+                setIgnoreRepaint(true);
+                sPanel.setPresentMode(SnakePanel.PRESENT_BUFFER_STRATEGY);
+            }
+            else if (option.equals("-fixed"))
+            {
+                sPanel.setFixedStep(0);
+            }
+            else if (option.startsWith("-render="))
+            {
+                sPanel.setFixedStep(Integer.valueOf(option.substring("-render=".length())));
+            }
+            else if (option.startsWith("-seed="))
+            {
+                sPanel.setSeed(Long.valueOf(option.substring("-seed=".length())));
+            }
+            else if (option.startsWith("-record="))
+            {
+                sPanel.setRecordFile(option.substring("-record=".length()));
+            }
+            else if (option.equals("-autopilot"))
+            {
+                sPanel.setController(new Autopilot());
+            }
+            else if (option.equals("-solver"))
+            {
+                sPanel.setController(new HamiltonianSolver());
+            }
+            else if (option.equals("-mcts"))
+            {
+                sPanel.setController(new MonteCarloSearch());
+            }
+            else if (option.startsWith("-mcts="))
+            {
+                sPanel.setController(new MonteCarloSearch(Integer.valueOf(option.substring("-mcts=".length()))));
+            }
+            else if (option.startsWith("-export="))
+            {
+                sPanel.setExportFile(option.substring("-export=".length()));
+            }
+            else if (option.startsWith("-replay="))
+            {
+                sPanel.setReplay(option.substring("-replay=".length()));
+            }
+            else
+            {
+                System.out.println("Ignoring unknown option: " + option);
+            }
+        }
+        catch (IllegalArgumentException e) //The value after the = isn't a number, or is out of range (-mcts=0)
+        {
+            System.out.println("Ignoring option with an invalid number: " + option);
+        }
+    }
+
+    /**
+     * Resumes the game when the window is activated/invoked.
+     * @param e A WindowEvent
+     */
+    public void windowActivated(WindowEvent e)
+    {
+        sPanel.resumeGame();
+    }
+
+    /**
+     * Pauses the game when the window is deactivated.
+     * @param e A WindowEvent
+     */
+    public void windowDeactivated(WindowEvent e)
+    {
+        sPanel.pauseGame();
+    }
+
+    /**
+     * Resumes the game when the window is deiconified/invoked.
+     * @param e A WindowEvent
+     */
+    public void windowDeiconified(WindowEvent e)
+    {
+        sPanel.resumeGame();
+    }
+
+    /**
+     * Pauses the game when the window is iconified.
+     * @param e A WindowEvent
+     */
+    public void windowIconified(WindowEvent e)
+    {
+        sPanel.pauseGame();
+    }
+
+    /**
+     * Stops the game when the window is closed.
+     * @param e A WindowEvent
+     */
+    public void windowClosing(WindowEvent e)
+    {
+        sPanel.stopGame();
+    }
+
+    /**
+     * This method does nothing.
+     * @param e A WindowEvent
+     */
+    public void windowOpened(WindowEvent e)
+    {
+        //Do nothing
+    }
+
+    /**
+     * This method does nothing.
+     * @param e A WindowEvent
+     */
+    public void windowClosed(WindowEvent e)
+    {
+        //Do nothing
+    }
+
+    /**
+     * Launches a game of Snake. A single integer value can be specified as a command line argument to
+     * set the FPS for the game. If no value is provided it will run at the default FPS (6). Options can
+     * follow the FPS (or be given without it):
+     * -volatile        Render into an accelerated VolatileImage before drawing it onto the screen.
+     * -bufferstrategy  Page flip frames onto the window using a BufferStrategy.
+     * -fixed           Update at exactly FPS updates per second and render as fast as possible in between,
+     *                  drawing the snake gliding between squares.
+     * -render=N        Like -fixed but render at most N frames per second (N can be above FPS, e.g. 144).
+     * -seed=N          Spawn the fruit from seed N, so the same turns on the same ticks replay the same game.
+     * -record=FILE     Save a replay of the game to FILE when it quits, play it back with ReplayPlayer.
+     * -replay=FILE     Watch the replay in FILE, space pauses, left/right and up/down scrub, home/end jump.
+     * -autopilot       Let the Autopilot steer the snake, the arrow keys are ignored.
+     * -solver          Let the HamiltonianSolver fill the board, the arrow keys are ignored. The board is a
+     *                  column narrower (22x23) so it can be filled.
+     * -mcts[=N]        Let a MonteCarloSearch on N threads (every core by default) steer the snake, it
+     *                  searches for half of each update.
+     * -export=FILE     Write every tick to the memory-mapped FILE and steer the snake with the actions a
+     *                  trainer writes back, see ObservationExporter for the layout.
+     * @param args An integer specifying the requested FPS followed by any options.
+     */
+    public static void main(String[] args)
+    {
+        //Check for command line arguments
+        if (args.length > 0 && !args[0].startsWith("-"))
+        {
+            //Cast the first argument to an integer
+            try
+            {
+                //Start a game with the requested FPS
+                int FPS = Integer.valueOf(args[0]);
+                System.out.println("Running Snake with FPS: " + FPS);
+                new SnakeGame(FPS, Arrays.copyOfRange(args, 1, args.length));
+            }
+            catch (Exception e) //Horrible practice, but error catching isn't useful here
+            {
+                System.out.println("Unable to set requested FPS value: " + args[0] + "\nPlease enter only integers.  Exiting...");
+                System.exit(0);
+            }
+        }
+        else //Use the default FPS
+        {
+            System.out.println("Running Snake with default FPS: " + DEFAULT_FPS);
+            new SnakeGame(DEFAULT_FPS, args);
+        }
+    }
+}
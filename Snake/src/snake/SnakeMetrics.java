@@ -0,0 +1,184 @@
+package snake;
+
+/**
+ * @author Logan Karstetter
+ * Date: 10/16/2026
+ */
+public class SnakeMetrics implements SnakeMetricsMBean
+{
+    /** The amount of time between each publish of the per second rates (in nanos) */
+    private static final long PUBLISH_INTERVAL = 1000000000L;
+
+    /** The panel running the game loop whose FPS can be changed */
+    private SnakePanel panel;
+
+    /** The number of updates since the rates were last published (only used by the game thread) */
+    private long updateCount = 0L;
+    /** The number of frames rendered since the rates were last published (only used by the game thread) */
+    private long frameCount = 0L;
+    /** The time the rates were last published (only used by the game thread, in nanos) */
+    private long publishTime;
+
+    /** The number of updates per second over the last publish interval */
+    private volatile double updatesPerSecond;
+    /** The number of frames rendered per second over the last publish interval */
+    private volatile double framesPerSecond;
+    /** The amount of time the game loop was behind when the stats were last published (in ms) */
+    private volatile double overTimeMillis;
+    /** The number of frames skipped when the stats were last published */
+    private volatile long framesSkipped;
+    /** The mean time taken by a game update when the stats were last published (in ms) */
+    private volatile double meanTickMillis;
+    /** The longest time taken by a game update when the stats were last published (in ms) */
+    private volatile double maxTickMillis;
+    /** The length of the snake when the stats were last published */
+    private volatile int snakeLength;
+    /** The number of fruits eaten when the stats were last published */
+    private volatile int fruitsEaten;
+
+    /**
+     * Create the metrics exposed over JMX for a SnakePanel's game loop. The game loop counts its updates
+     * and frames here and publishes the rest of its stats once a second, so JMX clients only ever read
+     * volatile copies and never touch anything the game thread is modifying.
+     * @param panel The SnakePanel running the game loop.
+     */
+    public SnakeMetrics(SnakePanel panel)
+    {
+        this.panel = panel;
+        publishTime = System.nanoTime();
+    }
+
+    /**
+     * Count a game update. This must only be called by the game thread.
+     */
+    public void updated()
+    {
+        updateCount++;
+    }
+
+    /**
+     * Count a rendered frame and publish the stats if a publish interval has passed since they were
+     * last published. This must only be called by the game thread.
+     * @param overTime The amount of time the game loop is behind (in nanos).
+     * @param frameStats The histograms of the time spent in each phase of the game loop.
+     * @param engine The engine being played.
+     */
+    public void rendered(long overTime, FrameStats frameStats, GameEngine engine)
+    {
+        frameCount++;
+        long now = System.nanoTime();
+        long elapsed = now - publishTime;
+        if (elapsed >= PUBLISH_INTERVAL)
+        {
+            //Calculate the rates over the interval
+            updatesPerSecond = updateCount * 1000000000.0 / elapsed;
+            framesPerSecond = frameCount * 1000000000.0 / elapsed;
+            updateCount = 0L;
+            frameCount = 0L;
+            publishTime = now;
+
+            //Copy the rest of the stats
+            overTimeMillis = overTime/1000000.0;
+            framesSkipped = frameStats.getFramesSkipped();
+            meanTickMillis = frameStats.getUpdateTimes().getMean()/1000000.0;
+            maxTickMillis = frameStats.getUpdateTimes().getMax()/1000000.0;
+            snakeLength = engine.getSnake().getLength();
+            fruitsEaten = engine.getFruitsEaten();
+        }
+    }
+
+    /**
+     * Get the number of game updates performed over the last second.
+     * @return The achieved UPS.
+     */
+    public double getUpdatesPerSecond()
+    {
+        return updatesPerSecond;
+    }
+
+    /**
+     * Get the number of frames rendered over the last second.
+     * @return The achieved FPS.
+     */
+    public double getFramesPerSecond()
+    {
+        return framesPerSecond;
+    }
+
+    /**
+     * Get the amount of time the game loop is behind, the time it has taken beyond its loopPeriods that
+     * hasn't been made up yet by skipping frames.
+     * @return The overTime (in ms).
+     */
+    public double getOverTimeMillis()
+    {
+        return overTimeMillis;
+    }
+
+    /**
+     * Get the number of frames that were not rendered so the updates could catch up.
+     * @return The number of frames skipped.
+     */
+    public long getFramesSkipped()
+    {
+        return framesSkipped;
+    }
+
+    /**
+     * Get the mean time taken by a game update.
+     * @return The mean tick time (in ms).
+     */
+    public double getMeanTickMillis()
+    {
+        return meanTickMillis;
+    }
+
+    /**
+     * Get the longest time taken by a game update.
+     * @return The max tick time (in ms).
+     */
+    public double getMaxTickMillis()
+    {
+        return maxTickMillis;
+    }
+
+    /**
+     * Get the number of squares occupied by the snake.
+     * @return The length of the snake.
+     */
+    public int getSnakeLength()
+    {
+        return snakeLength;
+    }
+
+    /**
+     * Get the number of fruits eaten by the snake (the score).
+     * @return The number of fruits eaten.
+     */
+    public int getFruitsEaten()
+    {
+        return fruitsEaten;
+    }
+
+    /**
+     * Get the desired FPS/UPS of the game loop.
+     * @return The target FPS.
+     */
+    public int getTargetFPS()
+    {
+        return panel.getFPS();
+    }
+
+    /**
+     * Set the desired FPS/UPS of the game loop, it takes effect on the next cycle of the loop.
+     * @param FPS The new target FPS (greater than 0).
+     */
+    public void setTargetFPS(int FPS)
+    {
+        if (FPS <= 0)
+        {
+            throw new IllegalArgumentException("The target FPS must be greater than 0: " + FPS);
+        }
+        panel.setFPS(FPS);
+    }
+}
@@ -0,0 +1,69 @@
+package snake;
+
+/**
+ * @author Logan Karstetter
+ * Date: 10/16/2026
+ */
+public interface SnakeMetricsMBean
+{
+    /**
+     * Get the number of game updates performed over the last second.
+     * @return The achieved UPS.
+     */
+    double getUpdatesPerSecond();
+
+    /**
+     * Get the number of frames rendered over the last second.
+     * @return The achieved FPS.
+     */
+    double getFramesPerSecond();
+
+    /**
+     * Get the amount of time the game loop is behind, the time it has taken beyond its loopPeriods that
+     * hasn't been made up yet by skipping frames.
+     * @return The overTime (in ms).
+     */
+    double getOverTimeMillis();
+
+    /**
+     * Get the number of frames that were not rendered so the updates could catch up.
+     * @return The number of frames skipped.
+     */
+    long getFramesSkipped();
+
+    /**
+     * Get the mean time taken by a game update.
+     * @return The mean tick time (in ms).
+     */
+    double getMeanTickMillis();
+
+    /**
+     * Get the longest time taken by a game update.
+     * @return The max tick time (in ms).
+     */
+    double getMaxTickMillis();
+
+    /**
+     * Get the number of squares occupied by the snake.
+     * @return The length of the snake.
+     */
+    int getSnakeLength();
+
+    /**
+     * Get the number of fruits eaten by the snake (the score).
+     * @return The number of fruits eaten.
+     */
+    int getFruitsEaten();
+
+    /**
+     * Get the desired FPS/UPS of the game loop.
+     * @return The target FPS.
+     */
+    int getTargetFPS();
+
+    /**
+     * Set the desired FPS/UPS of the game loop, it takes effect on the next cycle of the loop.
+     * @param FPS The new target FPS (greater than 0).
+     */
+    void setTargetFPS(int FPS);
+}
@@ -0,0 +1,1036 @@
+package snake;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.KeyAdapter;
+import java.awt.event.KeyEvent;
+import java.awt.image.BufferStrategy;
+import java.awt.image.VolatileImage;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * @author Logan Karstetter
+ * Date: 01/28/2018
+ */
+public class SnakePanel extends JPanel implements Runnable
+{
+    /** The default width of the SnakePanel */
+    public static final int SWIDTH = 690; //Make these clean multiples of the Grid.SQUARE_WIDTH/HEIGHT
+    /** The default height of the SnakePanel */
+    public static final int SHEIGHT = 690;
+
+    /** The flag/constant value for presenting frames by rendering into an image and drawing it onto the panel */
+    public static final int PRESENT_IMAGE = 0;
+    /** The flag/constant value for presenting frames by rendering into an accelerated VolatileImage */
+    public static final int PRESENT_VOLATILE = 1;
+    /** The flag/constant value for presenting frames by page flipping the window's BufferStrategy */
+    public static final int PRESENT_BUFFER_STRATEGY = 2;
+
+    /** The number of buffers used when presenting with a BufferStrategy */
+    private static final int NUM_BUFFERS = 2;
+
+    /** The thread that runs the game loop */
+    private Thread animator;
+    /** Determines whether the animator thread is running */
+    private volatile boolean isRunning = false;
+    /** Determines whether the game is paused */
+    private volatile boolean isPaused = false;
+    /** Determines whether the game is over */
+    private volatile boolean gameOver = false;
+
+    /** The desired FPS/UPS, it can be changed while the game is running through setFPS() */
+    private volatile int FPS;
+    /** The amount of time allocated for each cycle of the game loop (in nanos) */
+    private volatile long loopPeriod;
+    /** The time the game started (in nanos) */
+    private long gameStartTime;
+    /** The amount of time spent playing the game (in secs) */
+    private int timeSpentInGame;
+
+    /** The max number of times the animator thread can loop without sleeping
+     * before it is forced to sleep/yield to let other threads execute. */
+    private static final int NUM_DELAYS_FOR_YIELD = 16;
+    /** The max number of frames that can be skipped before the game is forced to render */
+    private static final int MAX_FRAMES_SKIPPED = 5;
+    /** The fraction of the loopPeriod a controller can spend deciding a move, the rest is left for the
+     * update, rendering, and sleeping */
+    private static final double CONTROLLER_BUDGET = 0.5;
+
+    /** Determines whether the game loop updates at a fixed rate (FPS) and renders separately from the updates */
+    private boolean isFixedStep = false;
+    /** The amount of time allocated for rendering each frame in the fixed step loop (in nanos), 0 is uncapped */
+    private long renderPeriod = 0L;
+    /** The fraction of the way from the last update to the next one at the time of rendering (0 to 1) */
+    private double interpolation = 1.0;
+    /** The amount of time before a deadline the fixed step loop stops parking and spins (in nanos) */
+    private static final long SPIN_THRESHOLD = 1000000L;
+
+    /** The Graphics used to double buffer/render offscreen */
+    private Graphics dbGraphics;
+    /** The image that is created/rendered offscreen and later painted to the screen */
+    private Image dbImage;
+
+    /** The way frames are presented on the screen (PRESENT_IMAGE, PRESENT_VOLATILE, or PRESENT_BUFFER_STRATEGY) */
+    private int presentMode = PRESENT_IMAGE;
+    /** The accelerated image rendered into when presenting with PRESENT_VOLATILE */
+    private VolatileImage volatileImage;
+    /** The window's BufferStrategy used when presenting with PRESENT_BUFFER_STRATEGY */
+    private BufferStrategy bufferStrategy;
+    /** The location of the panel within its window, used to draw into the window's BufferStrategy */
+    private Point bufferOffset;
+
+    /** The max number of key presses that can be waiting to be applied to the snake */
+    private static final int INPUT_CAPACITY = 16;
+    /** The queue of direction key presses passed from the event thread to the game thread */
+    private InputQueue inputQueue;
+
+    /** The histograms of the time spent in each phase of the game loop */
+    private FrameStats frameStats;
+    /** Determines whether the overlay of frame times should be drawn, it is toggled by the F3 key */
+    private volatile boolean isOverlayVisible = false;
+    /** Determines whether the renderer is currently drawing the overlay (only used by the game thread) */
+    private boolean isOverlayShown = false;
+    /** The recorder writing the game's turns, or null if the game isn't being recorded */
+    private ReplayRecorder recorder;
+    /** The name of the file the replay is saved to when the game quits */
+    private String recordFileName;
+
+    /** The controller that steers the snake instead of the player's key presses, or null if the player steers */
+    private SnakeController controller;
+    /** The exporter sharing each tick with a trainer in another process, or null if the game isn't exported */
+    private ObservationExporter exporter;
+
+    /** The player of the replay being viewed, or null if a game is being played */
+    private ReplayPlayer replayPlayer;
+    /** The number of ticks the replay viewer has been asked to scrub forwards (or backwards if negative) */
+    private AtomicLong replayScrub = new AtomicLong();
+    /** The tick the replay viewer has been asked to jump to, or -1 */
+    private volatile long replaySeekTarget = -1L;
+    /** Determines whether the replay plays forwards at FPS ticks per second, or holds still to be scrubbed */
+    private volatile boolean isReplayPlaying = true;
+    /** The number of ticks the up and down keys scrub the replay by */
+    private static final int REPLAY_SCRUB_TICKS = 100;
+
+    /** The game loop metrics exposed over JMX */
+    private SnakeMetrics metrics;
+    /** The name the metrics are registered under with the platform MBeanServer */
+    private static final String METRICS_NAME = "Snake:type=GameLoop";
+
+    /** The width of this SnakePanel, it fits the grid exactly */
+    private int pWidth;
+    /** The height of this SnakePanel */
+    private int pHeight;
+
+    /** The ImageLoader used to load the game images */
+    private ImageLoader imageLoader;
+
+    /** The headless engine that owns the grid, snake, and fruit */
+    private GameEngine engine;
+    /** The renderer that draws the engine's game into the dbImage */
+    private GameRenderer renderer;
+
+    /**
+     * Create a new SnakePanel for playing Snake. The panel is responsible for running the game loop
+     * which updates, renders, and draws the game at the desired FPS/UPS.
+     */
+    public SnakePanel(int FPS)
+    {
+        this(FPS, SWIDTH/Grid.SQUARE_WIDTH, SHEIGHT/Grid.SQUARE_HEIGHT);
+    }
+
+    /**
+     * Create a new SnakePanel for playing Snake on a grid of the given size, the panel is sized to fit it.
+     * @param FPS The desired FPS.
+     * @param gridWidth The width of the grid in squares.
+     * @param gridHeight The height of the grid in squares.
+     */
+    public SnakePanel(int FPS, int gridWidth, int gridHeight)
+    {
+        //Calculate the loopPeriod
+        setFPS(FPS);
+
+        //Set the background color and size of the PongPanel
+        pWidth = gridWidth * Grid.SQUARE_WIDTH;
+        pHeight = gridHeight * Grid.SQUARE_HEIGHT;
+        setDoubleBuffered(false);
+        setBackground(Color.BLACK);
+        setPreferredSize(new Dimension(pWidth, pHeight));
+
+        //Request focus to the SnakePanel so it can receive key events
+        setFocusable(true);
+        requestFocus();
+        inputQueue = new InputQueue(INPUT_CAPACITY);
+        frameStats = new FrameStats();
+        metrics = new SnakeMetrics(this);
+        initKeyListener();
+
+        //Initialize the imageLoader and load the game images
+        imageLoader = new ImageLoader();
+        imageLoader.loadImagesFromFile("ImagesConfig.txt");
+
+        //Create the game with a seed picked from the clock
+        createGame(System.nanoTime());
+    }
+
+    /**
+     * Create the engine and renderer for a new game.
+     * @param seed The seed that decides where the fruit spawns.
+     */
+    private void createGame(long seed)
+    {
+        //Create the GameEngine with a grid that fills the panel
+        engine = new GameEngine(pWidth/Grid.SQUARE_WIDTH, pHeight/Grid.SQUARE_HEIGHT, seed);
+
+        //Create the GameRenderer, it gives the snake and fruit their images. The dbImage is kept between
+        //frames so only the squares that changed need to be repainted
+        renderer = new GameRenderer(engine, imageLoader, pWidth, pHeight);
+        renderer.setIncremental(true);
+    }
+
+    /**
+     * Play a game with the given seed, the same seed and the same turns on the same ticks always play
+     * out the same way. This should be set before the game starts.
+     * @param seed The seed that decides where the fruit spawns.
+     */
+    public void setSeed(long seed)
+    {
+        createGame(seed);
+        if (recordFileName != null) //Record the new game instead
+        {
+            setRecordFile(recordFileName);
+        }
+        if (exporter != null) //Export the new game instead
+        {
+            engine.setExporter(exporter);
+        }
+    }
+
+    /**
+     * Let a controller steer the snake instead of the player's key presses. The controller is asked for
+     * a direction by the game thread before every update. This should be set before the game starts.
+     * @param controller The controller, or null to let the player steer.
+     */
+    public void setController(SnakeController controller)
+    {
+        this.controller = controller;
+    }
+
+    /**
+     * View a replay instead of playing a game. The replay plays forwards at the desired FPS, space pauses
+     * it, the left and right keys scrub a tick at a time, up and down scrub REPLAY_SCRUB_TICKS ticks, and
+     * home and end jump to the start and end. This should be set before the game starts.
+     * @param replayFileName The name of the replay file.
+     */
+    public void setReplay(String replayFileName)
+    {
+        try
+        {
+            replayPlayer = ReplayPlayer.open(replayFileName);
+        }
+        catch (IOException e)
+        {
+            System.out.println("Unable to open the replay " + replayFileName + ": " + e);
+            return;
+        }
+
+        //Render the replay's engine, it isn't recorded again
+        engine = replayPlayer.getEngine();
+        renderer = new GameRenderer(engine, imageLoader, pWidth, pHeight);
+        renderer.setIncremental(true);
+        recorder = null;
+    }
+
+    /**
+     * Record the game's turns and save them as a replay when the game quits. This should be set before
+     * the game starts.
+     * @param recordFileName The name of the file to save the replay to.
+     */
+    public void setRecordFile(String recordFileName)
+    {
+        this.recordFileName = recordFileName;
+        recorder = new ReplayRecorder(engine);
+        engine.setRecorder(recorder);
+    }
+
+    /**
+     * Share every tick of the game with a trainer in another process through a memory-mapped file, and
+     * let the trainer steer the snake through the same file. The game doesn't wait for the trainer, the
+     * snake keeps going until a new action arrives. This should be set before the game starts.
+     * @param exportFileName The name of the file to create.
+     */
+    public void setExportFile(String exportFileName)
+    {
+        try
+        {
+            exporter = new ObservationExporter(exportFileName, engine.getGrid().getGridWidth(),
+                    engine.getGrid().getGridHeight());
+        }
+        catch (IOException e)
+        {
+            System.out.println("Unable to create the observation file " + exportFileName + ": " + e);
+            return;
+        }
+        engine.setExporter(exporter);
+        controller = exporter;
+    }
+
+    /**
+     * Set the desired FPS/UPS. This can be called from any thread while the game is running, the game
+     * loop uses the new loopPeriod from its next cycle.
+     * @param FPS The new desired FPS (greater than 0).
+     */
+    public void setFPS(int FPS)
+    {
+        this.FPS = FPS;
+        loopPeriod = 1000000000/FPS; //secs -> nanos
+    }
+
+    /**
+     * Get the desired FPS/UPS.
+     * @return The desired FPS.
+     */
+    public int getFPS()
+    {
+        return FPS;
+    }
+
+    /**
+     * Set the way frames are presented on the screen. This should be set before the game starts, if
+     * the requested mode can't be used the panel falls back to PRESENT_IMAGE.
+     * @param presentMode PRESENT_IMAGE, PRESENT_VOLATILE, or PRESENT_BUFFER_STRATEGY.
+     */
+    public void setPresentMode(int presentMode)
+    {
+        this.presentMode = presentMode;
+    }
+
+    /**
+     * Run the game loop in fixed step mode. The game is updated at exactly the desired FPS/UPS and frames
+     * are rendered as often as renderFPS allows in between, with the snake drawn part of the way between
+     * updates so that it glides smoothly. This should be set before the game starts.
+     * @param renderFPS The max number of frames rendered per second, 0 renders as fast as possible.
+     */
+    public void setFixedStep(int renderFPS)
+    {
+        isFixedStep = true;
+        renderPeriod = (renderFPS > 0) ? 1000000000L/renderFPS : 0L; //secs -> nanos
+    }
+
+    /**
+     * Notifies this component that it now has a parent component.
+     * This method informs the SnakePanel that it has been added to a
+     * parent container such as a JFrame. Once notified it starts the
+     * game. This prevents the game starting before the user can see it.
+     */
+    public void addNotify()
+    {
+        super.addNotify();
+        startGame();
+    }
+
+    /**
+     * Initialize the animator thread and start the game.
+     */
+    private void startGame()
+    {
+        //If the game is not already started
+        if (animator == null || !isRunning)
+        {
+            //Expose the game loop metrics so they can be watched with JConsole/VisualVM
+            registerMetrics();
+
+            //Initialize the animator thread
+            animator = new Thread(this);
+            animator.start();
+        }
+    }
+
+    /**
+     * Register the game loop metrics with the platform MBeanServer. Local JMX clients can attach to the
+     * JVM and read them without any network connection. If they can't be registered (another panel in
+     * the JVM already registered its metrics) the game runs without them.
+     */
+    private void registerMetrics()
+    {
+        try
+        {
+            MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(METRICS_NAME);
+            if (!mBeanServer.isRegistered(name))
+            {
+                mBeanServer.registerMBean(metrics, name);
+            }
+        }
+        catch (JMException e)
+        {
+            System.out.println("Unable to register the game loop metrics: " + e);
+        }
+    }
+
+    /**
+     * Pause the game.
+     */
+    public void pauseGame()
+    {
+        isPaused = true;
+    }
+
+    /**
+     * Resume the game.
+     */
+    public void resumeGame()
+    {
+        isPaused = false;
+    }
+
+    /**
+     * Stop the game, set isRunning to false.
+     */
+    public void stopGame()
+    {
+        isRunning = false;
+    }
+
+    /**
+     * Repeatably update, render, paint, and sleep such that the game loop takes close to the amount of
+     * time allotted by the desired FPS (loopPeriod).
+     */
+    public void run()
+    {
+        //The fixed step loop has its own timing
+        if (isFixedStep)
+        {
+            runFixedStep();
+            return;
+        }
+
+        //The time before the current loop/cycle begins
+        long beforeTime;
+        //The current time after the gameUpdate, gameRender, and paintScreen methods execute
+        long afterTime;
+        //The time taken for the gameUpdate, gameRender, and paintScreen methods to execute
+        long timeDifference;
+
+        //The amount of time left in the current loopPeriod that the thread can sleep for
+        //(loopPeriod - timeDifference) - overSleepTime
+        long sleepTime;
+        //The amount of time the thread overslept
+        long overSleepTime = 0L;
+
+        //The number of times the thread looped/cycled without sleeping (sleepTime was <= 0)
+        int numDelays = 0;
+        //The total amount of excess time the methods took to execute (overTime = actual - loopPeriod)
+        long overTime = 0L;
+
+        //Get the current time before the first loop
+        gameStartTime = System.nanoTime();
+        beforeTime = gameStartTime;
+
+        //Game loop
+        isRunning = true;
+        while (isRunning)
+        {
+            //Update, render, and paint the screen
+            gameUpdate();
+            long renderStart = System.nanoTime();
+            gameRender();
+            long paintStart = System.nanoTime();
+            paintScreen(); //active rendering
+
+            //Get the current time after the methods executed
+            afterTime = System.nanoTime();
+            frameStats.recordRender(paintStart - renderStart);
+            frameStats.recordPaint(afterTime - paintStart);
+            metrics.rendered(overTime, frameStats, engine);
+            timeDifference = afterTime - beforeTime; //The time it took to update, render, and paint
+
+            //Calculate how much time is left for sleeping in this loopPeriod (1000000000/FPS)
+            sleepTime = (loopPeriod - timeDifference) - overSleepTime;
+
+            //Sleep
+            if (sleepTime > 0)
+            {
+                try
+                {
+                    Thread.sleep(sleepTime/1000000); //nanos -> ms
+                }
+                catch (InterruptedException e)
+                {
+                    //Do nothing
+                }
+                //Check if the animator overslept, overSleepTime will be deducted from the next sleepTime
+                overSleepTime = (System.nanoTime() - afterTime) - sleepTime;
+                frameStats.recordOverSleep(overSleepTime);
+            }
+            else //If we didn't get a chance to sleep this loopPeriod (sleepTime <= 0)
+            {
+                overTime = overTime - sleepTime; //Store the excess time (- because sleepTime is <= 0)
+                overSleepTime = 0L; //Reset the oversleep time
+
+                //See if the animator thread needs to yield
+                if (++numDelays >= NUM_DELAYS_FOR_YIELD) //(it hasn't slept for NUM_DELAYS_FOR_YIELD cycles)
+                {
+                    Thread.yield();
+                    numDelays = 0;
+                }
+            }
+
+            //Get the beforeTime for the next cycle
+            beforeTime = System.nanoTime();
+
+            //If rendering and animation are taking too long, update the game without rendering it
+            //This will get the UPS closer to the desired FPS
+            int skips = 0;
+            while ((overTime > loopPeriod) && (skips < MAX_FRAMES_SKIPPED))
+            {
+                //Update x times without rendering, won't be noticeable if MAX_SKIPPED_FRAMES is small
+                overTime = overTime - loopPeriod;
+                gameUpdate();
+                skips++;
+            }
+            frameStats.addFramesSkipped(skips);
+        }
+        //Running is false, so exit
+        exitGame();
+    }
+
+    /**
+     * Repeatably update the game at a fixed rate and render in between. The time that passes each frame
+     * is added to an accumulator and the game is updated once for every loopPeriod it holds, so updates
+     * happen at the same logical rate no matter how long rendering takes. What is left in the accumulator
+     * determines how far between updates the frame is rendered. If the renders are capped the thread
+     * waits out the rest of each renderPeriod with nanosecond precision.
+     */
+    private void runFixedStep()
+    {
+        //The time at the start of the previous frame
+        long previousTime;
+        //The amount of time that has passed which hasn't been used up by updates yet
+        long accumulator = 0L;
+
+        //Get the current time before the first loop
+        gameStartTime = System.nanoTime();
+        previousTime = gameStartTime;
+
+        //Game loop
+        isRunning = true;
+        while (isRunning)
+        {
+            //Add the time since the last frame to the accumulator
+            long frameStart = System.nanoTime();
+            accumulator = accumulator + (frameStart - previousTime);
+            previousTime = frameStart;
+
+            //Update once for each loopPeriod that has passed, but never so many times the game can't render
+            int updates = 0;
+            while (accumulator >= loopPeriod && updates <= MAX_FRAMES_SKIPPED)
+            {
+                gameUpdate();
+                accumulator = accumulator - loopPeriod;
+                updates++;
+            }
+            if (accumulator >= loopPeriod) //The updates can't keep up, drop the time that is left over
+            {
+                accumulator = accumulator % loopPeriod;
+            }
+            if (updates > 1) //Every update after the first would have been rendered if there was time
+            {
+                frameStats.addFramesSkipped(updates - 1);
+            }
+
+            //Render the frame part of the way to the next update (the snake doesn't glide while paused)
+            interpolation = isPaused ? 1.0 : (double) accumulator / loopPeriod;
+            long renderStart = System.nanoTime();
+            gameRender();
+            long paintStart = System.nanoTime();
+            paintScreen();
+            long paintEnd = System.nanoTime();
+            frameStats.recordRender(paintStart - renderStart);
+            frameStats.recordPaint(paintEnd - paintStart);
+            metrics.rendered(accumulator, frameStats, engine);
+
+            //Wait until the next frame is due, or let other threads run if rendering is uncapped
+            if (renderPeriod > 0)
+            {
+                frameStats.recordOverSleep(waitUntil(frameStart + renderPeriod));
+            }
+            else
+            {
+                Thread.yield();
+            }
+        }
+        //Running is false, so exit
+        exitGame();
+    }
+
+    /**
+     * Wait until the given time. Thread.sleep only has millisecond precision, so the thread is parked
+     * until it is close to the deadline and then spins for the rest of the time.
+     * @param deadline The time to wait until (in nanos, as returned by System.nanoTime()).
+     * @return The amount of time the thread overslept the deadline (in nanos).
+     */
+    private static long waitUntil(long deadline)
+    {
+        //Park the thread until the deadline is close
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > SPIN_THRESHOLD)
+        {
+            LockSupport.parkNanos(remaining - SPIN_THRESHOLD);
+        }
+
+        //Spin until the deadline
+        long now;
+        while ((now = System.nanoTime()) - deadline < 0)
+        {
+            Thread.onSpinWait();
+        }
+        return now - deadline;
+    }
+
+    /**
+     * Update the elements of the game as long as the game is not over or paused.
+     */
+    private void gameUpdate()
+    {
+        //The replay viewer moves through the replay instead of playing
+        if (replayPlayer != null)
+        {
+            updateReplay();
+            return;
+        }
+
+        //If the game is not over or paused, update
+        if (!gameOver && !isPaused)
+        {
+            //Apply the oldest queued key press that turns the snake, the rest wait for later updates
+            Snake snake = engine.getSnake();
+            boolean isTurning = false;
+            int direction;
+            while (controller == null && (direction = inputQueue.poll()) >= 0)
+            {
+                if (snake.isTurn(direction))
+                {
+                    snake.setCurrentDirection(direction);
+                    isTurning = true;
+                    break;
+                }
+            }
+
+            //Let the controller steer instead, its thinking time is counted as part of the update
+            long updateStart = System.nanoTime();
+            if (controller != null)
+            {
+                inputQueue.clear();
+                controller.setTimeBudget((long) (loopPeriod * CONTROLLER_BUDGET));
+                direction = controller.nextDirection(engine);
+                if (controller.isStalled()) //It can't make any more progress, stop rather than crash
+                {
+                    gameOver = true;
+                    System.out.println("The controller stalled with " + engine.getFruitsEaten() + " fruits eaten");
+                    return;
+                }
+                if (direction >= 0 && snake.isTurn(direction))
+                {
+                    snake.setCurrentDirection(direction);
+                }
+            }
+
+            //Step the engine a single tick, it ends the game if the snake crashed or won
+            engine.step();
+            gameOver = engine.isGameOver();
+            long updateEnd = System.nanoTime();
+            frameStats.recordUpdate(updateEnd - updateStart);
+            metrics.updated();
+
+            //Measure how long the key press took to move the snake
+            if (isTurning)
+            {
+                frameStats.recordInput(updateEnd - inputQueue.getLastTimestamp());
+            }
+        }
+        else
+        {
+            //Key presses while paused or after the game ends are never applied
+            inputQueue.clear();
+        }
+    }
+
+    /**
+     * Move the replay to wherever the viewer asked for, or forward a tick if it is playing. Seeking far
+     * loads the closest keyframe, which marks every square dirty so the next frame is repainted in full,
+     * playing only ever steps so it stays allocation free.
+     */
+    private void updateReplay()
+    {
+        long ticks = engine.getTicks();
+        long seekTarget = replaySeekTarget;
+        long scrub = replayScrub.getAndSet(0L);
+        if (seekTarget >= 0)
+        {
+            replaySeekTarget = -1L;
+            replayPlayer.seek(seekTarget);
+        }
+        else if (scrub != 0)
+        {
+            replayPlayer.seek(Math.max(0L, ticks + scrub));
+        }
+        else if (isReplayPlaying && !isPaused)
+        {
+            long updateStart = System.nanoTime();
+            replayPlayer.step();
+            frameStats.recordUpdate(System.nanoTime() - updateStart);
+            metrics.updated();
+        }
+    }
+
+    /**
+     * Print a summary of the time spent in each phase of the game loop and how long it took key presses
+     * to move the snake, save the replay if the game was recorded, and exit.
+     */
+    private void exitGame()
+    {
+        frameStats.printSummary(System.out);
+        System.out.printf("Key presses dropped: %d%n", inputQueue.getDropped());
+
+        //Save the replay
+        if (recorder != null)
+        {
+            try
+            {
+                recorder.save(recordFileName);
+                System.out.println("Saved the replay (" + recorder.getSize() + " bytes) to " + recordFileName);
+            }
+            catch (IOException e)
+            {
+                System.out.println("Unable to save the replay to " + recordFileName + ": " + e);
+            }
+        }
+        System.exit(0);
+    }
+
+    /**
+     * Render the game using double buffering. If it does not already exist, this
+     * method creates an Image the size of the PongPanel and draws to it offscreen.
+     * Drawing offscreen prevents flickering and then allows the paintScreen() method
+     * to draw the entire screen as an image rather than in layers.
+     */
+    private void gameRender()
+    {
+        //Time the render if a flight recording is capturing renders
+        GameEvents.RenderEvent renderEvent = null;
+        if (GameEvents.RENDER.isEnabled())
+        {
+            renderEvent = new GameEvents.RenderEvent();
+            renderEvent.begin();
+        }
+
+        //If presenting with a VolatileImage make sure it exists and still holds the last frame
+        if (presentMode == PRESENT_VOLATILE)
+        {
+            validateVolatileImage();
+        }
+
+        //If the dbImage (double buffered image) has not been created
+        if (dbImage == null)
+        {
+            //Make an image the size of the panel
+            dbImage = createImage(pWidth, pHeight);
+            if (dbImage == null)
+            {
+                return;
+            }
+            else
+            {
+                //Get the graphics context to draw to the dbImage
+                dbGraphics = dbImage.getGraphics();
+            }
+        }
+
+        //Calculate the time playing as long as the game isn't over (replays show the time of the recorded game)
+        if (replayPlayer != null)
+        {
+            timeSpentInGame = (int) (engine.getTicks()/FPS);
+        }
+        else if (!gameOver)
+        {
+            timeSpentInGame = (int) ((System.nanoTime() - gameStartTime)/1000000000L);  // ns --> secs
+        }
+
+        //Show or hide the overlay if F3 was pressed since the last frame
+        if (isOverlayShown != isOverlayVisible)
+        {
+            isOverlayShown = isOverlayVisible;
+            renderer.setOverlay(isOverlayShown ? frameStats : null);
+        }
+
+        //Draw the background, grid, fruit, snake, and stats
+        if (isFixedStep)
+        {
+            //Draw the snake gliding between its last and next squares
+            renderer.render(dbGraphics, timeSpentInGame, interpolation);
+        }
+        else
+        {
+            renderer.render(dbGraphics, timeSpentInGame);
+        }
+
+        if (renderEvent != null)
+        {
+            renderEvent.end();
+            renderEvent.interpolated = isFixedStep;
+            renderEvent.commit();
+        }
+    }
+
+    /**
+     * Validate the VolatileImage used as the dbImage, creating it if it doesn't exist or no longer works
+     * with the panel's graphics configuration. The renderer is told to draw the next frame in full if
+     * the image is new or its contents were lost. If a VolatileImage can't be created the panel falls
+     * back to presenting with PRESENT_IMAGE.
+     */
+    private void validateVolatileImage()
+    {
+        GraphicsConfiguration graphicsConfiguration = getGraphicsConfiguration();
+        int status = (volatileImage == null) ? VolatileImage.IMAGE_INCOMPATIBLE
+                : volatileImage.validate(graphicsConfiguration);
+
+        if (status == VolatileImage.IMAGE_INCOMPATIBLE) //The image needs to be (re)created
+        {
+            volatileImage = createVolatileImage(pWidth, pHeight);
+            if (volatileImage == null)
+            {
+                System.out.println("Unable to create a VolatileImage, presenting with an image instead");
+                presentMode = PRESENT_IMAGE;
+                dbImage = null;
+            }
+            else
+            {
+                dbImage = volatileImage;
+                dbGraphics = volatileImage.getGraphics();
+            }
+            renderer.invalidate();
+        }
+        else if (status == VolatileImage.IMAGE_RESTORED) //The image's contents were lost
+        {
+            renderer.invalidate();
+        }
+    }
+
+    /**
+     * Actively render/draw the dbImage (created in gameRender()) onto the screen/PongPanel.
+     */
+    private void paintScreen()
+    {
+        //Time the present if a flight recording is capturing presents
+        GameEvents.PresentEvent presentEvent = null;
+        if (GameEvents.PRESENT.isEnabled())
+        {
+            presentEvent = new GameEvents.PresentEvent();
+            presentEvent.begin();
+        }
+
+        //Page flip the window's buffers if presenting with a BufferStrategy
+        if (presentMode == PRESENT_BUFFER_STRATEGY)
+        {
+            paintBufferStrategy();
+        }
+        else
+        {
+            paintImage();
+        }
+
+        if (presentEvent != null)
+        {
+            presentEvent.end();
+            presentEvent.presentMode = presentMode;
+            presentEvent.commit();
+        }
+    }
+
+    /**
+     * Draw the dbImage onto the panel using the panel's Graphics.
+     */
+    private void paintImage()
+    {
+        //Declare a graphics object
+        Graphics g;
+
+        try
+        {
+            //Get the graphics context from the SnakePanel so we can to draw to the panel
+            g = this.getGraphics();
+
+            if ((g != null) && (dbImage != null))
+            {
+                g.drawImage(dbImage, 0, 0, null);
+
+                //If the VolatileImage lost its contents while it was drawn the next frame must be drawn in full
+                if (volatileImage != null && volatileImage.contentsLost())
+                {
+                    renderer.invalidate();
+                }
+            }
+            Toolkit.getDefaultToolkit().sync(); //Sync the display (only applies to odd systems)
+            g.dispose();
+
+        }
+        catch (NullPointerException e)
+        {
+            System.out.println("Graphics context error: " + e);
+        }
+    }
+
+    /**
+     * Draw the dbImage into the back buffer of the window's BufferStrategy and show it. The strategy is
+     * created the first time this is called, if it can't be created the panel falls back to presenting
+     * with PRESENT_IMAGE.
+     */
+    private void paintBufferStrategy()
+    {
+        //Create the BufferStrategy
+        if (bufferStrategy == null)
+        {
+            Window window = SwingUtilities.getWindowAncestor(this);
+            try
+            {
+                window.createBufferStrategy(NUM_BUFFERS);
+                bufferStrategy = window.getBufferStrategy();
+                bufferOffset = SwingUtilities.convertPoint(this, 0, 0, window);
+            }
+            catch (Exception e) //The window isn't displayable or doesn't support the strategy
+            {
+                System.out.println("Unable to create a BufferStrategy, presenting with an image instead: " + e);
+                presentMode = PRESENT_IMAGE;
+                return;
+            }
+        }
+
+        if (dbImage == null)
+        {
+            return;
+        }
+
+        //Draw the frame, repeating it if the buffer contents are restored or lost while drawing
+        do
+        {
+            do
+            {
+                Graphics g = bufferStrategy.getDrawGraphics();
+                g.drawImage(dbImage, bufferOffset.x, bufferOffset.y, null);
+                g.dispose();
+            }
+            while (bufferStrategy.contentsRestored());
+
+            //Flip the back buffer onto the screen
+            bufferStrategy.show();
+        }
+        while (bufferStrategy.contentsLost());
+        Toolkit.getDefaultToolkit().sync(); //Sync the display (only applies to odd systems)
+    }
+
+    /**
+     * Initialize a new KeyListener for this SnakePanel. The KeyListener listens
+     * for the esc, F3, and arrow keys being pressed. Direction keys are not applied to the snake here,
+     * they are timestamped and queued for the game thread so that every press is applied on its own
+     * update instead of overwriting one another between updates.
+     */
+    private void initKeyListener()
+    {
+        //Add a KeyListener to receive key events
+        addKeyListener(new KeyAdapter()
+        {
+            @Override
+            public void keyPressed(KeyEvent e)
+            {
+                super.keyPressed(e);
+
+                //Listen for the esc key to quit
+                if (e.getKeyCode() == KeyEvent.VK_ESCAPE)
+                {
+                    //Quit the game
+                    stopGame();
+                }
+
+                //Listen for the F3 key to show or hide the frame times
+                if (e.getKeyCode() == KeyEvent.VK_F3)
+                {
+                    isOverlayVisible = !isOverlayVisible;
+                }
+
+                //Scrub through the replay instead of steering the snake
+                if (replayPlayer != null)
+                {
+                    scrubReplay(e.getKeyCode());
+                }
+                //Make the game play keys unavailable if the game is paused or over
+                else if (!isPaused && !gameOver)
+                {
+                    //Listen for direction changes
+                    if (e.getKeyCode() == KeyEvent.VK_UP)
+                    {
+                        //Move the snake up
+                        inputQueue.offer(Snake.UP, System.nanoTime());
+                    }
+                    else if (e.getKeyCode() == KeyEvent.VK_RIGHT)
+                    {
+                        //Move the snake right
+                        inputQueue.offer(Snake.RIGHT, System.nanoTime());
+                    }
+                    else if (e.getKeyCode() == KeyEvent.VK_DOWN)
+                    {
+                        //Move the snake down
+                        inputQueue.offer(Snake.DOWN, System.nanoTime());
+                    }
+                    else if (e.getKeyCode() == KeyEvent.VK_LEFT)
+                    {
+                        //Move the snake left
+                        inputQueue.offer(Snake.LEFT, System.nanoTime());
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Handle a key pressed while viewing a replay. This is called by the event thread, the game thread
+     * applies the scrubbing on its next update.
+     * @param keyCode The code of the key that was pressed.
+     */
+    private void scrubReplay(int keyCode)
+    {
+        if (keyCode == KeyEvent.VK_SPACE)
+        {
+            isReplayPlaying = !isReplayPlaying;
+        }
+        else if (keyCode == KeyEvent.VK_RIGHT)
+        {
+            replayScrub.incrementAndGet();
+        }
+        else if (keyCode == KeyEvent.VK_LEFT)
+        {
+            replayScrub.decrementAndGet();
+        }
+        else if (keyCode == KeyEvent.VK_UP)
+        {
+            replayScrub.addAndGet(REPLAY_SCRUB_TICKS);
+        }
+        else if (keyCode == KeyEvent.VK_DOWN)
+        {
+            replayScrub.addAndGet(-REPLAY_SCRUB_TICKS);
+        }
+        else if (keyCode == KeyEvent.VK_HOME)
+        {
+            replaySeekTarget = 0L;
+        }
+        else if (keyCode == KeyEvent.VK_END)
+        {
+            replaySeekTarget = Long.MAX_VALUE; //The player clamps it to the end of the replay
+        }
+    }
+}
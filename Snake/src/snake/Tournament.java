@@ -0,0 +1,414 @@
+package snake;
+
+import java.io.BufferedWriter;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * @author Logan Karstetter
+ * Date: 10/16/2026
+ */
+public class Tournament
+{
+    /** The names of the bots that can play */
+    private static final String[] BOT_NAMES = {"autopilot", "solver", "mcts"};
+    /** The number of lines written to the CSV before it is flushed, unless a second passes first */
+    private static final int FLUSH_LINES = 1024;
+    /** The longest time between flushes of the CSV (in nanos) */
+    private static final long FLUSH_PERIOD = 1000000000L;
+    /** A game is stopped once the snake goes this many times the number of squares without eating, or its
+     * bot says it has stalled */
+    private static final int STALL_LAPS = 2;
+    /** The death cause written for a game stopped because the snake stopped eating, a game whose bot
+     * threw an exception is written as "Error" and the exception's class */
+    private static final String STALLED = "Stalled";
+
+    /** The names of the bots playing */
+    private String[] bots;
+    /** The widths of the boards, indexed like heights */
+    private int[] widths;
+    /** The heights of the boards */
+    private int[] heights;
+    /** The seeds every bot plays on every board */
+    private long[] seeds;
+    /** The time budget given to each move of bots that search (in nanos) */
+    private long timeBudget;
+
+    /** The CSV the results are written to */
+    private PrintWriter out;
+    /** The number of lines written since the CSV was last flushed */
+    private int unflushedLines;
+    /** The time the CSV was last flushed */
+    private long lastFlushTime;
+
+    /** The total score, wins, ticks, and games of each bot and board, indexed by bot * boards + board */
+    private AtomicLong[] totalScores, totalWins, totalTicks, totalGames;
+    /** The number of games finished */
+    private AtomicLong gamesFinished = new AtomicLong();
+
+    /**
+     * Create a tournament where every bot plays a headless game on every board with every seed. Each game
+     * is a separate task in a work stealing ForkJoinPool, split in halves down to single games so idle
+     * threads steal large ranges of games and every core stays busy however long each game runs. Every
+     * game gets a new controller, so bots that keep state never share it between threads. Results are
+     * written to the CSV as soon as each game finishes, one line per game.
+     * @param bots The names of the bots (see BOT_NAMES).
+     * @param widths The widths of the boards.
+     * @param heights The heights of the boards.
+     * @param seeds The seeds.
+     * @param timeBudget The time budget for each move of bots that search (in nanos).
+     * @param out The CSV to write the results to.
+     */
+    public Tournament(String[] bots, int[] widths, int[] heights, long[] seeds, long timeBudget, PrintWriter out)
+    {
+        this.bots = bots;
+        this.widths = widths;
+        this.heights = heights;
+        this.seeds = seeds;
+        this.timeBudget = timeBudget;
+        this.out = out;
+
+        int combinations = bots.length * widths.length;
+        totalScores = new AtomicLong[combinations];
+        totalWins = new AtomicLong[combinations];
+        totalTicks = new AtomicLong[combinations];
+        totalGames = new AtomicLong[combinations];
+        for (int i = 0; i < combinations; i++)
+        {
+            totalScores[i] = new AtomicLong();
+            totalWins[i] = new AtomicLong();
+            totalTicks[i] = new AtomicLong();
+            totalGames[i] = new AtomicLong();
+        }
+    }
+
+    /**
+     * Play every game on a pool of threads and wait for them to finish.
+     * @param threadCount The number of threads.
+     */
+    public void run(int threadCount)
+    {
+        out.println("bot,width,height,seed,score,ticks,death cause,ticks per fruit");
+        lastFlushTime = System.nanoTime();
+        ForkJoinPool pool = new ForkJoinPool(threadCount);
+        try
+        {
+            pool.invoke(new GameRange(0, getGameCount()));
+        }
+        finally
+        {
+            pool.shutdown();
+        }
+        synchronized (this)
+        {
+            out.flush();
+        }
+    }
+
+    /**
+     * Get the number of games in the tournament.
+     * @return The number of bots times the number of boards times the number of seeds.
+     */
+    public long getGameCount()
+    {
+        return (long) bots.length * widths.length * seeds.length;
+    }
+
+    /**
+     * Play a single game of the tournament and write its result.
+     * @param game The index of the game, the seed changes fastest, then the board, then the bot.
+     */
+    private void playGame(long game)
+    {
+        int seedIndex = (int) (game % seeds.length);
+        int board = (int) ((game / seeds.length) % widths.length);
+        int bot = (int) (game / seeds.length / widths.length);
+        int width = widths[board];
+        int height = heights[board];
+        long seed = seeds[seedIndex];
+
+        //Play until the game ends or the snake stops eating
+        GameEngine engine = new GameEngine(width, height, seed);
+        SnakeController controller = createBot(bots[bot]);
+        controller.setTimeBudget(timeBudget);
+        Snake snake = engine.getSnake();
+        long stallTicks = (long) STALL_LAPS * width * height;
+        long lastFruitTick = 0L;
+        int fruitsEaten = 0;
+        String deathCause;
+        try
+        {
+            while (!engine.isGameOver() && engine.getTicks() - lastFruitTick <= stallTicks)
+            {
+                int direction = controller.nextDirection(engine);
+                if (controller.isStalled())
+                {
+                    break;
+                }
+                if (direction >= 0 && snake.isTurn(direction))
+                {
+                    snake.setCurrentDirection(direction);
+                }
+                engine.step();
+                if (engine.getFruitsEaten() != fruitsEaten)
+                {
+                    fruitsEaten = engine.getFruitsEaten();
+                    lastFruitTick = engine.getTicks();
+                }
+            }
+            deathCause = engine.isGameOver() ? engine.getDeathCause() : STALLED;
+        }
+        catch (RuntimeException e) //A bug in the bot shouldn't stop the rest of the tournament
+        {
+            deathCause = "Error (" + e.getClass().getSimpleName() + ")";
+        }
+
+        //Stream the result out and add it to the totals
+        String ticksPerFruit = (fruitsEaten > 0)
+                ? String.format(Locale.ROOT, "%.2f", (double) engine.getTicks() / fruitsEaten) : "";
+        writeLine(bots[bot] + "," + width + "," + height + "," + seed + "," + fruitsEaten + ","
+                + engine.getTicks() + "," + deathCause + "," + ticksPerFruit);
+        int combination = bot * widths.length + board;
+        totalScores[combination].addAndGet(fruitsEaten);
+        totalWins[combination].addAndGet((engine.getStatus() == GameEngine.WON) ? 1 : 0);
+        totalTicks[combination].addAndGet(engine.getTicks());
+        totalGames[combination].incrementAndGet();
+        gamesFinished.incrementAndGet();
+    }
+
+    /**
+     * Write a line to the CSV, flushing it every FLUSH_LINES lines or FLUSH_PERIOD so the results can be
+     * followed while the tournament runs.
+     * @param line The line.
+     */
+    private synchronized void writeLine(String line)
+    {
+        out.println(line);
+        unflushedLines++;
+        long now = System.nanoTime();
+        if (unflushedLines >= FLUSH_LINES || now - lastFlushTime >= FLUSH_PERIOD)
+        {
+            out.flush();
+            unflushedLines = 0;
+            lastFlushTime = now;
+        }
+    }
+
+    /**
+     * Create a new controller.
+     * @param name The name of the bot (see BOT_NAMES).
+     * @return The controller.
+     */
+    private static SnakeController createBot(String name)
+    {
+        switch (name)
+        {
+            case "autopilot":
+                return new Autopilot();
+            case "solver":
+                return new HamiltonianSolver();
+            case "mcts":
+                //The tournament already keeps every core busy, so each search gets one thread
+                return new MonteCarloSearch(1);
+            default:
+                throw new IllegalArgumentException("Unknown bot: " + name);
+        }
+    }
+
+    /**
+     * Print the mean score, win rate, and mean ticks of each bot on each board.
+     */
+    public void printSummary()
+    {
+        System.out.printf("%-10s %9s %8s %10s %7s %10s%n", "Bot", "Board", "Games", "Score", "Won", "Ticks");
+        for (int bot = 0; bot < bots.length; bot++)
+        {
+            for (int board = 0; board < widths.length; board++)
+            {
+                int combination = bot * widths.length + board;
+                long games = totalGames[combination].get();
+                if (games == 0)
+                {
+                    continue;
+                }
+                System.out.printf("%-10s %9s %8d %10.2f %6.1f%% %10.1f%n", bots[bot], widths[board] + "x" + heights[board],
+                        games, (double) totalScores[combination].get() / games,
+                        100.0 * totalWins[combination].get() / games, (double) totalTicks[combination].get() / games);
+            }
+        }
+    }
+
+    /**
+     * A range of games, split in half until it is a single game so idle threads can steal the other half.
+     * It is never serialized.
+     */
+    @SuppressWarnings("serial")
+    private class GameRange extends RecursiveAction
+    {
+        /** The first game of the range */
+        private long start;
+        /** The game after the last game of the range */
+        private long end;
+
+        GameRange(long start, long end)
+        {
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute()
+        {
+            if (end - start <= 0) //An empty range has nothing to play or split
+            {
+                return;
+            }
+            if (end - start == 1)
+            {
+                playGame(start);
+                return;
+            }
+            long middle = (start + end) >>> 1;
+            invokeAll(new GameRange(start, middle), new GameRange(middle, end));
+        }
+    }
+
+    /**
+     * Parse a list of seeds: single seeds and inclusive ranges (A-B) separated by commas, or a single
+     * number N for the seeds 0 to N - 1.
+     * @param list The list.
+     * @return The seeds.
+     */
+    private static long[] parseSeeds(String list)
+    {
+        String[] parts = list.split(",");
+        if (parts.length == 1 && !list.contains("-"))
+        {
+            long[] seeds = new long[Integer.parseInt(list)];
+            for (int i = 0; i < seeds.length; i++)
+            {
+                seeds[i] = i;
+            }
+            return seeds;
+        }
+        ArrayList<Long> seeds = new ArrayList<>();
+        for (String part : parts)
+        {
+            int dash = part.indexOf('-', 1);
+            long first = Long.parseLong((dash < 0) ? part : part.substring(0, dash));
+            long last = (dash < 0) ? first : Long.parseLong(part.substring(dash + 1));
+            for (long seed = first; seed <= last; seed++)
+            {
+                seeds.add(seed);
+            }
+        }
+        long[] array = new long[seeds.size()];
+        for (int i = 0; i < array.length; i++)
+        {
+            array[i] = seeds.get(i);
+        }
+        return array;
+    }
+
+    /**
+     * Run a tournament from the command line and print a summary of the results once every game is done.
+     * Usage: Tournament [-bots=NAME,...] [-seeds=N|A-B,...] [-sizes=WxH,...] [-threads=N] [-budget=MS]
+     * [-out=FILE]. By default the autopilot and solver play seeds 0 to 99 on 10x10 and 24x24 boards on
+     * every core, the mcts bot searches for 10 ms a move, and the results go to tournament.csv. Games are
+     * stopped once the snake goes STALL_LAPS times the number of squares without eating.
+     * @param args The options.
+     */
+    public static void main(String[] args)
+    {
+        String[] bots = {"autopilot", "solver"};
+        String sizes = "10x10,24x24";
+        long[] seeds = parseSeeds("100");
+        int threadCount = Runtime.getRuntime().availableProcessors();
+        long timeBudget = 10000000L;
+        String fileName = "tournament.csv";
+        for (String arg : args)
+        {
+            if (arg.startsWith("-bots="))
+            {
+                bots = arg.substring("-bots=".length()).split(",");
+            }
+            else if (arg.startsWith("-seeds="))
+            {
+                seeds = parseSeeds(arg.substring("-seeds=".length()));
+            }
+            else if (arg.startsWith("-sizes="))
+            {
+                sizes = arg.substring("-sizes=".length());
+            }
+            else if (arg.startsWith("-threads="))
+            {
+                threadCount = Integer.parseInt(arg.substring("-threads=".length()));
+            }
+            else if (arg.startsWith("-budget="))
+            {
+                timeBudget = Long.parseLong(arg.substring("-budget=".length())) * 1000000L;
+            }
+            else if (arg.startsWith("-out="))
+            {
+                fileName = arg.substring("-out=".length());
+            }
+            else
+            {
+                System.out.println("Usage: Tournament [-bots=NAME,...] [-seeds=N|A-B,...] [-sizes=WxH,...] [-threads=N] [-budget=MS] [-out=FILE]");
+                System.exit(1);
+            }
+        }
+        for (String bot : bots)
+        {
+            if (!Arrays.asList(BOT_NAMES).contains(bot))
+            {
+                System.out.println("Unknown bot " + bot + ", the bots are " + String.join(", ", BOT_NAMES));
+                System.exit(1);
+            }
+        }
+        if (seeds.length == 0)
+        {
+            System.out.println("There are no seeds to play, -seeds=N needs N of at least 1 and A-B needs A <= B");
+            System.exit(1);
+        }
+        String[] sizeList = sizes.split(",");
+        if (sizeList.length == 0 || bots.length == 0)
+        {
+            System.out.println("There are no boards or no bots to play, give at least one of each");
+            System.exit(1);
+        }
+        int[] widths = new int[sizeList.length];
+        int[] heights = new int[sizeList.length];
+        for (int i = 0; i < sizeList.length; i++)
+        {
+            String[] dimensions = sizeList[i].split("x");
+            widths[i] = Integer.parseInt(dimensions[0]);
+            heights[i] = Integer.parseInt(dimensions[1]);
+        }
+
+        try (PrintWriter out = new PrintWriter(new BufferedWriter(new FileWriter(fileName))))
+        {
+            Tournament tournament = new Tournament(bots, widths, heights, seeds, timeBudget, out);
+            System.out.println("Playing " + tournament.getGameCount() + " games on " + threadCount + " threads, writing "
+                    + fileName);
+            long startTime = System.nanoTime();
+            tournament.run(threadCount);
+            double seconds = (System.nanoTime() - startTime) / 1000000000.0;
+            tournament.printSummary();
+            System.out.printf("%d games in %.2f s (%.0f games/hour)%n", tournament.gamesFinished.get(), seconds,
+                    tournament.gamesFinished.get() / seconds * 3600.0);
+        }
+        catch (IOException e)
+        {
+            System.out.println("Unable to write " + fileName + ": " + e);
+            System.exit(1);
+        }
+    }
+}
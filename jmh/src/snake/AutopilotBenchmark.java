@@ -0,0 +1,82 @@
+package snake;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Logan Karstetter
+ * Date: 10/16/2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class AutopilotBenchmark
+{
+    /** The number of moves made between each restore of the starting snake, each one is a search of the board */
+    private static final int BATCH_SIZE = 64;
+
+    /** The width and height of the board in squares */
+    @Param({"24", "100"})
+    public int boardSize;
+    /** The starting length of the snake, in squares or as a percentage of the board */
+    @Param({"2", "50%"})
+    public String length;
+
+    /** The game being played */
+    private GameEngine engine;
+    /** The game as it was before the first batch */
+    private GameSnapshot start;
+    /** The bot deciding the moves */
+    private Autopilot autopilot;
+
+    /**
+     * Grow the snake along a cycle that covers the whole board and create the bot.
+     */
+    @Setup(Level.Trial)
+    public void setup()
+    {
+        engine = BenchmarkBoards.growSnake(boardSize, length, BenchmarkBoards.buildCycle(boardSize, boardSize));
+        start = new GameSnapshot(boardSize, boardSize);
+        engine.saveState(start);
+        autopilot = new Autopilot();
+    }
+
+    /**
+     * Put the snake back before each batch, so the snake stays near its starting length and the game
+     * doesn't end.
+     */
+    @Setup(Level.Invocation)
+    public void restore()
+    {
+        engine.loadState(start);
+    }
+
+    /**
+     * Measure Autopilot.nextDirection() deciding a move and the tick that follows it. Each search is over
+     * the whole board, so this is the cost of one update of a game played by the autopilot.
+     * @return The sum of the directions and the head square, so the moves can't be thrown away.
+     */
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public long move()
+    {
+        GameEngine engine = this.engine;
+        Snake snake = engine.getSnake();
+        long sum = 0;
+        for (int i = 0; i < BATCH_SIZE; i++)
+        {
+            int direction = autopilot.nextDirection(engine);
+            if (direction >= 0 && snake.isTurn(direction))
+            {
+                snake.setCurrentDirection(direction);
+            }
+            engine.step();
+            sum += direction;
+        }
+        return sum + snake.getHeadSquare();
+    }
+}
@@ -0,0 +1,68 @@
+package snake;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Logan Karstetter
+ * Date: 10/16/2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class BatchBenchmark
+{
+    /** The width and height of the boards in squares */
+    @Param({"10", "24"})
+    public int boardSize;
+    /** The number of games in the batch */
+    @Param({"1024"})
+    public int envCount;
+
+    /** The direction to move from each square to stay on the cycle */
+    private int[] cycle;
+    /** The actions passed to each step */
+    private int[] actions;
+    /** The games being stepped */
+    private BatchedSnakeEnv env;
+
+    /**
+     * Create the batch on one thread. Every game follows a cycle around the board so none of them crash,
+     * they grow from a single square as they eat and are reset in place when they fill the board.
+     */
+    @Setup(Level.Trial)
+    public void setup()
+    {
+        cycle = BenchmarkBoards.buildCycle(boardSize, boardSize);
+        actions = new int[envCount];
+        env = new BatchedSnakeEnv(envCount, boardSize, boardSize, 42L);
+    }
+
+    /**
+     * Stop the batch's threads.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown()
+    {
+        env.shutdown();
+    }
+
+    /**
+     * Measure BatchedSnakeEnv.stepAll() stepping every game of the batch once.
+     * @return The number of games that ended and the first game's head square, so the step can't be thrown away.
+     */
+    @Benchmark
+    public int stepAll()
+    {
+        BatchedSnakeEnv env = this.env;
+        for (int i = 0; i < envCount; i++)
+        {
+            actions[i] = cycle[env.getHeadSquare(i)];
+        }
+        return env.stepAll(actions) + env.getHeadSquare(0);
+    }
+}
@@ -0,0 +1,79 @@
+package snake;
+
+/**
+ * @author Logan Karstetter
+ * Date: 10/16/2026
+ */
+class BenchmarkBoards
+{
+    /**
+     * Build a cycle that visits every square of an even height board once and returns to its start.
+     * The cycle runs back and forth along the rows from column 1 and comes back up column 0.
+     * @param width The width of the board in squares.
+     * @param height The height of the board in squares, this must be even.
+     * @return The direction to move from each square (y * width + x) to stay on the cycle.
+     */
+    static int[] buildCycle(int width, int height)
+    {
+        int[] cycle = new int[width * height];
+        for (int y = 0; y < height; y++)
+        {
+            for (int x = 0; x < width; x++)
+            {
+                int direction;
+                if (x == 0) //Column 0 leads back up to the top left corner
+                {
+                    direction = (y == 0) ? Snake.RIGHT : Snake.UP;
+                }
+                else if (y % 2 == 0) //Even rows run right
+                {
+                    direction = (x < width - 1) ? Snake.RIGHT : Snake.DOWN;
+                }
+                else //Odd rows run left, the last one continues into column 0
+                {
+                    direction = (x > 1 || y == height - 1) ? Snake.LEFT : Snake.DOWN;
+                }
+                cycle[y * width + x] = direction;
+            }
+        }
+        return cycle;
+    }
+
+    /**
+     * Create a game on a square board and move the snake along the cycle until it reaches the given length.
+     * @param boardSize The width and height of the board in squares.
+     * @param length The length to grow the snake to, see parseLength().
+     * @param cycle The cycle built by buildCycle() for the board.
+     * @return The GameEngine holding the grown snake.
+     */
+    static GameEngine growSnake(int boardSize, String length, int[] cycle)
+    {
+        GameEngine engine = new GameEngine(boardSize, boardSize, 42L);
+        Snake snake = engine.getSnake();
+        int squares = parseLength(length, boardSize * boardSize);
+        for (int i = 2; i < squares; i++)
+        {
+            snake.grow();
+        }
+        while (snake.getLength() < squares && !engine.isGameOver())
+        {
+            engine.step(cycle[snake.getHeadSquare()]);
+        }
+        return engine;
+    }
+
+    /**
+     * Read a snake length parameter, either a number of squares ("2") or a percentage of the board ("50%"),
+     * so the same lengths can be given for every board size.
+     * @param length The length parameter.
+     * @param squareCount The number of squares on the board.
+     * @return The length in squares, at least 2.
+     */
+    static int parseLength(String length, int squareCount)
+    {
+        int squares = length.endsWith("%")
+                ? (int) ((long) squareCount * Integer.parseInt(length.substring(0, length.length() - 1)) / 100)
+                : Integer.parseInt(length);
+        return Math.max(2, squares);
+    }
+}
@@ -0,0 +1,76 @@
+package snake;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Logan Karstetter
+ * Date: 10/16/2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class EncodeBenchmark
+{
+    /** The width and height of the board in squares */
+    @Param({"24", "100"})
+    public int boardSize;
+    /** The length of the snake, in squares or as a percentage of the board */
+    @Param({"50%"})
+    public String length;
+
+    /** The game being encoded */
+    private GameEngine engine;
+    /** The encoder, with a crop radius of 5 */
+    private ObservationEncoder encoder;
+    /** The floats the encodings are written to, large enough for the planes */
+    private float[] out;
+
+    /**
+     * Grow the snake along a cycle that covers the whole board and create the encoder.
+     */
+    @Setup(Level.Trial)
+    public void setup()
+    {
+        engine = BenchmarkBoards.growSnake(boardSize, length, BenchmarkBoards.buildCycle(boardSize, boardSize));
+        encoder = new ObservationEncoder(boardSize, boardSize, 5);
+        out = new float[encoder.getPlanesSize()];
+    }
+
+    /**
+     * Measure writing the channel planes of the whole board.
+     * @return The floats written.
+     */
+    @Benchmark
+    public float[] planes()
+    {
+        encoder.encodePlanes(engine, out, 0);
+        return out;
+    }
+
+    /**
+     * Measure writing the crop around the head.
+     * @return The floats written.
+     */
+    @Benchmark
+    public float[] crop()
+    {
+        encoder.encodeCrop(engine, out, 0);
+        return out;
+    }
+
+    /**
+     * Measure writing the rays from the head.
+     * @return The floats written.
+     */
+    @Benchmark
+    public float[] rays()
+    {
+        encoder.encodeRays(engine, out, 0);
+        return out;
+    }
+}
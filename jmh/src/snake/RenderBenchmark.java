@@ -0,0 +1,105 @@
+package snake;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Logan Karstetter
+ * Date: 10/16/2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = "-Djava.awt.headless=true")
+public class RenderBenchmark
+{
+    /** The number of frames rendered between each restore of the starting snake */
+    private static final int BATCH_SIZE = 50;
+
+    /** The width and height of the board in squares */
+    @Param({"22", "44"})
+    public int boardSize;
+    /** The length of the snake, in squares or as a percentage of the board */
+    @Param({"2", "50%"})
+    public String length;
+    /** True to move the snake a tick before each frame and repaint only the squares that changed,
+     * false to draw the same full frame each time */
+    @Param({"false", "true"})
+    public boolean isIncremental;
+
+    /** The direction to move from each square to stay on the cycle */
+    private int[] cycle;
+    /** The offscreen image the frames are drawn into */
+    private BufferedImage image;
+    /** The graphics of the image */
+    private Graphics graphics;
+    /** The game being drawn */
+    private GameEngine engine;
+    /** The game as it was before the first batch */
+    private GameSnapshot start;
+    /** The renderer */
+    private GameRenderer renderer;
+
+    /**
+     * Load the images, grow the snake along a cycle that covers the whole board, and create the renderer.
+     */
+    @Setup(Level.Trial)
+    public void setup()
+    {
+        ImageLoader imageLoader = new ImageLoader();
+        imageLoader.loadImagesFromFile("ImagesConfig.txt");
+        image = new BufferedImage(boardSize * Grid.SQUARE_WIDTH, boardSize * Grid.SQUARE_HEIGHT,
+                BufferedImage.TYPE_INT_RGB);
+        graphics = image.getGraphics();
+        cycle = BenchmarkBoards.buildCycle(boardSize, boardSize);
+        engine = BenchmarkBoards.growSnake(boardSize, length, cycle);
+        start = new GameSnapshot(boardSize, boardSize);
+        engine.saveState(start);
+        renderer = new GameRenderer(engine, imageLoader, image.getWidth(), image.getHeight());
+        renderer.setIncremental(isIncremental);
+    }
+
+    /**
+     * Put the snake back before each batch and draw it, so any cached layers are built and the squares
+     * the restore marked dirty are repainted before the batch is timed.
+     */
+    @Setup(Level.Invocation)
+    public void restore()
+    {
+        engine.loadState(start);
+        renderer.render(graphics, 0);
+    }
+
+    /**
+     * Stop drawing into the image.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown()
+    {
+        graphics.dispose();
+    }
+
+    /**
+     * Measure GameRenderer.render() drawing a frame into the offscreen image.
+     * @return The color of the top left pixel, so the frames can't be thrown away.
+     */
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public int render()
+    {
+        for (int i = 0; i < BATCH_SIZE; i++)
+        {
+            if (isIncremental)
+            {
+                engine.step(cycle[engine.getSnake().getHeadSquare()]);
+            }
+            renderer.render(graphics, i);
+        }
+        return image.getRGB(0, 0);
+    }
+}
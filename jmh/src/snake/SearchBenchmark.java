@@ -0,0 +1,84 @@
+package snake;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Logan Karstetter
+ * Date: 10/16/2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class SearchBenchmark
+{
+    /** The width and height of the board in squares */
+    @Param({"24", "100"})
+    public int boardSize;
+    /** The length of the snake, in squares or as a percentage of the board */
+    @Param({"50%"})
+    public String length;
+
+    /** The game the moves are tried from */
+    private GameEngine engine;
+    /** The engine the game is copied into */
+    private GameEngine scratch;
+    /** The snapshot the game is saved into */
+    private GameSnapshot snapshot;
+    /** The next move along the cycle */
+    private int direction;
+
+    /**
+     * Grow the snake along a cycle that covers the whole board, the move tried is always the next one
+     * along the cycle.
+     */
+    @Setup(Level.Trial)
+    public void setup()
+    {
+        int[] cycle = BenchmarkBoards.buildCycle(boardSize, boardSize);
+        engine = BenchmarkBoards.growSnake(boardSize, length, cycle);
+        scratch = new GameEngine(boardSize, boardSize);
+        snapshot = new GameSnapshot(boardSize, boardSize);
+        direction = cycle[engine.getSnake().getHeadSquare()];
+    }
+
+    /**
+     * Measure trying a move by copying the game into a scratch engine and stepping the copy.
+     * @return The status of the copy.
+     */
+    @Benchmark
+    public int copy()
+    {
+        engine.copyInto(scratch);
+        return scratch.step(direction);
+    }
+
+    /**
+     * Measure trying a move by saving a snapshot, stepping, and loading the snapshot back.
+     * @return The status after the step.
+     */
+    @Benchmark
+    public int snapshot()
+    {
+        engine.saveState(snapshot);
+        int status = engine.step(direction);
+        engine.loadState(snapshot);
+        return status;
+    }
+
+    /**
+     * Measure trying a move by making it and unmaking it.
+     * @return The status after the move.
+     */
+    @Benchmark
+    public int make()
+    {
+        int status = engine.makeMove(direction);
+        engine.unmakeMove();
+        return status;
+    }
+}
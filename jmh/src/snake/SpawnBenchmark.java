@@ -0,0 +1,59 @@
+package snake;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Logan Karstetter
+ * Date: 10/16/2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class SpawnBenchmark
+{
+    /** The width and height of the board in squares */
+    @Param({"24", "1000"})
+    public int boardSize;
+    /** The fraction of the board's squares that are occupied */
+    @Param({"0.1", "0.5", "0.9", "0.99"})
+    public double fillRatio;
+
+    /** The grid the fruit spawns on */
+    private Grid grid;
+    /** The fruit being spawned */
+    private Fruit fruit;
+
+    /**
+     * Occupy random squares until the fill ratio is reached.
+     */
+    @Setup(Level.Trial)
+    public void setup()
+    {
+        grid = new Grid(boardSize * Grid.SQUARE_WIDTH, boardSize * Grid.SQUARE_HEIGHT);
+        Random rng = new Random(42);
+        int occupied = (int) (boardSize * boardSize * fillRatio);
+        for (int i = 0; i < occupied; i++)
+        {
+            grid.setSquare(grid.getOpenSquare(rng.nextInt(grid.getOpenSquareCount())), Grid.BODY);
+        }
+        fruit = new Fruit(grid, new GameRandom(42));
+    }
+
+    /**
+     * Measure Fruit.findPosition(), the fruit is taken off the board first so the fill ratio stays the same.
+     * @return The fruit's new column, so the spawn can't be thrown away.
+     */
+    @Benchmark
+    public int spawn()
+    {
+        grid.setSquare(fruit.gridX, fruit.gridY, Grid.EMPTY);
+        fruit.findPosition();
+        return fruit.gridX;
+    }
+}
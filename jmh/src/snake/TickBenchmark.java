@@ -0,0 +1,75 @@
+package snake;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Logan Karstetter
+ * Date: 10/16/2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class TickBenchmark
+{
+    /** The number of ticks stepped between each restore of the starting snake */
+    private static final int BATCH_SIZE = 4096;
+
+    /** The width and height of the board in squares */
+    @Param({"24", "100", "1000"})
+    public int boardSize;
+    /** The length of the snake, in squares or as a percentage of the board */
+    @Param({"2", "25%", "50%"})
+    public String length;
+
+    /** The direction to move from each square to stay on the cycle */
+    private int[] cycle;
+    /** The game being stepped */
+    private GameEngine engine;
+    /** The game as it was before the first batch */
+    private GameSnapshot start;
+
+    /**
+     * Grow the snake along a cycle that covers the whole board, so it never crashes.
+     */
+    @Setup(Level.Trial)
+    public void setup()
+    {
+        cycle = BenchmarkBoards.buildCycle(boardSize, boardSize);
+        engine = BenchmarkBoards.growSnake(boardSize, length, cycle);
+        start = new GameSnapshot(boardSize, boardSize);
+        engine.saveState(start);
+    }
+
+    /**
+     * Put the snake back before each batch, otherwise it keeps eating until it fills the board and the
+     * game stops. A batch is long enough that the fruit it eats doesn't change its length much.
+     */
+    @Setup(Level.Invocation)
+    public void restore()
+    {
+        engine.loadState(start);
+    }
+
+    /**
+     * Measure GameEngine.step() following the cycle.
+     * @return The tick and head square, so the steps can't be thrown away.
+     */
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public long tick()
+    {
+        GameEngine engine = this.engine;
+        Snake snake = engine.getSnake();
+        int[] cycle = this.cycle;
+        for (int i = 0; i < BATCH_SIZE; i++)
+        {
+            engine.step(cycle[snake.getHeadSquare()]);
+        }
+        return engine.getTicks() + snake.getHeadSquare();
+    }
+}